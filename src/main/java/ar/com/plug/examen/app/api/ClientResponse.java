@@ -0,0 +1,57 @@
+package ar.com.plug.examen.app.api;
+
+import ar.com.plug.examen.domain.model.Client;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Client as returned by the API, written by {@link ResponseJsonModule}. A client that was
+ * referenced by id and never loaded is returned with its id only.
+ */
+public final class ClientResponse {
+    private final Long id;
+    private final String name;
+    private final String email;
+
+    @JsonCreator
+    public ClientResponse(@JsonProperty("id") Long id, @JsonProperty("name") String name,
+                          @JsonProperty("email") String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+    }
+
+    public static ClientResponse of(Client client) {
+        if (client == null) {
+            return null;
+        }
+        Long referenceId = Proxies.uninitializedId(client);
+        if (referenceId != null) {
+            return new ClientResponse(referenceId, null, null);
+        }
+        return new ClientResponse(client.getId(), client.getName(), client.getEmail());
+    }
+
+    public static List<ClientResponse> listOf(List<Client> clients) {
+        List<ClientResponse> responses = new ArrayList<>(clients.size());
+        for (Client client : clients) {
+            responses.add(of(client));
+        }
+        return responses;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
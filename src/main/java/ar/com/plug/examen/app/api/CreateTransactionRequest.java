@@ -0,0 +1,133 @@
+package ar.com.plug.examen.app.api;
+
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.model.Transaction;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * Body of {@code POST /transactions}. The product, client and seller are given by id, either
+ * as {@code "productId": 1} or as {@code "product": {"id": 1}}; any other field of a nested
+ * object is ignored, so a request cannot set a product's price.
+ */
+public class CreateTransactionRequest {
+    private Long productId;
+    private Long clientId;
+    private Long sellerId;
+    private Integer quantity;
+    private LocalDateTime date;
+    private Boolean approved;
+
+    /**
+     * Builds the transaction to create, with id-only product, client and seller.
+     */
+    public Transaction toTransaction() {
+        Transaction transaction = new Transaction();
+        if (productId != null) {
+            Product product = new Product();
+            product.setId(productId);
+            transaction.setProduct(product);
+        }
+        if (clientId != null) {
+            Client client = new Client();
+            client.setId(clientId);
+            transaction.setClient(client);
+        }
+        if (sellerId != null) {
+            Seller seller = new Seller();
+            seller.setId(sellerId);
+            transaction.setSeller(seller);
+        }
+        transaction.setQuantity(quantity);
+        transaction.setDate(date);
+        transaction.setApproved(approved);
+        return transaction;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    @JsonProperty("product")
+    public void setProduct(Reference product) {
+        this.productId = product != null ? product.getId() : null;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    @JsonProperty("client")
+    public void setClient(Reference client) {
+        this.clientId = client != null ? client.getId() : null;
+    }
+
+    public Long getSellerId() {
+        return sellerId;
+    }
+
+    public void setSellerId(Long sellerId) {
+        this.sellerId = sellerId;
+    }
+
+    @JsonProperty("seller")
+    public void setSeller(Reference seller) {
+        this.sellerId = seller != null ? seller.getId() : null;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    public Boolean getApproved() {
+        return approved;
+    }
+
+    public void setApproved(Boolean approved) {
+        this.approved = approved;
+    }
+
+    @Override
+    public String toString() {
+        return "CreateTransactionRequest{product " + productId + ", client " + clientId + ", seller " + sellerId
+                + ", quantity " + quantity + "}";
+    }
+
+    /**
+     * A nested {@code {"id": ...}} object.
+     */
+    public static class Reference {
+        private Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+}
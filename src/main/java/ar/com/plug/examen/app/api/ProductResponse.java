@@ -0,0 +1,63 @@
+package ar.com.plug.examen.app.api;
+
+import ar.com.plug.examen.domain.model.Product;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Product as returned by the API, written by {@link ResponseJsonModule}. A product that was
+ * referenced by id and never loaded is returned with its id only.
+ */
+public final class ProductResponse {
+    private final Long id;
+    private final String name;
+    private final Double price;
+    private final Integer stock;
+
+    @JsonCreator
+    public ProductResponse(@JsonProperty("id") Long id, @JsonProperty("name") String name,
+                           @JsonProperty("price") Double price, @JsonProperty("stock") Integer stock) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stock = stock;
+    }
+
+    public static ProductResponse of(Product product) {
+        if (product == null) {
+            return null;
+        }
+        Long referenceId = Proxies.uninitializedId(product);
+        if (referenceId != null) {
+            return new ProductResponse(referenceId, null, null, null);
+        }
+        return new ProductResponse(product.getId(), product.getName(), product.getPrice(), product.getStock());
+    }
+
+    public static List<ProductResponse> listOf(List<Product> products) {
+        List<ProductResponse> responses = new ArrayList<>(products.size());
+        for (Product product : products) {
+            responses.add(of(product));
+        }
+        return responses;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+}
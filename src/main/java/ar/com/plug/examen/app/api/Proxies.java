@@ -0,0 +1,27 @@
+package ar.com.plug.examen.app.api;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+/**
+ * Recognizes entity references that were bound by id and never loaded, so a response can
+ * show their id without initializing them outside the session.
+ */
+final class Proxies {
+
+    private Proxies() {
+    }
+
+    /**
+     * @return the id of {@code entity} if it is an uninitialized proxy, otherwise {@code null}
+     */
+    static Long uninitializedId(Object entity) {
+        if (entity instanceof HibernateProxy) {
+            LazyInitializer initializer = ((HibernateProxy) entity).getHibernateLazyInitializer();
+            if (initializer.isUninitialized()) {
+                return (Long) initializer.getIdentifier();
+            }
+        }
+        return null;
+    }
+}
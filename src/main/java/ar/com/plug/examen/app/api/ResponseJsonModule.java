@@ -0,0 +1,203 @@
+package ar.com.plug.examen.app.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hand-written serializers for the response DTOs. Field names and order are fixed here, so
+ * writing a response does not go through bean introspection or reflective getter calls. The
+ * output has the same shape as the entity JSON, nulls included.
+ */
+public class ResponseJsonModule extends SimpleModule {
+
+    public ResponseJsonModule() {
+        super("ResponseJsonModule");
+        addSerializer(ProductResponse.class, new ProductSerializer());
+        addSerializer(ClientResponse.class, new ClientSerializer());
+        addSerializer(SellerResponse.class, new SellerSerializer());
+        addSerializer(TransactionResponse.class, new TransactionSerializer());
+        addSerializer(SalesOrderResponse.class, new SalesOrderSerializer());
+    }
+
+    static void writeProduct(ProductResponse product, JsonGenerator gen) throws IOException {
+        if (product == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        writeNumberField(gen, "id", product.getId());
+        writeStringField(gen, "name", product.getName());
+        if (product.getPrice() == null) {
+            gen.writeNullField("price");
+        } else {
+            gen.writeNumberField("price", product.getPrice());
+        }
+        writeNumberField(gen, "stock", product.getStock());
+        gen.writeEndObject();
+    }
+
+    static void writeClient(ClientResponse client, JsonGenerator gen) throws IOException {
+        if (client == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        writeNumberField(gen, "id", client.getId());
+        writeStringField(gen, "name", client.getName());
+        writeStringField(gen, "email", client.getEmail());
+        gen.writeEndObject();
+    }
+
+    static void writeSeller(SellerResponse seller, JsonGenerator gen) throws IOException {
+        if (seller == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        writeNumberField(gen, "id", seller.getId());
+        writeStringField(gen, "name", seller.getName());
+        writeStringField(gen, "email", seller.getEmail());
+        gen.writeEndObject();
+    }
+
+    static void writeTransaction(TransactionResponse transaction, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        writeNumberField(gen, "id", transaction.getId());
+        gen.writeFieldName("product");
+        writeProduct(transaction.getProduct(), gen);
+        gen.writeFieldName("client");
+        writeClient(transaction.getClient(), gen);
+        gen.writeFieldName("seller");
+        writeSeller(transaction.getSeller(), gen);
+        writeNumberField(gen, "quantity", transaction.getQuantity());
+        writeDateField(gen, "date", transaction.getDate());
+        if (transaction.getApproved() == null) {
+            gen.writeNullField("approved");
+        } else {
+            gen.writeBooleanField("approved", transaction.getApproved());
+        }
+        writeNumberField(gen, "unitPriceMinor", transaction.getUnitPriceMinor());
+        writeNumberField(gen, "totalMinor", transaction.getTotalMinor());
+        writeStringField(gen, "intakeId", transaction.getIntakeId());
+        gen.writeEndObject();
+    }
+
+    static void writeSalesOrder(SalesOrderResponse order, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        writeNumberField(gen, "id", order.getId());
+        gen.writeFieldName("client");
+        writeClient(order.getClient(), gen);
+        gen.writeFieldName("seller");
+        writeSeller(order.getSeller(), gen);
+        writeDateField(gen, "date", order.getDate());
+        writeNumberField(gen, "totalMinor", order.getTotalMinor());
+        gen.writeArrayFieldStart("lines");
+        for (SalesOrderResponse.Line line : order.getLines()) {
+            gen.writeStartObject();
+            writeNumberField(gen, "id", line.getId());
+            gen.writeFieldName("product");
+            writeProduct(line.getProduct(), gen);
+            writeNumberField(gen, "quantity", line.getQuantity());
+            writeNumberField(gen, "unitPriceMinor", line.getUnitPriceMinor());
+            writeNumberField(gen, "totalMinor", line.getTotalMinor());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    private static void writeNumberField(JsonGenerator gen, String name, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeNumberField(JsonGenerator gen, String name, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeStringField(JsonGenerator gen, String name, String value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    private static void writeDateField(JsonGenerator gen, String name, LocalDateTime value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeStringField(name, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+
+    static class ProductSerializer extends StdSerializer<ProductResponse> {
+        ProductSerializer() {
+            super(ProductResponse.class);
+        }
+
+        @Override
+        public void serialize(ProductResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeProduct(value, gen);
+        }
+    }
+
+    static class ClientSerializer extends StdSerializer<ClientResponse> {
+        ClientSerializer() {
+            super(ClientResponse.class);
+        }
+
+        @Override
+        public void serialize(ClientResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeClient(value, gen);
+        }
+    }
+
+    static class SellerSerializer extends StdSerializer<SellerResponse> {
+        SellerSerializer() {
+            super(SellerResponse.class);
+        }
+
+        @Override
+        public void serialize(SellerResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeSeller(value, gen);
+        }
+    }
+
+    static class TransactionSerializer extends StdSerializer<TransactionResponse> {
+        TransactionSerializer() {
+            super(TransactionResponse.class);
+        }
+
+        @Override
+        public void serialize(TransactionResponse value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            writeTransaction(value, gen);
+        }
+    }
+
+    static class SalesOrderSerializer extends StdSerializer<SalesOrderResponse> {
+        SalesOrderSerializer() {
+            super(SalesOrderResponse.class);
+        }
+
+        @Override
+        public void serialize(SalesOrderResponse value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            writeSalesOrder(value, gen);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ar.com.plug.examen.app.api;
+
+import ar.com.plug.examen.domain.model.SalesOrder;
+import ar.com.plug.examen.domain.model.SalesOrderLine;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Order as returned by the API, with its lines, written by {@link ResponseJsonModule}.
+ */
+public final class SalesOrderResponse {
+    private final Long id;
+    private final ClientResponse client;
+    private final SellerResponse seller;
+    private final LocalDateTime date;
+    private final Long totalMinor;
+    private final List<Line> lines;
+
+    public SalesOrderResponse(Long id, ClientResponse client, SellerResponse seller, LocalDateTime date,
+                              Long totalMinor, List<Line> lines) {
+        this.id = id;
+        this.client = client;
+        this.seller = seller;
+        this.date = date;
+        this.totalMinor = totalMinor;
+        this.lines = Collections.unmodifiableList(lines);
+    }
+
+    public static SalesOrderResponse of(SalesOrder order) {
+        if (order == null) {
+            return null;
+        }
+        List<Line> lines = new ArrayList<>(order.getLines().size());
+        for (SalesOrderLine line : order.getLines()) {
+            lines.add(new Line(line.getId(), ProductResponse.of(line.getProduct()), line.getQuantity(),
+                    line.getUnitPriceMinor(), line.getTotalMinor()));
+        }
+        return new SalesOrderResponse(order.getId(), ClientResponse.of(order.getClient()),
+                SellerResponse.of(order.getSeller()), order.getDate(), order.getTotalMinor(), lines);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ClientResponse getClient() {
+        return client;
+    }
+
+    public SellerResponse getSeller() {
+        return seller;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public Long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public static final class Line {
+        private final Long id;
+        private final ProductResponse product;
+        private final Integer quantity;
+        private final Long unitPriceMinor;
+        private final Long totalMinor;
+
+        public Line(Long id, ProductResponse product, Integer quantity, Long unitPriceMinor, Long totalMinor) {
+            this.id = id;
+            this.product = product;
+            this.quantity = quantity;
+            this.unitPriceMinor = unitPriceMinor;
+            this.totalMinor = totalMinor;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public ProductResponse getProduct() {
+            return product;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public Long getUnitPriceMinor() {
+            return unitPriceMinor;
+        }
+
+        public Long getTotalMinor() {
+            return totalMinor;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ar.com.plug.examen.app.api;
+
+import ar.com.plug.examen.domain.model.Seller;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seller as returned by the API, written by {@link ResponseJsonModule}. A seller that was
+ * referenced by id and never loaded is returned with its id only.
+ */
+public final class SellerResponse {
+    private final Long id;
+    private final String name;
+    private final String email;
+
+    @JsonCreator
+    public SellerResponse(@JsonProperty("id") Long id, @JsonProperty("name") String name,
+                          @JsonProperty("email") String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+    }
+
+    public static SellerResponse of(Seller seller) {
+        if (seller == null) {
+            return null;
+        }
+        Long referenceId = Proxies.uninitializedId(seller);
+        if (referenceId != null) {
+            return new SellerResponse(referenceId, null, null);
+        }
+        return new SellerResponse(seller.getId(), seller.getName(), seller.getEmail());
+    }
+
+    public static List<SellerResponse> listOf(List<Seller> sellers) {
+        List<SellerResponse> responses = new ArrayList<>(sellers.size());
+        for (Seller seller : sellers) {
+            responses.add(of(seller));
+        }
+        return responses;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,104 @@
+package ar.com.plug.examen.app.api;
+
+import ar.com.plug.examen.domain.model.Transaction;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transaction as returned by the API, with its product, client and seller inlined, written
+ * by {@link ResponseJsonModule}.
+ */
+public final class TransactionResponse {
+    private final Long id;
+    private final ProductResponse product;
+    private final ClientResponse client;
+    private final SellerResponse seller;
+    private final Integer quantity;
+    private final LocalDateTime date;
+    private final Boolean approved;
+    private final Long unitPriceMinor;
+    private final Long totalMinor;
+    private final String intakeId;
+
+    @JsonCreator
+    public TransactionResponse(@JsonProperty("id") Long id, @JsonProperty("product") ProductResponse product,
+                               @JsonProperty("client") ClientResponse client,
+                               @JsonProperty("seller") SellerResponse seller,
+                               @JsonProperty("quantity") Integer quantity, @JsonProperty("date") LocalDateTime date,
+                               @JsonProperty("approved") Boolean approved,
+                               @JsonProperty("unitPriceMinor") Long unitPriceMinor,
+                               @JsonProperty("totalMinor") Long totalMinor,
+                               @JsonProperty("intakeId") String intakeId) {
+        this.id = id;
+        this.product = product;
+        this.client = client;
+        this.seller = seller;
+        this.quantity = quantity;
+        this.date = date;
+        this.approved = approved;
+        this.unitPriceMinor = unitPriceMinor;
+        this.totalMinor = totalMinor;
+        this.intakeId = intakeId;
+    }
+
+    public static TransactionResponse of(Transaction transaction) {
+        return transaction == null ? null : new TransactionResponse(transaction.getId(),
+                ProductResponse.of(transaction.getProduct()),
+                ClientResponse.of(transaction.getClient()),
+                SellerResponse.of(transaction.getSeller()),
+                transaction.getQuantity(), transaction.getDate(), transaction.getApproved(),
+                transaction.getUnitPriceMinor(), transaction.getTotalMinor(), transaction.getIntakeId());
+    }
+
+    public static List<TransactionResponse> listOf(List<Transaction> transactions) {
+        List<TransactionResponse> responses = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            responses.add(of(transaction));
+        }
+        return responses;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ProductResponse getProduct() {
+        return product;
+    }
+
+    public ClientResponse getClient() {
+        return client;
+    }
+
+    public SellerResponse getSeller() {
+        return seller;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public Boolean getApproved() {
+        return approved;
+    }
+
+    public Long getUnitPriceMinor() {
+        return unitPriceMinor;
+    }
+
+    public Long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public String getIntakeId() {
+        return intakeId;
+    }
+}
@@ -0,0 +1,56 @@
+package ar.com.plug.examen.app.migration;
+
+import ar.com.plug.examen.domain.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills in the unit price and line total of transactions saved before they were recorded,
+ * copying the current product price. Runs before the application is ready, and therefore
+ * before the leaderboards are rebuilt from those totals. Each id range is updated in its
+ * own database transaction so the table is never locked as a whole, and rows that are
+ * already priced are left alone, so after the first run it only costs one query.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "transaction-backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionPriceBackfillRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPriceBackfillRunner.class);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Value("${transaction-backfill.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            List<Object[]> range = transactionRepository.findUnpricedIdRange();
+            if (range.isEmpty() || range.get(0)[0] == null) {
+                logger.debug("Every transaction already has a line total");
+                return;
+            }
+            long first = ((Number) range.get(0)[0]).longValue();
+            long last = ((Number) range.get(0)[1]).longValue();
+            logger.info("Backfilling transaction line totals for ids {} to {}", first, last);
+            int updated = 0;
+            for (long from = first; from <= last; from += batchSize) {
+                updated += transactionRepository.backfillPrices(from, Math.min(last, from + batchSize - 1));
+            }
+            logger.info("Backfilled the line totals of {} transactions", updated);
+        } catch (Exception e) {
+            logger.warn("Transaction line totals were not backfilled: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ar.com.plug.examen.app.rest;
+
+import ar.com.plug.examen.app.api.ClientResponse;
+import ar.com.plug.examen.app.api.ProductResponse;
+import ar.com.plug.examen.app.api.SellerResponse;
+import ar.com.plug.examen.app.api.TransactionResponse;
+import ar.com.plug.examen.domain.service.ClientService;
+import ar.com.plug.examen.domain.service.ProductService;
+import ar.com.plug.examen.domain.service.SellerService;
+import ar.com.plug.examen.domain.service.TransactionService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking variants of the catalog and transaction listings. The servlet thread is
+ * released while the query runs on the bounded read offload executor, so slow database
+ * calls no longer pin Tomcat threads; when the executor queue is full the request is
+ * answered with 503 instead of queueing without bound.
+ */
+@RestController
+@RequestMapping("/async")
+@ConditionalOnProperty(name = "async-reads.enabled", havingValue = "true")
+public class AsyncReadController {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncReadController.class);
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    @Qualifier("readOffloadExecutor")
+    private ThreadPoolTaskExecutor readOffloadExecutor;
+
+    @ApiOperation(value = "View a list of available products without blocking a server thread", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved list"),
+            @ApiResponse(code = 500, message = "Internal server error"),
+            @ApiResponse(code = 503, message = "Too many reads in progress")
+    })
+    @GetMapping("/products")
+    public CompletableFuture<ResponseEntity<List<ProductResponse>>> getAllProducts() {
+        logger.info("Received async request to get all products");
+        return offload("products", productService::getAllProducts, ProductResponse::listOf);
+    }
+
+    @ApiOperation(value = "View a list of available sellers without blocking a server thread", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved list"),
+            @ApiResponse(code = 500, message = "Internal server error"),
+            @ApiResponse(code = 503, message = "Too many reads in progress")
+    })
+    @GetMapping("/sellers")
+    public CompletableFuture<ResponseEntity<List<SellerResponse>>> getAllSellers() {
+        logger.info("Received async request to get all sellers");
+        return offload("sellers", sellerService::getAllSellers, SellerResponse::listOf);
+    }
+
+    @ApiOperation(value = "View a list of available clients without blocking a server thread", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved list"),
+            @ApiResponse(code = 500, message = "Internal server error"),
+            @ApiResponse(code = 503, message = "Too many reads in progress")
+    })
+    @GetMapping("/clients")
+    public CompletableFuture<ResponseEntity<List<ClientResponse>>> getAllClients() {
+        logger.info("Received async request to get all clients");
+        return offload("clients", clientService::getAllClients, ClientResponse::listOf);
+    }
+
+    @ApiOperation(value = "View a list of transactions without blocking a server thread", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved list"),
+            @ApiResponse(code = 500, message = "Internal server error"),
+            @ApiResponse(code = 503, message = "Too many reads in progress")
+    })
+    @GetMapping("/transactions")
+    public CompletableFuture<ResponseEntity<List<TransactionResponse>>> getAllTransactions() {
+        logger.info("Received async request to get all transactions");
+        return offload("transactions", transactionService::getAllTransactions, TransactionResponse::listOf);
+    }
+
+    private <E, T> CompletableFuture<ResponseEntity<List<T>>> offload(String resource, Supplier<List<E>> query,
+                                                                     Function<List<E>, List<T>> toResponse) {
+        try {
+            return CompletableFuture.supplyAsync(() -> toResponse.apply(query.get()), readOffloadExecutor)
+                    .thenApply(items -> {
+                        logger.info("Retrieved {} {}", items.size(), resource);
+                        return ResponseEntity.ok(items);
+                    })
+                    .exceptionally(e -> {
+                        logger.error("Error retrieving {}: {}", resource, e.getMessage());
+                        return ResponseEntity.status(500).build();
+                    });
+        } catch (TaskRejectedException e) {
+            logger.warn("Read offload executor saturated, rejecting request for {}", resource);
+            return CompletableFuture.completedFuture(ResponseEntity.status(503).build());
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package ar.com.plug.examen.app.rest;
 
+import ar.com.plug.examen.app.api.ClientResponse;
+import ar.com.plug.examen.domain.model.BatchLookup;
 import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.TransactionSummary;
 import ar.com.plug.examen.domain.service.ClientService;
+import ar.com.plug.examen.domain.service.TransactionService;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -22,25 +30,32 @@ public class ClientController {
     @Autowired
     private ClientService clientService;
 
+    @Autowired
+    private TransactionService transactionService;
+
     /**
      * Create a new client.
      *
      * @param client the client to create
      * @return the created client
      */
-    @ApiOperation(value = "Create a new client", response = Client.class)
+    @ApiOperation(value = "Create a new client", response = ClientResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully created client"),
             @ApiResponse(code = 400, message = "Invalid client data"),
+            @ApiResponse(code = 409, message = "Email already in use"),
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @PostMapping
-    public ResponseEntity<Client> createClient(@RequestBody Client client) {
+    public ResponseEntity<ClientResponse> createClient(@RequestBody Client client) {
         logger.info("Received request to create client: {}", client);
         try {
             Client createdClient = clientService.createClient(client);
             logger.info("Client created successfully: {}", createdClient);
-            return ResponseEntity.ok(createdClient);
+            return ResponseEntity.ok(ClientResponse.of(createdClient));
+        } catch (DataIntegrityViolationException e) {
+            logger.error("Error creating client: {}", e.getMessage());
+            return ResponseEntity.status(409).build();
         } catch (IllegalArgumentException e) {
             logger.error("Error creating client: {}", e.getMessage());
             return ResponseEntity.badRequest().body(null);
@@ -61,10 +76,10 @@ public class ClientController {
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<Client>> getAllClients() {
+    public ResponseEntity<List<ClientResponse>> getAllClients() {
         logger.info("Received request to get all clients");
         try {
-            List<Client> clients = clientService.getAllClients();
+            List<ClientResponse> clients = clientService.getAllClients(ClientResponse::of);
             logger.info("Retrieved {} clients", clients.size());
             return ResponseEntity.ok(clients);
         } catch (Exception e) {
@@ -79,17 +94,17 @@ public class ClientController {
      * @param id the ID of the client to retrieve
      * @return the client with the specified ID
      */
-    @ApiOperation(value = "Get a client by Id", response = Client.class)
+    @ApiOperation(value = "Get a client by Id", response = ClientResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully retrieved client"),
             @ApiResponse(code = 404, message = "Client not found"),
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Client> getClientById(@PathVariable Long id) {
+    public ResponseEntity<ClientResponse> getClientById(@PathVariable Long id) {
         logger.info("Received request to get client by id: {}", id);
         try {
-            return clientService.getClientById(id)
+            return clientService.getClientById(id, ClientResponse::of)
                     .map(client -> {
                         logger.info("Client retrieved successfully: {}", client);
                         return ResponseEntity.ok(client);
@@ -104,6 +119,34 @@ public class ClientController {
         }
     }
 
+    /**
+     * Get several clients by ID in a single call.
+     *
+     * @param ids the IDs of the clients to retrieve, in the order they should be returned
+     * @return the clients found, in request order, and the IDs that were not found
+     */
+    @ApiOperation(value = "Get clients by a list of Ids", response = BatchLookup.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved clients"),
+            @ApiResponse(code = 400, message = "Invalid list of Ids"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchLookup<ClientResponse>> getClientsByIds(@RequestParam List<Long> ids) {
+        logger.info("Received request to get {} clients by id", ids.size());
+        try {
+            BatchLookup<ClientResponse> lookup = clientService.getClientsByIds(ids, ClientResponse::of);
+            logger.info("Retrieved {} clients, {} not found", lookup.getItems().size(), lookup.getMissingIds().size());
+            return ResponseEntity.ok(lookup);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid batch lookup of clients: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving clients by id: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     /**
      * Update an existing client.
      *
@@ -111,7 +154,7 @@ public class ClientController {
      * @param clientDetails the new details of the client
      * @return the updated client
      */
-    @ApiOperation(value = "Update an existing client", response = Client.class)
+    @ApiOperation(value = "Update an existing client", response = ClientResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully updated client"),
             @ApiResponse(code = 400, message = "Invalid client data"),
@@ -119,10 +162,10 @@ public class ClientController {
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Client> updateClient(@PathVariable Long id, @RequestBody Client clientDetails) {
+    public ResponseEntity<ClientResponse> updateClient(@PathVariable Long id, @RequestBody Client clientDetails) {
         logger.info("Received request to update client with id: {}", id);
         try {
-            Client updatedClient = clientService.updateClient(id, clientDetails);
+            ClientResponse updatedClient = clientService.updateClient(id, clientDetails, ClientResponse::of);
             logger.info("Client updated successfully: {}", updatedClient);
             return ResponseEntity.ok(updatedClient);
         } catch (IllegalArgumentException e) {
@@ -164,4 +207,98 @@ public class ClientController {
             return ResponseEntity.status(500).body("Error deleting client: " + e.getMessage());
         }
     }
+
+    /**
+     * Get the purchase history of a client, newest first.
+     *
+     * @param id the ID of the client
+     * @param from optional inclusive lower bound of the transaction date
+     * @param to optional exclusive upper bound of the transaction date
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return a slice of the client's transactions
+     */
+    @ApiOperation(value = "View the purchase history of a client", response = Slice.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved transactions"),
+            @ApiResponse(code = 400, message = "Invalid page request"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping("/{id}/transactions")
+    public ResponseEntity<Slice<TransactionSummary>> getClientTransactions(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.info("Received request to get transactions of client with id: {}", id);
+        try {
+            Slice<TransactionSummary> transactions = transactionService.getClientTransactions(id, from, to, page, size);
+            logger.info("Retrieved {} transactions of client {}", transactions.getNumberOfElements(), id);
+            return ResponseEntity.ok(transactions);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error retrieving transactions of client: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving transactions of client: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Create or update a client identified by email.
+     *
+     * @param email the email of the client
+     * @param clientDetails the details to store; its email is ignored
+     * @return the stored client
+     */
+    @ApiOperation(value = "Create or update a client by email", response = ClientResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully stored client"),
+            @ApiResponse(code = 400, message = "Invalid client data"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @PutMapping("/by-email/{email:.+}")
+    public ResponseEntity<ClientResponse> upsertClientByEmail(@PathVariable String email, @RequestBody Client clientDetails) {
+        logger.info("Received request to upsert client with email: {}", email);
+        try {
+            Client client = clientService.upsertClientByEmail(email, clientDetails);
+            logger.info("Client upserted successfully: {}", client);
+            return ResponseEntity.ok(ClientResponse.of(client));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error upserting client: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error upserting client: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Create or update several clients identified by email, in one statement.
+     *
+     * @param clients the clients to store; each needs an email
+     * @return the stored clients, one per distinct email, in request order
+     */
+    @ApiOperation(value = "Create or update clients by email", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully stored clients"),
+            @ApiResponse(code = 400, message = "Empty list or client without email"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @PutMapping("/by-email")
+    public ResponseEntity<List<ClientResponse>> upsertClientsByEmail(@RequestBody List<Client> clients) {
+        logger.info("Received request to upsert {} clients by email", clients.size());
+        try {
+            List<Client> upserted = clientService.upsertClientsByEmail(clients);
+            logger.info("Upserted {} clients", upserted.size());
+            return ResponseEntity.ok(ClientResponse.listOf(upserted));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error upserting clients: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error upserting clients: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
 }
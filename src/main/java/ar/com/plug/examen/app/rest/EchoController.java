@@ -22,7 +22,8 @@ public class EchoController {
         this.messageService = messageService;
     }
 
-    @PostMapping(path = "", produces = {MediaType.APPLICATION_JSON_VALUE },
+    @PostMapping(path = "", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            "application/x-jackson-smile" },
             consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> echo(@RequestBody MessageApi message)
     {
@@ -1,6 +1,17 @@
 package ar.com.plug.examen.app.rest;
 
+import ar.com.plug.examen.app.api.ProductResponse;
+import ar.com.plug.examen.app.web.SerializedResponseCache;
+import ar.com.plug.examen.domain.exception.InsufficientStockException;
+import ar.com.plug.examen.domain.model.BatchLookup;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
+import ar.com.plug.examen.domain.model.LeaderboardEntry;
+import ar.com.plug.examen.domain.model.LeaderboardWindow;
 import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.service.InventoryService;
+import ar.com.plug.examen.domain.service.LeaderboardService;
+import ar.com.plug.examen.domain.service.ProductRangeService;
+import ar.com.plug.examen.domain.service.ProductSearchService;
 import ar.com.plug.examen.domain.service.ProductService;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponses;
@@ -9,6 +20,8 @@ import java.util.NoSuchElementException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,25 +35,40 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private SerializedResponseCache serializedResponseCache;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductRangeService productRangeService;
+
     /**
      * Create a new product.
      *
      * @param product the product to create
      * @return the created product
      */
-    @ApiOperation(value = "Create a new product", response = Product.class)
+    @ApiOperation(value = "Create a new product", response = ProductResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully created product"),
             @ApiResponse(code = 400, message = "Invalid product data"),
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @PostMapping
-    public ResponseEntity<Product> createProduct(@RequestBody Product product) {
+    public ResponseEntity<ProductResponse> createProduct(@RequestBody Product product) {
         logger.info("Received request to create product: {}", product);
         try {
             Product createdProduct = productService.createProduct(product);
             logger.info("Product created successfully: {}", createdProduct);
-            return ResponseEntity.ok(createdProduct);
+            return ResponseEntity.ok(ProductResponse.of(createdProduct));
         } catch (IllegalArgumentException e) {
             logger.error("Error creating product: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
@@ -50,6 +78,32 @@ public class ProductController {
         }
     }
 
+    /**
+     * Get all products as JSON, from the serialized response cache. Other representations
+     * are served by {@link #getAllProducts()}.
+     *
+     * @param acceptEncoding the encodings the client accepts; gzip is served when listed
+     * @return the list of all products
+     */
+    @ApiOperation(value = "View a list of available products", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved list"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllProductsJson(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        logger.info("Received request to get all products as JSON");
+        try {
+            return serializedResponseCache.get(CatalogEntityType.PRODUCT, "all",
+                    () -> productService.getAllProducts(ProductResponse::of))
+                    .toResponseEntity(acceptEncoding);
+        } catch (Exception e) {
+            logger.error("Error retrieving products: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     /**
      * Get all products.
      *
@@ -61,10 +115,10 @@ public class ProductController {
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
+    public ResponseEntity<List<ProductResponse>> getAllProducts() {
         logger.info("Received request to get all products");
         try {
-            List<Product> products = productService.getAllProducts();
+            List<ProductResponse> products = productService.getAllProducts(ProductResponse::of);
             logger.info("Retrieved {} products", products.size());
             return ResponseEntity.ok(products);
         } catch (Exception e) {
@@ -79,17 +133,17 @@ public class ProductController {
      * @param id the ID of the product to retrieve
      * @return the product with the specified ID
      */
-    @ApiOperation(value = "Get a product by Id", response = Product.class)
+    @ApiOperation(value = "Get a product by Id", response = ProductResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully retrieved product"),
             @ApiResponse(code = 404, message = "Product not found"),
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
         logger.info("Received request to get product by id: {}", id);
         try {
-            return productService.getProductById(id)
+            return productService.getProductById(id, ProductResponse::of)
                     .map(product -> {
                         logger.info("Product retrieved successfully: {}", product);
                         return ResponseEntity.ok(product);
@@ -104,6 +158,34 @@ public class ProductController {
         }
     }
 
+    /**
+     * Get several products by ID in a single call.
+     *
+     * @param ids the IDs of the products to retrieve, in the order they should be returned
+     * @return the products found, in request order, and the IDs that were not found
+     */
+    @ApiOperation(value = "Get products by a list of Ids", response = BatchLookup.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved products"),
+            @ApiResponse(code = 400, message = "Invalid list of Ids"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchLookup<ProductResponse>> getProductsByIds(@RequestParam List<Long> ids) {
+        logger.info("Received request to get {} products by id", ids.size());
+        try {
+            BatchLookup<ProductResponse> lookup = productService.getProductsByIds(ids, ProductResponse::of);
+            logger.info("Retrieved {} products, {} not found", lookup.getItems().size(), lookup.getMissingIds().size());
+            return ResponseEntity.ok(lookup);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid batch lookup of products: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving products by id: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     /**
      * Update an existing product.
      *
@@ -111,7 +193,7 @@ public class ProductController {
      * @param productDetails the new details of the product
      * @return the updated product
      */
-    @ApiOperation(value = "Update an existing product", response = Product.class)
+    @ApiOperation(value = "Update an existing product", response = ProductResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully updated product"),
             @ApiResponse(code = 400, message = "Invalid product data"),
@@ -119,10 +201,10 @@ public class ProductController {
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Product> updateProduct(@PathVariable Long id, @RequestBody Product productDetails) {
+    public ResponseEntity<ProductResponse> updateProduct(@PathVariable Long id, @RequestBody Product productDetails) {
         logger.info("Received request to update product with id: {}", id);
         try {
-            Product updatedProduct = productService.updateProduct(id, productDetails);
+            ProductResponse updatedProduct = productService.updateProduct(id, productDetails, ProductResponse::of);
             logger.info("Product updated successfully: {}", updatedProduct);
             return ResponseEntity.ok(updatedProduct);
         } catch (IllegalArgumentException e) {
@@ -137,6 +219,39 @@ public class ProductController {
         }
     }
 
+    /**
+     * Restock a product, or write off units of it.
+     *
+     * @param id the ID of the product
+     * @param delta the units to add, or to remove if negative
+     * @return a response entity with no content
+     */
+    @ApiOperation(value = "Adjust the stock of a product")
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Successfully adjusted stock"),
+            @ApiResponse(code = 400, message = "Unknown product or zero delta"),
+            @ApiResponse(code = 409, message = "Not enough stock to remove"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @PostMapping("/{id}/stock")
+    public ResponseEntity<Void> adjustStock(@PathVariable Long id, @RequestParam int delta) {
+        logger.info("Received request to adjust stock of product {} by {}", id, delta);
+        try {
+            inventoryService.adjustStock(id, delta);
+            logger.info("Stock adjusted successfully");
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            logger.error("Error adjusting stock: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (InsufficientStockException e) {
+            logger.error("Error adjusting stock: {}", e.getMessage());
+            return ResponseEntity.status(409).build();
+        } catch (Exception e) {
+            logger.error("Error adjusting stock: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     /**
      * Delete a product.
      *
@@ -164,4 +279,125 @@ public class ProductController {
             return ResponseEntity.status(500).body("Error deleting product: " + e.getMessage());
         }
     }
+
+    /**
+     * Get the products with the highest approved revenue in a window.
+     *
+     * @param window one of today, week or month
+     * @param limit the maximum number of entries to return
+     * @return the ranked products with their revenue
+     */
+    @ApiOperation(value = "View the top products by revenue", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved leaderboard"),
+            @ApiResponse(code = 400, message = "Unknown leaderboard window"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> getTopProducts(@RequestParam(defaultValue = "today") String window,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Received request to get the products leaderboard for window: {}", window);
+        try {
+            List<LeaderboardEntry> entries = leaderboardService.getTopProducts(LeaderboardWindow.fromValue(window), limit);
+            logger.info("Retrieved {} leaderboard entries", entries.size());
+            return ResponseEntity.ok(entries);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error retrieving products leaderboard: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving products leaderboard: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Search products by name, for type-ahead.
+     *
+     * @param q the text typed so far; every word must start a word of the product name
+     * @param limit the maximum number of ids to return
+     * @return the ids of the best matching products, best first
+     */
+    @ApiOperation(value = "Search products by name", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully searched products"),
+            @ApiResponse(code = 400, message = "Empty query or invalid limit"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<Long>> searchProducts(@RequestParam String q,
+                                                     @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Received request to search products matching: {}", q);
+        try {
+            List<Long> ids = productSearchService.search(q, limit);
+            logger.info("Found {} matching products", ids.size());
+            return ResponseEntity.ok(ids);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error searching products: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error searching products: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Get the products priced within a range.
+     *
+     * @param min the lowest price, inclusive
+     * @param max the highest price, inclusive
+     * @param limit the maximum number of products to return
+     * @return the products by ascending price
+     */
+    @ApiOperation(value = "View the products priced within a range", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved list"),
+            @ApiResponse(code = 400, message = "Invalid range or limit"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping("/price-range")
+    public ResponseEntity<List<ProductResponse>> getProductsByPriceRange(@RequestParam Double min, @RequestParam Double max,
+                                                                 @RequestParam(defaultValue = "100") int limit) {
+        logger.info("Received request to get products priced between {} and {}", min, max);
+        try {
+            List<Product> products = productRangeService.findByPriceBetween(min, max, limit);
+            logger.info("Retrieved {} products", products.size());
+            return ResponseEntity.ok(ProductResponse.listOf(products));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error retrieving products by price range: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving products by price range: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Get the products running out of stock.
+     *
+     * @param threshold return products with less stock than this; defaults to the configured low-stock threshold
+     * @param limit the maximum number of products to return
+     * @return the products by ascending stock
+     */
+    @ApiOperation(value = "View the products with low stock", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved list"),
+            @ApiResponse(code = 400, message = "Invalid limit"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<ProductResponse>> getLowStockProducts(@RequestParam(required = false) Integer threshold,
+                                                             @RequestParam(defaultValue = "100") int limit) {
+        logger.info("Received request to get products with stock below {}", threshold);
+        try {
+            List<Product> products = productRangeService.findLowStock(threshold, limit);
+            logger.info("Retrieved {} products", products.size());
+            return ResponseEntity.ok(ProductResponse.listOf(products));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error retrieving low stock products: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving low stock products: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package ar.com.plug.examen.app.rest;
+
+import ar.com.plug.examen.app.api.SalesOrderResponse;
+import ar.com.plug.examen.domain.model.SalesOrder;
+import ar.com.plug.examen.domain.service.SalesOrderService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.annotations.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/orders")
+public class SalesOrderController {
+    private static final Logger logger = LoggerFactory.getLogger(SalesOrderController.class);
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    /**
+     * Create an order with all its lines in a single request.
+     *
+     * @param order the order to create, with the product and quantity of each line
+     * @return the created order with its prices and total
+     */
+    @ApiOperation(value = "Create a new order", response = SalesOrderResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully created order"),
+            @ApiResponse(code = 400, message = "Invalid lines, or an unknown client, seller or product"),
+            @ApiResponse(code = 409, message = "Insufficient stock for one of the products"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @PostMapping
+    public ResponseEntity<SalesOrderResponse> createOrder(@RequestBody SalesOrder order) {
+        logger.info("Received request to create order with {} lines", order.getLines() != null ? order.getLines().size() : 0);
+        try {
+            SalesOrder createdOrder = salesOrderService.createOrder(order);
+            logger.info("Order created successfully: {}", createdOrder.getId());
+            return ResponseEntity.ok(SalesOrderResponse.of(createdOrder));
+        } catch (IllegalArgumentException | DataIntegrityViolationException e) {
+            logger.error("Error creating order: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            logger.error("Error creating order: {}", e.getMessage());
+            return ResponseEntity.status(409).build();
+        } catch (Exception e) {
+            logger.error("Error creating order: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Get an order by ID.
+     *
+     * @param id the ID of the order to retrieve
+     * @return the order with its lines
+     */
+    @ApiOperation(value = "Get an order by Id", response = SalesOrderResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved order"),
+            @ApiResponse(code = 404, message = "Order not found"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<SalesOrderResponse> getOrderById(@PathVariable Long id) {
+        logger.info("Received request to get order by id: {}", id);
+        try {
+            return salesOrderService.getOrderById(id)
+                    .map(order -> {
+                        logger.info("Order retrieved successfully: {}", order.getId());
+                        return ResponseEntity.ok(SalesOrderResponse.of(order));
+                    })
+                    .orElseGet(() -> {
+                        logger.warn("Order with id {} not found", id);
+                        return ResponseEntity.notFound().build();
+                    });
+        } catch (Exception e) {
+            logger.error("Error retrieving order by id: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+}
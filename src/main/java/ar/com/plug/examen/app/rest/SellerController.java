@@ -1,6 +1,13 @@
 package ar.com.plug.examen.app.rest;
 
+import ar.com.plug.examen.app.api.SellerResponse;
+import ar.com.plug.examen.app.web.SerializedResponseCache;
+import ar.com.plug.examen.domain.model.BatchLookup;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
+import ar.com.plug.examen.domain.model.LeaderboardEntry;
+import ar.com.plug.examen.domain.model.LeaderboardWindow;
 import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.service.LeaderboardService;
 import ar.com.plug.examen.domain.service.SellerService;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponses;
@@ -8,6 +15,9 @@ import io.swagger.annotations.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,33 +31,69 @@ public class SellerController {
     @Autowired
     private SellerService sellerService;
 
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private SerializedResponseCache serializedResponseCache;
+
     /**
      * Create a new seller.
      *
      * @param seller the seller to create
      * @return the created seller
      */
-    @ApiOperation(value = "Create a new seller", response = Seller.class)
+    @ApiOperation(value = "Create a new seller", response = SellerResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully created seller"),
             @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
             @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 409, message = "Email already in use"),
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @PostMapping
-    public ResponseEntity<Seller> createSeller(@RequestBody Seller seller) {
+    public ResponseEntity<SellerResponse> createSeller(@RequestBody Seller seller) {
         logger.info("Received request to create seller: {}", seller);
         try {
             Seller createdSeller = sellerService.createSeller(seller);
             logger.info("Seller created successfully: {}", createdSeller);
-            return ResponseEntity.ok(createdSeller);
+            return ResponseEntity.ok(SellerResponse.of(createdSeller));
+        } catch (DataIntegrityViolationException e) {
+            logger.error("Error creating seller: {}", e.getMessage());
+            return ResponseEntity.status(409).build();
         } catch (Exception e) {
             logger.error("Error creating seller: {}", e.getMessage());
             return ResponseEntity.status(500).build();
         }
     }
 
+    /**
+     * Get all sellers as JSON, from the serialized response cache. Other representations
+     * are served by {@link #getAllSellers()}.
+     *
+     * @param acceptEncoding the encodings the client accepts; gzip is served when listed
+     * @return the list of all sellers
+     */
+    @ApiOperation(value = "View a list of available sellers", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved list"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllSellersJson(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        logger.info("Received request to get all sellers as JSON");
+        try {
+            return serializedResponseCache.get(CatalogEntityType.SELLER, "all",
+                    () -> sellerService.getAllSellers(SellerResponse::of))
+                    .toResponseEntity(acceptEncoding);
+        } catch (Exception e) {
+            logger.error("Error retrieving sellers: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     /**
      * Get all sellers.
      *
@@ -62,10 +108,10 @@ public class SellerController {
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<Seller>> getAllSellers() {
+    public ResponseEntity<List<SellerResponse>> getAllSellers() {
         logger.info("Received request to get all sellers");
         try {
-            List<Seller> sellers = sellerService.getAllSellers();
+            List<SellerResponse> sellers = sellerService.getAllSellers(SellerResponse::of);
             logger.info("Retrieved {} sellers", sellers.size());
             return ResponseEntity.ok(sellers);
         } catch (Exception e) {
@@ -80,7 +126,7 @@ public class SellerController {
      * @param id the ID of the seller to retrieve
      * @return the seller with the specified ID
      */
-    @ApiOperation(value = "Get a seller by Id", response = Seller.class)
+    @ApiOperation(value = "Get a seller by Id", response = SellerResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully retrieved seller"),
             @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
@@ -89,10 +135,10 @@ public class SellerController {
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Seller> getSellerById(@PathVariable Long id) {
+    public ResponseEntity<SellerResponse> getSellerById(@PathVariable Long id) {
         logger.info("Received request to get seller by id: {}", id);
         try {
-            return sellerService.getSellerById(id)
+            return sellerService.getSellerById(id, SellerResponse::of)
                     .map(seller -> {
                         logger.info("Seller retrieved successfully: {}", seller);
                         return ResponseEntity.ok(seller);
@@ -107,6 +153,34 @@ public class SellerController {
         }
     }
 
+    /**
+     * Get several sellers by ID in a single call.
+     *
+     * @param ids the IDs of the sellers to retrieve, in the order they should be returned
+     * @return the sellers found, in request order, and the IDs that were not found
+     */
+    @ApiOperation(value = "Get sellers by a list of Ids", response = BatchLookup.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved sellers"),
+            @ApiResponse(code = 400, message = "Invalid list of Ids"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchLookup<SellerResponse>> getSellersByIds(@RequestParam List<Long> ids) {
+        logger.info("Received request to get {} sellers by id", ids.size());
+        try {
+            BatchLookup<SellerResponse> lookup = sellerService.getSellersByIds(ids, SellerResponse::of);
+            logger.info("Retrieved {} sellers, {} not found", lookup.getItems().size(), lookup.getMissingIds().size());
+            return ResponseEntity.ok(lookup);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid batch lookup of sellers: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving sellers by id: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     /**
      * Update an existing seller.
      *
@@ -114,7 +188,7 @@ public class SellerController {
      * @param sellerDetails the new details of the seller
      * @return the updated seller
      */
-    @ApiOperation(value = "Update an existing seller", response = Seller.class)
+    @ApiOperation(value = "Update an existing seller", response = SellerResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully updated seller"),
             @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
@@ -123,10 +197,10 @@ public class SellerController {
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Seller> updateSeller(@PathVariable Long id, @RequestBody Seller sellerDetails) {
+    public ResponseEntity<SellerResponse> updateSeller(@PathVariable Long id, @RequestBody Seller sellerDetails) {
         logger.info("Received request to update seller with id: {}", id);
         try {
-            Seller updatedSeller = sellerService.updateSeller(id, sellerDetails);
+            SellerResponse updatedSeller = sellerService.updateSeller(id, sellerDetails, SellerResponse::of);
             logger.info("Seller updated successfully: {}", updatedSeller);
             return ResponseEntity.ok(updatedSeller);
         } catch (Exception e) {
@@ -161,4 +235,91 @@ public class SellerController {
             return ResponseEntity.status(500).body("Error deleting seller: " + e.getMessage());
         }
     }
+
+    /**
+     * Get the sellers with the highest approved revenue in a window.
+     *
+     * @param window one of today, week or month
+     * @param limit the maximum number of entries to return
+     * @return the ranked sellers with their revenue
+     */
+    @ApiOperation(value = "View the top sellers by revenue", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved leaderboard"),
+            @ApiResponse(code = 400, message = "Unknown leaderboard window"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> getTopSellers(@RequestParam(defaultValue = "today") String window,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Received request to get the sellers leaderboard for window: {}", window);
+        try {
+            List<LeaderboardEntry> entries = leaderboardService.getTopSellers(LeaderboardWindow.fromValue(window), limit);
+            logger.info("Retrieved {} leaderboard entries", entries.size());
+            return ResponseEntity.ok(entries);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error retrieving sellers leaderboard: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving sellers leaderboard: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Create or update a seller identified by email.
+     *
+     * @param email the email of the seller
+     * @param sellerDetails the details to store; its email is ignored
+     * @return the stored seller
+     */
+    @ApiOperation(value = "Create or update a seller by email", response = SellerResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully stored seller"),
+            @ApiResponse(code = 400, message = "Invalid seller data"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @PutMapping("/by-email/{email:.+}")
+    public ResponseEntity<SellerResponse> upsertSellerByEmail(@PathVariable String email, @RequestBody Seller sellerDetails) {
+        logger.info("Received request to upsert seller with email: {}", email);
+        try {
+            Seller seller = sellerService.upsertSellerByEmail(email, sellerDetails);
+            logger.info("Seller upserted successfully: {}", seller);
+            return ResponseEntity.ok(SellerResponse.of(seller));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error upserting seller: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error upserting seller: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Create or update several sellers identified by email, in one statement.
+     *
+     * @param sellers the sellers to store; each needs an email
+     * @return the stored sellers, one per distinct email, in request order
+     */
+    @ApiOperation(value = "Create or update sellers by email", response = List.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully stored sellers"),
+            @ApiResponse(code = 400, message = "Empty list or seller without email"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @PutMapping("/by-email")
+    public ResponseEntity<List<SellerResponse>> upsertSellersByEmail(@RequestBody List<Seller> sellers) {
+        logger.info("Received request to upsert {} sellers by email", sellers.size());
+        try {
+            List<Seller> upserted = sellerService.upsertSellersByEmail(sellers);
+            logger.info("Upserted {} sellers", upserted.size());
+            return ResponseEntity.ok(SellerResponse.listOf(upserted));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error upserting sellers: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error upserting sellers: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
 }
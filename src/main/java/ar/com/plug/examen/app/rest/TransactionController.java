@@ -1,6 +1,12 @@
 package ar.com.plug.examen.app.rest;
 
-import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.app.api.CreateTransactionRequest;
+import ar.com.plug.examen.app.api.TransactionResponse;
+import ar.com.plug.examen.domain.exception.IdempotencyKeyInProgressException;
+import ar.com.plug.examen.domain.exception.IdempotencyKeyReusedException;
+import ar.com.plug.examen.domain.exception.InsufficientStockException;
+import ar.com.plug.examen.domain.model.BatchLookup;
+import ar.com.plug.examen.domain.service.IdempotencyService;
 import ar.com.plug.examen.domain.service.TransactionService;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponses;
@@ -8,10 +14,13 @@ import io.swagger.annotations.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.persistence.EntityNotFoundException;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/transactions")
@@ -21,27 +30,52 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     /**
-     * Create a new transaction.
+     * Create a new transaction. When an {@code Idempotency-Key} header is sent, retries with
+     * the same key and body return the original response instead of creating another
+     * transaction; the same key with a different body is rejected.
      *
-     * @param transaction the transaction to create
-     * @return the created transaction
+     * @param request the transaction to create, with the product, client and seller given by id
+     * @param idempotencyKey optional client-generated key identifying this request
+     * @return the created transaction, with the product, client and seller given by id
      */
-    @ApiOperation(value = "Create a new transaction", response = Transaction.class)
+    @ApiOperation(value = "Create a new transaction", response = TransactionResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully created transaction"),
+            @ApiResponse(code = 400, message = "Invalid idempotency key"),
             @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
             @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 409, message = "Insufficient stock, or a request with the same idempotency key is still in progress"),
+            @ApiResponse(code = 422, message = "Unknown product, client or seller, or the idempotency key was used with a different request"),
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @PostMapping
-    public ResponseEntity<Transaction> createTransaction(@RequestBody Transaction transaction) {
-        logger.info("Received request to create transaction: {}", transaction);
+    public ResponseEntity<TransactionResponse> createTransaction(@RequestBody CreateTransactionRequest request,
+                                                                 @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        logger.info("Received request to create transaction: {}", request);
         try {
-            Transaction createdTransaction = transactionService.createTransaction(transaction);
-            logger.info("Transaction created successfully: {}", createdTransaction);
+            TransactionResponse createdTransaction = idempotencyKey == null
+                    ? TransactionResponse.of(transactionService.createTransaction(request.toTransaction()))
+                    : idempotencyService.execute(idempotencyKey, request, TransactionResponse.class,
+                            () -> TransactionResponse.of(transactionService.createTransaction(request.toTransaction())));
+            logger.info("Transaction created successfully: {}", createdTransaction.getId());
             return ResponseEntity.ok(createdTransaction);
+        } catch (IdempotencyKeyReusedException e) {
+            logger.error("Error creating transaction: {}", e.getMessage());
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (IllegalArgumentException e) {
+            logger.error("Error creating transaction: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IdempotencyKeyInProgressException | InsufficientStockException e) {
+            logger.error("Error creating transaction: {}", e.getMessage());
+            return ResponseEntity.status(409).build();
+        } catch (DataIntegrityViolationException | EntityNotFoundException e) {
+            logger.error("Error creating transaction: {}", e.getMessage());
+            return ResponseEntity.unprocessableEntity().build();
         } catch (Exception e) {
             logger.error("Error creating transaction: {}", e.getMessage());
             return ResponseEntity.status(500).build();
@@ -62,10 +96,10 @@ public class TransactionController {
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<Transaction>> getAllTransactions() {
+    public ResponseEntity<List<TransactionResponse>> getAllTransactions() {
         logger.info("Received request to get all transactions");
         try {
-            List<Transaction> transactions = transactionService.getAllTransactions();
+            List<TransactionResponse> transactions = transactionService.getAllTransactions(TransactionResponse::of);
             logger.info("Retrieved {} transactions", transactions.size());
             return ResponseEntity.ok(transactions);
         } catch (Exception e) {
@@ -80,7 +114,7 @@ public class TransactionController {
      * @param id the ID of the transaction to retrieve
      * @return the transaction with the specified ID
      */
-    @ApiOperation(value = "Get a transaction by Id", response = Transaction.class)
+    @ApiOperation(value = "Get a transaction by Id", response = TransactionResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully retrieved transaction"),
             @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
@@ -89,10 +123,10 @@ public class TransactionController {
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Transaction> getTransactionById(@PathVariable Long id) {
+    public ResponseEntity<TransactionResponse> getTransactionById(@PathVariable Long id) {
         logger.info("Received request to get transaction by id: {}", id);
         try {
-            return transactionService.getTransactionById(id)
+            return transactionService.getTransactionById(id, TransactionResponse::of)
                     .map(transaction -> {
                         logger.info("Transaction retrieved successfully: {}", transaction);
                         return ResponseEntity.ok(transaction);
@@ -107,13 +141,41 @@ public class TransactionController {
         }
     }
 
+    /**
+     * Get several transactions by ID in a single call.
+     *
+     * @param ids the IDs of the transactions to retrieve, in the order they should be returned
+     * @return the transactions found, in request order, and the IDs that were not found
+     */
+    @ApiOperation(value = "Get transactions by a list of Ids", response = BatchLookup.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved transactions"),
+            @ApiResponse(code = 400, message = "Invalid list of Ids"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchLookup<TransactionResponse>> getTransactionsByIds(@RequestParam List<Long> ids) {
+        logger.info("Received request to get {} transactions by id", ids.size());
+        try {
+            BatchLookup<TransactionResponse> lookup = transactionService.getTransactionsByIds(ids, TransactionResponse::of);
+            logger.info("Retrieved {} transactions, {} not found", lookup.getItems().size(), lookup.getMissingIds().size());
+            return ResponseEntity.ok(lookup);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid batch lookup of transactions: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving transactions by id: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     /**
      * Approve a transaction.
      *
      * @param id the ID of the transaction to approve
      * @return the updated transaction with approval status
      */
-    @ApiOperation(value = "Approve a transaction", response = Transaction.class)
+    @ApiOperation(value = "Approve a transaction", response = TransactionResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully approved transaction"),
             @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
@@ -122,12 +184,15 @@ public class TransactionController {
             @ApiResponse(code = 500, message = "Internal server error")
     })
     @PostMapping("/{id}/approve")
-    public ResponseEntity<Transaction> approveTransaction(@PathVariable Long id) {
+    public ResponseEntity<TransactionResponse> approveTransaction(@PathVariable Long id) {
         logger.info("Received request to approve transaction with id: {}", id);
         try {
-            Transaction approvedTransaction = transactionService.approveTransaction(id);
+            TransactionResponse approvedTransaction = transactionService.approveTransaction(id, TransactionResponse::of);
             logger.info("Transaction approved successfully: {}", approvedTransaction);
             return ResponseEntity.ok(approvedTransaction);
+        } catch (NoSuchElementException e) {
+            logger.error("Error approving transaction: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             logger.error("Error approving transaction: {}", e.getMessage());
             return ResponseEntity.status(500).build();
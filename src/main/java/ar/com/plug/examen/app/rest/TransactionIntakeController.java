@@ -0,0 +1,103 @@
+package ar.com.plug.examen.app.rest;
+
+import ar.com.plug.examen.app.api.CreateTransactionRequest;
+import ar.com.plug.examen.app.api.TransactionResponse;
+import ar.com.plug.examen.domain.model.IntakeReceipt;
+import ar.com.plug.examen.domain.model.RejectedIntake;
+import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.service.TransactionIntakeService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Fast-acknowledgement variant of {@code POST /transactions}: the transaction is written to
+ * the local write-ahead log and applied to the database asynchronously.
+ */
+@RestController
+@RequestMapping("/transactions/intake")
+@ConditionalOnProperty(name = "transaction-intake.enabled", havingValue = "true")
+public class TransactionIntakeController {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionIntakeController.class);
+
+    @Autowired
+    private TransactionIntakeService transactionIntakeService;
+
+    /**
+     * Accept a transaction for asynchronous creation.
+     *
+     * @param request the transaction to create, with the product, client and seller by id
+     * @return the intake id, to look the transaction up once it is applied
+     */
+    @ApiOperation(value = "Accept a transaction for asynchronous creation", response = IntakeReceipt.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Transaction durably accepted"),
+            @ApiResponse(code = 400, message = "Invalid transaction"),
+            @ApiResponse(code = 500, message = "Internal server error"),
+            @ApiResponse(code = 503, message = "Too many transactions waiting to be applied")
+    })
+    @PostMapping
+    public ResponseEntity<IntakeReceipt> submitTransaction(@RequestBody CreateTransactionRequest request) {
+        logger.info("Received request to submit transaction: {}", request);
+        try {
+            String intakeId = transactionIntakeService.submit(request.toTransaction());
+            logger.info("Transaction accepted with intake id: {}", intakeId);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/transactions/intake/" + intakeId))
+                    .body(new IntakeReceipt(intakeId));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error submitting transaction: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            logger.error("Error submitting transaction: {}", e.getMessage());
+            return ResponseEntity.status(503).build();
+        } catch (Exception e) {
+            logger.error("Error submitting transaction: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Get a transaction by its intake id.
+     *
+     * @param intakeId the id returned when the transaction was accepted
+     * @return the transaction; the reason with 422 if it was rejected, or 404 while it has
+     *         not been applied yet
+     */
+    @ApiOperation(value = "Get a transaction by intake id", response = TransactionResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved transaction"),
+            @ApiResponse(code = 404, message = "The transaction has not been applied yet"),
+            @ApiResponse(code = 422, message = "The transaction was rejected and will never be applied", response = RejectedIntake.class),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    @GetMapping("/{intakeId}")
+    public ResponseEntity<?> getTransactionByIntakeId(@PathVariable String intakeId) {
+        logger.info("Received request to get transaction by intake id: {}", intakeId);
+        try {
+            Optional<Transaction> transaction = transactionIntakeService.getAppliedTransaction(intakeId);
+            if (transaction.isPresent()) {
+                return ResponseEntity.ok(TransactionResponse.of(transaction.get()));
+            }
+            Optional<RejectedIntake> rejection = transactionIntakeService.getRejection(intakeId);
+            if (rejection.isPresent()) {
+                logger.warn("Transaction with intake id {} was rejected: {}", intakeId, rejection.get().getReason());
+                return ResponseEntity.unprocessableEntity().body(rejection.get());
+            }
+            logger.warn("Transaction with intake id {} not applied yet", intakeId);
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving transaction by intake id: {}", e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+}
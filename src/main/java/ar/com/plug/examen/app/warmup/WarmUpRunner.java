@@ -0,0 +1,187 @@
+package ar.com.plug.examen.app.warmup;
+
+import ar.com.plug.examen.app.api.CreateTransactionRequest;
+import ar.com.plug.examen.app.api.ProductResponse;
+import ar.com.plug.examen.app.api.SellerResponse;
+import ar.com.plug.examen.app.api.TransactionResponse;
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.repository.ClientRepository;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.SellerRepository;
+import ar.com.plug.examen.domain.repository.TransactionRepository;
+import ar.com.plug.examen.domain.service.ProductService;
+import ar.com.plug.examen.domain.service.SellerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs before the readiness state flips to {@code ACCEPTING_TRAFFIC} (application runners
+ * complete before it), so the first real requests do not pay for cold pools, caches and
+ * un-compiled code paths. Repository calls run in a transaction that is always rolled
+ * back; with IDENTITY keys this still consumes auto-increment values.
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    @Autowired
+    private ObjectProvider<DataSource> dataSource;
+
+    @Autowired
+    private ObjectProvider<TransactionTemplate> transactionTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${warmup.connections:10}")
+    private int connections;
+
+    @Value("${warmup.iterations:200}")
+    private int iterations;
+
+    @Value("${warmup.repository-iterations:20}")
+    private int repositoryIterations;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        logger.info("Starting warm-up");
+        long start = System.nanoTime();
+        try {
+            openConnections();
+            List<Product> products = productService.getAllProducts();
+            List<Seller> sellers = sellerService.getAllSellers();
+            logger.info("Warm-up preloaded {} products and {} sellers", products.size(), sellers.size());
+            exerciseSerialization(products, sellers);
+            exerciseRepositories();
+        } catch (Exception e) {
+            logger.warn("Warm-up did not complete: {}", e.getMessage());
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        meterRegistry.timer("application.warmup").record(elapsed);
+        logger.info("Warm-up finished in {} ms", elapsed.toMillis());
+    }
+
+    /**
+     * Holds {@code warmup.connections} connections at once so the pool opens them now
+     * instead of on the first burst of requests.
+     */
+    private void openConnections() throws SQLException {
+        DataSource source = dataSource.getIfAvailable();
+        if (source == null) {
+            return;
+        }
+        List<Connection> opened = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                opened.add(source.getConnection());
+            }
+        } finally {
+            for (Connection connection : opened) {
+                connection.close();
+            }
+        }
+        logger.info("Warm-up opened {} database connections", opened.size());
+    }
+
+    private void exerciseSerialization(List<Product> products, List<Seller> sellers) throws Exception {
+        Transaction transaction = syntheticTransaction();
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValueAsBytes(ProductResponse.listOf(products));
+            objectMapper.writeValueAsBytes(SellerResponse.listOf(sellers));
+            byte[] json = objectMapper.writeValueAsBytes(TransactionResponse.of(transaction));
+            objectMapper.readValue(json, CreateTransactionRequest.class);
+        }
+    }
+
+    private void exerciseRepositories() {
+        TransactionTemplate template = transactionTemplate.getIfAvailable();
+        if (template == null || dataSource.getIfAvailable() == null) {
+            // Without a database (in-memory profile) the rollback would not undo anything
+            return;
+        }
+        template.execute(status -> {
+            status.setRollbackOnly();
+            Transaction transaction = syntheticTransaction();
+            transaction.setClient(clientRepository.save(transaction.getClient()));
+            transaction.setProduct(productRepository.save(transaction.getProduct()));
+            transaction.setSeller(sellerRepository.save(transaction.getSeller()));
+            for (int i = 0; i < repositoryIterations; i++) {
+                Transaction copy = syntheticTransaction();
+                copy.setClient(transaction.getClient());
+                copy.setProduct(transaction.getProduct());
+                copy.setSeller(transaction.getSeller());
+                Transaction saved = transactionRepository.save(copy);
+                transactionRepository.findById(saved.getId());
+                transactionRepository.findSummariesByClientId(transaction.getClient().getId(),
+                        LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), PageRequest.of(0, 20));
+            }
+            transactionRepository.flush();
+            return null;
+        });
+    }
+
+    private static Transaction syntheticTransaction() {
+        Client client = new Client();
+        client.setName("warm-up");
+        client.setEmail("warm-up@localhost");
+        Product product = new Product();
+        product.setName("warm-up");
+        product.setPrice(1.0);
+        product.setStock(1);
+        Seller seller = new Seller();
+        seller.setName("warm-up");
+        seller.setEmail("warm-up@localhost");
+        Transaction transaction = new Transaction();
+        transaction.setClient(client);
+        transaction.setProduct(product);
+        transaction.setSeller(seller);
+        transaction.setQuantity(1);
+        transaction.setDate(LocalDateTime.now());
+        transaction.setApproved(false);
+        return transaction;
+    }
+}
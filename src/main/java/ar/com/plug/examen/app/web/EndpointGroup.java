@@ -0,0 +1,24 @@
+package ar.com.plug.examen.app.web;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Groups of endpoints that get their own concurrency bulkhead, so a flood of one kind of
+ * request cannot take every worker thread and connection.
+ */
+public enum EndpointGroup {
+    READ,
+    WRITE,
+    EXPORT;
+
+    public static EndpointGroup of(String method, String path) {
+        if (path.contains("/export")) {
+            return EXPORT;
+        }
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? READ : WRITE;
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,209 @@
+package ar.com.plug.examen.app.web;
+
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.event.StockChangedEvent;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON bodies of catalog list responses, serialized (and gzipped) once and served as they are
+ * until the catalog changes.
+ *
+ * <p>Each catalog type has a version that moves on every {@link CatalogChangeEvent} for it,
+ * local or replayed from another node, and products also on every {@link StockChangedEvent}.
+ * A cached body is keyed by type and query and is rebuilt on the first read after its
+ * version moved. The version is read before the query runs, so a body built while a write
+ * was committing is already stale when it is stored.
+ *
+ * <p>Stock changes made on other nodes are not replayed through {@code catalog_change}, so a
+ * body is also rebuilt once it is older than {@code response-cache.max-age}, which bounds
+ * how long another node's stock changes go unseen.
+ */
+@Component
+public class SerializedResponseCache {
+    private static final Logger logger = LoggerFactory.getLogger(SerializedResponseCache.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${response-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${response-cache.gzip:true}")
+    private boolean gzip = true;
+
+    @Value("${response-cache.max-age:5s}")
+    private Duration maxAge = Duration.ofSeconds(5);
+
+    private final Map<CatalogEntityType, AtomicLong> versions = new EnumMap<>(CatalogEntityType.class);
+
+    private final ConcurrentMap<String, SerializedResponse> responses = new ConcurrentHashMap<>();
+
+    public SerializedResponseCache() {
+        for (CatalogEntityType type : CatalogEntityType.values()) {
+            versions.put(type, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns the serialized body for a catalog query, building it from {@code body} if the
+     * catalog changed since it was cached.
+     *
+     * @param type the catalog type the body is built from
+     * @param query identifies the query within the type
+     * @param body runs the query and returns the object to serialize
+     * @return the serialized body
+     */
+    public SerializedResponse get(CatalogEntityType type, String query, Supplier<?> body) throws IOException {
+        long version = versions.get(type).get();
+        String key = type + ":" + query;
+        long now = System.nanoTime();
+        SerializedResponse cached = responses.get(key);
+        if (enabled && cached != null && cached.version == version && now - cached.builtAt < maxAge.toNanos()) {
+            return cached;
+        }
+        logger.debug("Serializing {} response for version {}", key, version);
+        byte[] json = objectMapper.writeValueAsBytes(body.get());
+        SerializedResponse built = new SerializedResponse(version, now, json, enabled && gzip ? gzip(json) : null);
+        if (enabled) {
+            responses.merge(key, built, (current, candidate) -> candidate.version >= current.version ? candidate : current);
+        }
+        return built;
+    }
+
+    // After commit, or a reader could rebuild the list from the old rows under the new version
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        versions.get(event.getEntityType()).incrementAndGet();
+    }
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        versions.get(CatalogEntityType.PRODUCT).incrementAndGet();
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * A JSON body and, when gzip is enabled, its compressed form.
+     */
+    public static final class SerializedResponse {
+        private final long version;
+        private final long builtAt;
+        private final byte[] json;
+        private final byte[] gzipped;
+
+        SerializedResponse(long version, long builtAt, byte[] json, byte[] gzipped) {
+            this.version = version;
+            this.builtAt = builtAt;
+            this.json = json;
+            this.gzipped = gzipped;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzipped() {
+            return gzipped;
+        }
+
+        /**
+         * Builds the HTTP response, gzipped if the client accepts it. A response that already
+         * has a {@code Content-Encoding} is not compressed again by the server.
+         *
+         * @param acceptEncoding the request's {@code Accept-Encoding} header, may be {@code null}
+         * @return the response with the cached bytes as body
+         */
+        public ResponseEntity<byte[]> toResponseEntity(String acceptEncoding) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            String coding = gzipped != null ? gzipCoding(acceptEncoding) : null;
+            if (coding != null) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, coding).body(gzipped);
+            }
+            return response.body(json);
+        }
+
+        /**
+         * The name to label a gzipped body with, or {@code null} if the client does not accept
+         * gzip: it must list {@code gzip}, {@code x-gzip} or {@code *} with a non-zero quality,
+         * and not rank {@code identity} higher. A malformed quality counts as zero.
+         */
+        private static String gzipCoding(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return null;
+            }
+            double gzipQuality = -1;
+            double xGzipQuality = -1;
+            double anyQuality = -1;
+            double identityQuality = -1;
+            for (String element : acceptEncoding.split(",")) {
+                String[] parts = element.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                double quality = 1;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                        try {
+                            quality = Double.parseDouble(parameter.substring(2).trim());
+                        } catch (NumberFormatException e) {
+                            quality = 0;
+                        }
+                    }
+                }
+                switch (coding) {
+                    case "gzip":
+                        gzipQuality = quality;
+                        break;
+                    case "x-gzip":
+                        xGzipQuality = quality;
+                        break;
+                    case "*":
+                        anyQuality = quality;
+                        break;
+                    case "identity":
+                        identityQuality = quality;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            // An explicit gzip entry overrides *, and x-gzip is the same coding under an old name
+            double quality = gzipQuality >= 0 ? gzipQuality : xGzipQuality >= 0 ? xGzipQuality : anyQuality;
+            if (quality <= 0 || quality < identityQuality) {
+                return null;
+            }
+            return gzipQuality < 0 && xGzipQuality >= 0 ? "x-gzip" : "gzip";
+        }
+    }
+}
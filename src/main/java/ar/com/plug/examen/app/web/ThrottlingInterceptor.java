@@ -0,0 +1,139 @@
+package ar.com.plug.examen.app.web;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.security.Principal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests with 429 when the caller exceeds its token bucket or when the bulkhead
+ * of the endpoint group is full. Both checks are non-blocking.
+ *
+ * <p>Callers are identified by their authenticated principal, or else by their remote
+ * address, never by anything the request itself claims. Behind a proxy the remote address
+ * is taken from the forwarded headers only when the proxy is trusted
+ * ({@code server.forward-headers-strategy}).
+ *
+ * <p>The bulkheads bound the requests holding a server thread. An asynchronous handler gives
+ * its thread back once it returns, so its permit is released then; the work it started is
+ * bounded by its own executor.
+ */
+@Component
+public class ThrottlingInterceptor implements AsyncHandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(ThrottlingInterceptor.class);
+
+    private static final String PERMIT_ATTRIBUTE = ThrottlingInterceptor.class.getName() + ".permit";
+    private static final String REJECTIONS_METRIC = "http.server.requests.rejected";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${throttling.rate-per-second:50}")
+    private double ratePerSecond;
+
+    @Value("${throttling.burst:100}")
+    private int burst;
+
+    @Value("${throttling.bulkhead.reads:100}")
+    private int readPermits;
+
+    @Value("${throttling.bulkhead.writes:50}")
+    private int writePermits;
+
+    @Value("${throttling.bulkhead.exports:4}")
+    private int exportPermits;
+
+    private final Map<EndpointGroup, Semaphore> bulkheads = new EnumMap<>(EndpointGroup.class);
+
+    private final Cache<String, TokenBucket> buckets = CacheBuilder.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    @PostConstruct
+    public void init() {
+        bulkheads.put(EndpointGroup.READ, new Semaphore(readPermits));
+        bulkheads.put(EndpointGroup.WRITE, new Semaphore(writePermits));
+        bulkheads.put(EndpointGroup.EXPORT, new Semaphore(exportPermits));
+        bulkheads.forEach((group, permits) -> Gauge.builder("http.server.bulkhead.available", permits, Semaphore::availablePermits)
+                .tag("group", group.tag())
+                .register(meterRegistry));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // Already admitted on the initial dispatch
+            return true;
+        }
+        EndpointGroup group = EndpointGroup.of(request.getMethod(), request.getRequestURI());
+        String client = clientOf(request);
+
+        long waitNanos = bucketOf(client).tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            logger.warn("Rate limit exceeded for client {} on {}", client, request.getRequestURI());
+            return reject(response, group, "rate_limit", TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        }
+
+        Semaphore bulkhead = bulkheads.get(group);
+        if (!bulkhead.tryAcquire()) {
+            logger.warn("Bulkhead {} is full, rejecting {}", group, request.getRequestURI());
+            return reject(response, group, "bulkhead", 1);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, group);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        releasePermit(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        releasePermit(request);
+    }
+
+    private void releasePermit(HttpServletRequest request) {
+        Object group = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (group != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            bulkheads.get(group).release();
+        }
+    }
+
+    private boolean reject(HttpServletResponse response, EndpointGroup group, String reason, long retryAfterSeconds) {
+        meterRegistry.counter(REJECTIONS_METRIC, "group", group.tag(), "reason", reason).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return false;
+    }
+
+    private TokenBucket bucketOf(String client) throws ExecutionException {
+        return buckets.get(client, () -> new TokenBucket(ratePerSecond, burst, System.nanoTime()));
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "principal:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+}
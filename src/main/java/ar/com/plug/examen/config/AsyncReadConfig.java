@@ -0,0 +1,33 @@
+package ar.com.plug.examen.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for the opt-in asynchronous read API. Requests hand their blocking repository
+ * call to this pool and release the servlet thread; the pool is sized like the connection
+ * pool because that is the real limit on concurrent queries.
+ */
+@Configuration
+@ConditionalOnProperty(name = "async-reads.enabled", havingValue = "true")
+public class AsyncReadConfig {
+
+    @Value("${async-reads.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int poolSize;
+
+    @Value("${async-reads.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor readOffloadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("read-offload-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+}
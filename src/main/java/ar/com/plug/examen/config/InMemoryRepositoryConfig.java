@@ -0,0 +1,63 @@
+package ar.com.plug.examen.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Wiring for the {@code in-memory} profile, where the repositories in
+ * {@code domain.repository.inmemory} replace JPA and no DataSource is configured.
+ * Transaction boundaries are kept (synchronizations still run) but nothing is rolled back:
+ * the stores apply writes immediately. Stock reservations ({@code inventory.enabled}) rely on
+ * a failed sale or batch undoing its decrements, so the profile refuses to start with them.
+ */
+@Configuration
+@Profile("in-memory")
+public class InMemoryRepositoryConfig {
+
+    @Value("${inventory.enabled:false}")
+    private boolean inventoryEnabled;
+
+    @PostConstruct
+    public void checkSupported() {
+        if (inventoryEnabled) {
+            throw new IllegalStateException("inventory.enabled=true is not supported by the in-memory profile: "
+                    + "its transactions cannot roll back a partial stock reservation");
+        }
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+
+    static class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            // Writes are applied directly to the stores
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            // Nothing to flush
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            // Not supported: the stores have no undo log
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ar.com.plug.examen.config;
+
+import ar.com.plug.examen.app.api.ResponseJsonModule;
+import com.fasterxml.jackson.databind.Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the response serializers. Boot adds every {@link Module} bean to the shared
+ * builder, so the JSON, CBOR and Smile mappers all pick it up.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module responseJsonModule() {
+        return new ResponseJsonModule();
+    }
+}
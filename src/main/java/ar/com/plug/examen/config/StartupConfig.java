@@ -0,0 +1,28 @@
+package ar.com.plug.examen.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+
+    /**
+     * Stops the JVM as soon as the context is ready. Used by the Docker build to run the
+     * application once and record the classes it loads for the class-data sharing archive.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "startup.exit-after-ready", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> exitAfterReady() {
+        return event -> {
+            logger.info("Exiting after startup as requested by startup.exit-after-ready");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        };
+    }
+}
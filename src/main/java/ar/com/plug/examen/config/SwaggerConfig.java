@@ -2,13 +2,18 @@ package ar.com.plug.examen.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spring.web.plugins.Docket;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
+/**
+ * Springfox scans every controller at startup, so it is left out of the fast-start profile.
+ */
 @Configuration
+@Profile("!fast-start")
 @EnableSwagger2
 public class SwaggerConfig {
 
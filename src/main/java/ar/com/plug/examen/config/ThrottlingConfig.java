@@ -0,0 +1,23 @@
+package ar.com.plug.examen.config;
+
+import ar.com.plug.examen.app.web.ThrottlingInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "throttling.enabled", havingValue = "true", matchIfMissing = true)
+public class ThrottlingConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ThrottlingInterceptor throttlingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(throttlingInterceptor)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/swagger-ui.html", "/swagger-resources/**", "/v2/api-docs", "/webjars/**");
+    }
+}
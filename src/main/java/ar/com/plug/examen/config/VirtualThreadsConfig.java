@@ -0,0 +1,65 @@
+package ar.com.plug.examen.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs every servlet request, and with it the whole service and repository call chain, on
+ * its own virtual thread when the JDK provides them (21 and later). Blocking JDBC calls then
+ * park a cheap virtual thread instead of a Tomcat worker, and the Hikari pool becomes the
+ * effective concurrency limit: callers beyond {@code maximum-pool-size} wait for a
+ * connection up to {@code connection-timeout}. On older JDKs the default platform thread
+ * pool is kept, which includes the Java 11 runtime image unless it is built with
+ * {@code --build-arg JAVA_RUNTIME_VERSION=21}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return executorCustomizer(VirtualThreadsConfig::newVirtualThreadPerTaskExecutor);
+    }
+
+    /**
+     * Sets the executor returned by {@code executorFactory} on the protocol handler, or keeps
+     * its platform thread pool when there is none.
+     */
+    static TomcatProtocolHandlerCustomizer<ProtocolHandler> executorCustomizer(
+            Supplier<Optional<ExecutorService>> executorFactory) {
+        return protocolHandler -> {
+            Optional<ExecutorService> executor = executorFactory.get();
+            if (executor.isPresent()) {
+                protocolHandler.setExecutor(executor.get());
+                logger.info("Serving requests on virtual threads");
+            } else {
+                logger.warn("virtual-threads.enabled is set but this JDK ({}) has no virtual threads; "
+                        + "keeping the platform thread pool", System.getProperty("java.version"));
+            }
+        };
+    }
+
+    /**
+     * Looked up reflectively because the application is compiled for Java 8.
+     */
+    static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+}
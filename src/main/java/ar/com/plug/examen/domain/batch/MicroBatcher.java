@@ -0,0 +1,170 @@
+package ar.com.plug.examen.domain.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects concurrent submissions and processes them together: a worker thread waits for
+ * the first item, then keeps collecting until {@code maxBatchSize} items are queued or
+ * {@code linger} has elapsed, and hands the whole batch to {@code batchAction}.
+ *
+ * <p>{@code batchAction} must return one result per input, in order. If it throws, every
+ * item of the batch is retried on its own with {@code singleAction}, so one bad item only
+ * fails its own caller.
+ *
+ * @param <I> the submitted item type
+ * @param <O> the result type
+ */
+public class MicroBatcher<I, O> implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MicroBatcher.class);
+
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final Function<List<I>, List<O>> batchAction;
+    private final Function<I, O> singleAction;
+    private final BlockingQueue<Pending<I, O>> queue;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    public MicroBatcher(String name, int maxBatchSize, Duration linger, int maxPending,
+                        Function<List<I>, List<O>> batchAction, Function<I, O> singleAction) {
+        if (maxBatchSize < 1 || maxPending < 1 || linger.isNegative()) {
+            throw new IllegalArgumentException("Invalid micro-batching settings");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.batchAction = batchAction;
+        this.singleAction = singleAction;
+        this.queue = new LinkedBlockingQueue<>(maxPending);
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues an item, blocking while {@code maxPending} items are already waiting.
+     *
+     * @return a future completed with this item's result or failure
+     */
+    public CompletableFuture<O> submit(I item) {
+        if (!running) {
+            throw new IllegalStateException("Batcher is closed");
+        }
+        Pending<I, O> pending = new Pending<>(item);
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing for a batch", e);
+        }
+        // close() may have drained the queue between the check above and the put; if the item
+        // is still queued nobody else will complete it, otherwise the worker or close() has it
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Batcher is closed");
+        }
+        return pending.result;
+    }
+
+    /**
+     * Stops accepting items and waits for the queued ones to be processed.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+        List<Pending<I, O>> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        fail(leftover, new IllegalStateException("Batcher is closed"));
+    }
+
+    private void run() {
+        List<Pending<I, O>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<I, O> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Pending<I, O> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(batch, e);
+                return;
+            } catch (RuntimeException | Error e) {
+                fail(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Pending<I, O>> batch) {
+        List<I> items = new ArrayList<>(batch.size());
+        for (Pending<I, O> pending : batch) {
+            items.add(pending.item);
+        }
+        List<O> results;
+        try {
+            results = batchAction.apply(items);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            logger.warn("Batch of {} failed, retrying items one by one: {}", batch.size(), e.getMessage());
+            processOneByOne(batch);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(results.get(i));
+        }
+    }
+
+    private void processOneByOne(List<Pending<I, O>> batch) {
+        for (Pending<I, O> pending : batch) {
+            try {
+                pending.result.complete(singleAction.apply(pending.item));
+            } catch (RuntimeException e) {
+                pending.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static <I, O> void fail(List<Pending<I, O>> batch, Throwable cause) {
+        for (Pending<I, O> pending : batch) {
+            pending.result.completeExceptionally(cause);
+        }
+    }
+
+    private static final class Pending<I, O> {
+        private final I item;
+        private final CompletableFuture<O> result = new CompletableFuture<>();
+
+        private Pending(I item) {
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ar.com.plug.examen.domain.event;
+
+import ar.com.plug.examen.domain.model.CatalogEntityType;
+
+/**
+ * Published when a product, seller or client is created, updated or deleted. Local events
+ * carry the entity as written ({@code null} for deletes); events replayed from another
+ * node's change are marked {@link #isRemote() remote} and carry no entity.
+ */
+public class CatalogChangeEvent {
+    private final CatalogEntityType entityType;
+    private final Long entityId;
+    private final Object entity;
+    private final boolean remote;
+
+    public CatalogChangeEvent(CatalogEntityType entityType, Long entityId, Object entity, boolean remote) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.entity = entity;
+        this.remote = remote;
+    }
+
+    public static CatalogChangeEvent saved(CatalogEntityType entityType, Long entityId, Object entity) {
+        return new CatalogChangeEvent(entityType, entityId, entity, false);
+    }
+
+    public static CatalogChangeEvent deleted(CatalogEntityType entityType, Long entityId) {
+        return new CatalogChangeEvent(entityType, entityId, null, false);
+    }
+
+    public CatalogEntityType getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogChangeEvent{" + entityType + " " + entityId + (remote ? ", remote" : "") + "}";
+    }
+}
@@ -0,0 +1,33 @@
+package ar.com.plug.examen.domain.event;
+
+/**
+ * Published when a product's stock drops from at least {@code threshold} to below it.
+ */
+public class LowStockEvent {
+    private final Long productId;
+    private final int stock;
+    private final int threshold;
+
+    public LowStockEvent(Long productId, int stock, int threshold) {
+        this.productId = productId;
+        this.stock = stock;
+        this.threshold = threshold;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getStock() {
+        return stock;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public String toString() {
+        return "LowStockEvent{product " + productId + ", stock " + stock + " below " + threshold + "}";
+    }
+}
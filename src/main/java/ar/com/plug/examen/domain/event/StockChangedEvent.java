@@ -0,0 +1,28 @@
+package ar.com.plug.examen.domain.event;
+
+/**
+ * Published after a sale, a cancellation or a lease moves a product's stock, with the stock
+ * stored once that change committed.
+ */
+public class StockChangedEvent {
+    private final Long productId;
+    private final int stock;
+
+    public StockChangedEvent(Long productId, int stock) {
+        this.productId = productId;
+        this.stock = stock;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getStock() {
+        return stock;
+    }
+
+    @Override
+    public String toString() {
+        return "StockChangedEvent{product " + productId + ", stock " + stock + "}";
+    }
+}
@@ -0,0 +1,18 @@
+package ar.com.plug.examen.domain.exception;
+
+/**
+ * Thrown when an idempotency key is sent again while the request it was first used with is
+ * still running, here or on another node.
+ */
+public class IdempotencyKeyInProgressException extends IllegalStateException {
+    private final String idempotencyKey;
+
+    public IdempotencyKeyInProgressException(String idempotencyKey) {
+        super("A request with idempotency key " + idempotencyKey + " is still in progress");
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
@@ -0,0 +1,18 @@
+package ar.com.plug.examen.domain.exception;
+
+/**
+ * Thrown when an idempotency key is sent again with a request that differs from the one it
+ * was first used with.
+ */
+public class IdempotencyKeyReusedException extends IllegalArgumentException {
+    private final String idempotencyKey;
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used with a different request");
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
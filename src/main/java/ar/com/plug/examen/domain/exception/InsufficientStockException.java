@@ -0,0 +1,23 @@
+package ar.com.plug.examen.domain.exception;
+
+/**
+ * Thrown when a reservation asks for more units than a product has available.
+ */
+public class InsufficientStockException extends IllegalStateException {
+    private final Long productId;
+    private final long requested;
+
+    public InsufficientStockException(Long productId, long requested) {
+        super("Insufficient stock for product " + productId + ": requested " + requested);
+        this.productId = productId;
+        this.requested = requested;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public long getRequested() {
+        return requested;
+    }
+}
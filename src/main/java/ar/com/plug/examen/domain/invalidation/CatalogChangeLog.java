@@ -0,0 +1,133 @@
+package ar.com.plug.examen.domain.invalidation;
+
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.model.CatalogChange;
+import ar.com.plug.examen.domain.repository.CatalogChangeRepository;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cross-node invalidation of the second-level cache without a message broker. Every local
+ * {@link CatalogChangeEvent} is appended to the {@code catalog_change} table, and each node
+ * tails that table to evict the entities other nodes changed, drop the cached catalog
+ * queries and republish the change as a remote event for other in-process caches.
+ *
+ * <p>Change ids come from an auto-increment column, so a row can become visible after a
+ * higher id has already been read. The tail therefore re-reads rows younger than
+ * {@code catalog-invalidation.settle-time} on every poll and only moves its watermark past
+ * rows older than that.
+ *
+ * <p>The watermark starts at the newest change when the first poll runs, not when the bean
+ * is created, so the application starts without a database connection. With
+ * {@code catalog-invalidation.enabled=false} neither the log nor the tail run, which is only
+ * safe on a single node or in a process that serves no requests.
+ */
+@Component
+@Lazy(false) // @Scheduled methods are only registered once the bean exists
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "catalog-invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogChangeLog {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogChangeLog.class);
+
+    private static final int MAX_CHANGES_PER_POLL = 1000;
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${catalog-invalidation.settle-time:10s}")
+    private Duration settleTime = Duration.ofSeconds(10);
+
+    @Value("${catalog-invalidation.retention:1h}")
+    private Duration retention = Duration.ofHours(1);
+
+    // Identifies this process, so a node does not evict its own writes
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Both only touched by the scheduler thread; the watermark is null until the first poll
+    private Long watermark;
+    private final Set<Long> seen = new HashSet<>();
+
+    @EventListener(condition = "!#event.remote")
+    public void onLocalChange(CatalogChangeEvent event) {
+        CatalogChange change = new CatalogChange();
+        change.setEntityType(event.getEntityType());
+        change.setEntityId(event.getEntityId());
+        change.setNodeId(nodeId);
+        change.setChangedAt(LocalDateTime.now());
+        try {
+            catalogChangeRepository.save(change);
+        } catch (Exception e) {
+            // Other nodes serve this entity stale until its cache entry expires
+            logger.error("Error recording catalog change {}: {}", event, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog-invalidation.poll-interval:PT1S}")
+    public void poll() {
+        if (watermark == null) {
+            // Caches start empty, so older changes are irrelevant
+            watermark = catalogChangeRepository.findMaxId();
+            return;
+        }
+        List<CatalogChange> changes = catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(watermark,
+                PageRequest.of(0, MAX_CHANGES_PER_POLL));
+        boolean evicted = false;
+        for (CatalogChange change : changes) {
+            if (seen.add(change.getId()) && !nodeId.equals(change.getNodeId())) {
+                entityManagerFactory.getCache().evict(change.getEntityType().getEntityClass(), change.getEntityId());
+                eventPublisher.publishEvent(new CatalogChangeEvent(change.getEntityType(), change.getEntityId(), null, true));
+                evicted = true;
+            }
+        }
+        if (evicted) {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+            logger.debug("Applied remote catalog changes up to {}", changes.get(changes.size() - 1).getId());
+        }
+
+        LocalDateTime settled = LocalDateTime.now().minus(settleTime);
+        for (CatalogChange change : changes) {
+            if (!change.getChangedAt().isBefore(settled)) {
+                break;
+            }
+            watermark = change.getId();
+        }
+        seen.removeIf(id -> id <= watermark);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog-invalidation.purge-interval:PT10M}")
+    public void purge() {
+        int deleted = catalogChangeRepository.deleteChangedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            logger.debug("Purged {} catalog changes", deleted);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,39 @@
+package ar.com.plug.examen.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Entities found for a list of ids, in request order, plus the ids that matched nothing.
+ *
+ * @param <T> the entity type
+ */
+public class BatchLookup<T> {
+    private final List<T> items;
+    private final List<Long> missingIds;
+
+    public BatchLookup(List<T> items, List<Long> missingIds) {
+        this.items = items;
+        this.missingIds = missingIds;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    /**
+     * Same lookup with every item converted, keeping the order and the missing ids.
+     */
+    public <R> BatchLookup<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = new ArrayList<>(items.size());
+        for (T item : items) {
+            mapped.add(mapper.apply(item));
+        }
+        return new BatchLookup<>(mapped, missingIds);
+    }
+}
@@ -0,0 +1,70 @@
+package ar.com.plug.examen.domain.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One row per catalog write, tailed by every node to evict what another node changed.
+ */
+@Entity
+@Table(name = "catalog_change", indexes = @Index(name = "idx_catalog_change_changed_at", columnList = "changedAt"))
+public class CatalogChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private CatalogEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(length = 64, nullable = false)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    // Getters y setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public CatalogEntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(CatalogEntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,20 @@
+package ar.com.plug.examen.domain.model;
+
+/**
+ * Catalog entities that are cached in-process and must be invalidated across nodes.
+ */
+public enum CatalogEntityType {
+    PRODUCT(Product.class),
+    SELLER(Seller.class),
+    CLIENT(Client.class);
+
+    private final Class<?> entityClass;
+
+    CatalogEntityType(Class<?> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+}
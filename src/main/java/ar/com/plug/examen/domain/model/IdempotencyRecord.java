@@ -0,0 +1,106 @@
+package ar.com.plug.examen.domain.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Stored response of a request sent with an {@code Idempotency-Key} header, kept until
+ * {@link #expiresAt} so retries can be answered without re-executing the request. The row is
+ * inserted {@link IdempotencyStatus#PENDING} before the request runs, so the primary key
+ * lets only one request per key through, and {@link #requestFingerprint} ties the key to
+ * the body it was first sent with. A pending row names the claim that {@link #owner owns} it
+ * until {@link #leaseExpiresAt}; after that a retry may take it over, so a node that died
+ * mid-request does not block the key for the whole TTL.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_idempotency_record_expires_at", columnList = "expiresAt"))
+public class IdempotencyRecord {
+    public static final int MAX_KEY_LENGTH = 128;
+
+    @Id
+    @Column(length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    @Column(length = 64)
+    private String requestFingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private IdempotencyStatus status;
+
+    @Lob
+    private String responseBody;
+
+    @Column(length = 36)
+    private String owner;
+
+    private LocalDateTime leaseExpiresAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+
+    // Getters y setters
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getRequestFingerprint() {
+        return requestFingerprint;
+    }
+
+    public void setRequestFingerprint(String requestFingerprint) {
+        this.requestFingerprint = requestFingerprint;
+    }
+
+    public IdempotencyStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IdempotencyStatus status) {
+        this.status = status;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,10 @@
+package ar.com.plug.examen.domain.model;
+
+/**
+ * State of an {@link IdempotencyRecord}: claimed by the request that is executing it, or
+ * holding that request's response.
+ */
+public enum IdempotencyStatus {
+    PENDING,
+    COMPLETED
+}
@@ -0,0 +1,16 @@
+package ar.com.plug.examen.domain.model;
+
+/**
+ * Acknowledgement of a transaction accepted by the durable intake, before it is applied.
+ */
+public class IntakeReceipt {
+    private final String intakeId;
+
+    public IntakeReceipt(String intakeId) {
+        this.intakeId = intakeId;
+    }
+
+    public String getIntakeId() {
+        return intakeId;
+    }
+}
@@ -0,0 +1,28 @@
+package ar.com.plug.examen.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Revenue accumulated by a seller or a product inside a {@link LeaderboardWindow}.
+ */
+public class LeaderboardEntry {
+    private final Long id;
+    private final long revenueMinor;
+
+    public LeaderboardEntry(Long id, long revenueMinor) {
+        this.id = id;
+        this.revenueMinor = revenueMinor;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getRevenueMinor() {
+        return revenueMinor;
+    }
+
+    public BigDecimal getRevenue() {
+        return BigDecimal.valueOf(revenueMinor, 2);
+    }
+}
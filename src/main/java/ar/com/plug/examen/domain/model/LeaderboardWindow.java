@@ -0,0 +1,39 @@
+package ar.com.plug.examen.domain.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Calendar windows over which sales are ranked.
+ */
+public enum LeaderboardWindow {
+    TODAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * @param at any instant inside the window
+     * @return the inclusive start of the window containing {@code at}
+     */
+    public LocalDateTime startOf(LocalDateTime at) {
+        LocalDateTime day = at.truncatedTo(ChronoUnit.DAYS);
+        switch (this) {
+            case WEEK:
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return day.withDayOfMonth(1);
+            default:
+                return day;
+        }
+    }
+
+    public static LeaderboardWindow fromValue(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown leaderboard window: " + value);
+        }
+    }
+}
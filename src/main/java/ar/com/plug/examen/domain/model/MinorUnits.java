@@ -0,0 +1,19 @@
+package ar.com.plug.examen.domain.model;
+
+/**
+ * Conversions between decimal amounts and fixed-point minor units (cents).
+ */
+public final class MinorUnits {
+    private static final int SCALE = 100;
+
+    private MinorUnits() {
+    }
+
+    public static long of(Double amount) {
+        return amount == null ? 0L : Math.round(amount * SCALE);
+    }
+
+    public static long lineTotal(Double unitPrice, Integer quantity) {
+        return quantity == null ? 0L : of(unitPrice) * quantity;
+    }
+}
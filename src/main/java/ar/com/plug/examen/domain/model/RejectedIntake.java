@@ -0,0 +1,63 @@
+package ar.com.plug.examen.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A record of the durable intake that can never be applied, such as one naming an unknown
+ * product or asking for more than the stock. It is kept with its original payload, so the
+ * intake id resolves to a final answer instead of looking pending forever.
+ */
+@Entity
+public class RejectedIntake {
+    public static final int MAX_REASON_LENGTH = 1000;
+
+    @Id
+    @Column(length = 64)
+    private String intakeId;
+
+    @Column(length = MAX_REASON_LENGTH)
+    private String reason;
+
+    @Lob
+    @JsonIgnore
+    private byte[] payload;
+
+    private LocalDateTime rejectedAt;
+
+    // Getters y setters
+
+    public String getIntakeId() {
+        return intakeId;
+    }
+
+    public void setIntakeId(String intakeId) {
+        this.intakeId = intakeId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getRejectedAt() {
+        return rejectedAt;
+    }
+
+    public void setRejectedAt(LocalDateTime rejectedAt) {
+        this.rejectedAt = rejectedAt;
+    }
+}
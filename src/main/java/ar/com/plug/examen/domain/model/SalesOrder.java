@@ -0,0 +1,88 @@
+package ar.com.plug.examen.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A basket of products bought together, saved with all its lines in one database
+ * transaction. Ids come from a table generator rather than IDENTITY so Hibernate can
+ * assign them up front and send the line inserts as a JDBC batch.
+ */
+@Entity
+@Table(name = "sales_order")
+public class SalesOrder {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "sales_order_ids")
+    @TableGenerator(name = "sales_order_ids", table = "id_generator", pkColumnValue = "sales_order", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne
+    private Client client;
+
+    @ManyToOne
+    private Seller seller;
+
+    private LocalDateTime date;
+
+    // Sum of the line totals in minor units
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long totalMinor;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    private List<SalesOrderLine> lines = new ArrayList<>();
+
+    // Getters y setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    public void setClient(Client client) {
+        this.client = client;
+    }
+
+    public Seller getSeller() {
+        return seller;
+    }
+
+    public void setSeller(Seller seller) {
+        this.seller = seller;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    public Long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public void setTotalMinor(Long totalMinor) {
+        this.totalMinor = totalMinor;
+    }
+
+    public List<SalesOrderLine> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<SalesOrderLine> lines) {
+        this.lines = lines;
+    }
+}
@@ -0,0 +1,85 @@
+package ar.com.plug.examen.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.persistence.*;
+
+/**
+ * One product of a {@link SalesOrder}, with its price copied at creation like a
+ * {@link Transaction}.
+ */
+@Entity
+@Table(name = "sales_order_line", indexes = @Index(name = "idx_sales_order_line_order", columnList = "order_id"))
+public class SalesOrderLine {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "sales_order_line_ids")
+    @TableGenerator(name = "sales_order_line_ids", table = "id_generator", pkColumnValue = "sales_order_line",
+            allocationSize = 500)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JsonIgnore
+    private SalesOrder order;
+
+    @ManyToOne
+    private Product product;
+
+    private Integer quantity;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long unitPriceMinor;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long totalMinor;
+
+    // Getters y setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public SalesOrder getOrder() {
+        return order;
+    }
+
+    public void setOrder(SalesOrder order) {
+        this.order = order;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Long getUnitPriceMinor() {
+        return unitPriceMinor;
+    }
+
+    public void setUnitPriceMinor(Long unitPriceMinor) {
+        this.unitPriceMinor = unitPriceMinor;
+    }
+
+    public Long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public void setTotalMinor(Long totalMinor) {
+        this.totalMinor = totalMinor;
+    }
+}
@@ -1,8 +1,14 @@
 package ar.com.plug.examen.domain.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "seller", uniqueConstraints = @UniqueConstraint(name = "uk_seller_email", columnNames = "email"))
 public class Seller {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
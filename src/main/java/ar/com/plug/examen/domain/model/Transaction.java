@@ -1,9 +1,17 @@
 package ar.com.plug.examen.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // Covers the client purchase history query: filter by client, order by date and
+        // read the projected columns straight from the index.
+        @Index(name = "idx_transaction_client_date",
+                columnList = "client_id, date DESC, quantity, approved, product_id, seller_id")
+})
 public class Transaction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +30,20 @@ public class Transaction {
     private LocalDateTime date;
     private Boolean approved;
 
+    // Product price and line total in minor units, copied when the transaction is created so
+    // revenue is read from this table alone and later price changes do not rewrite history
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long unitPriceMinor;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long totalMinor;
+
+    // Set when the transaction came through the write-ahead log intake; unique so a record
+    // replayed after a crash is never applied twice
+    @Column(unique = true, length = 64)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String intakeId;
+
     // Getters y setters
 
     public Long getId() {
@@ -79,4 +101,28 @@ public class Transaction {
     public void setSeller(Seller seller) {
         this.seller = seller;
     }
+
+    public Long getUnitPriceMinor() {
+        return unitPriceMinor;
+    }
+
+    public void setUnitPriceMinor(Long unitPriceMinor) {
+        this.unitPriceMinor = unitPriceMinor;
+    }
+
+    public Long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public void setTotalMinor(Long totalMinor) {
+        this.totalMinor = totalMinor;
+    }
+
+    public String getIntakeId() {
+        return intakeId;
+    }
+
+    public void setIntakeId(String intakeId) {
+        this.intakeId = intakeId;
+    }
 }
@@ -0,0 +1,51 @@
+package ar.com.plug.examen.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight, read-only view of a {@link Transaction} used for purchase history listings.
+ * It only carries the foreign key ids of the related entities so that no {@link Product}
+ * or {@link Seller} graph has to be loaded.
+ */
+public class TransactionSummary {
+    private final Long id;
+    private final Long productId;
+    private final Long sellerId;
+    private final Integer quantity;
+    private final LocalDateTime date;
+    private final Boolean approved;
+
+    public TransactionSummary(Long id, Long productId, Long sellerId, Integer quantity,
+                              LocalDateTime date, Boolean approved) {
+        this.id = id;
+        this.productId = productId;
+        this.sellerId = sellerId;
+        this.quantity = quantity;
+        this.date = date;
+        this.approved = approved;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getSellerId() {
+        return sellerId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public Boolean getApproved() {
+        return approved;
+    }
+}
@@ -0,0 +1,27 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.CatalogChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    List<CatalogChange> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select coalesce(max(c.id), 0) from CatalogChange c")
+    long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("delete from CatalogChange c where c.changedAt < :before")
+    int deleteChangedBefore(@Param("before") LocalDateTime before);
+}
@@ -2,8 +2,25 @@ package ar.com.plug.examen.domain.repository;
 
 import ar.com.plug.examen.domain.model.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, ClientRepositoryCustom {
+
+    Optional<Client> findByEmail(String email);
+
+    List<Client> findByEmailIn(Collection<String> emails);
+
+    /**
+     * Served from the query cache; invalidated whenever a {@code Client} is written.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Client> findAll();
 }
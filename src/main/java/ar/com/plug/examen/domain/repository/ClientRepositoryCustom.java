@@ -0,0 +1,17 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.Client;
+
+import java.util.List;
+
+public interface ClientRepositoryCustom {
+
+    /**
+     * Inserts the clients whose email is not stored yet and updates the name of the others,
+     * in a single statement. The given instances are not modified.
+     *
+     * @param clients clients with distinct, non-null emails
+     * @return the number of rows affected, as reported by the database
+     */
+    int upsertByEmail(List<Client> clients);
+}
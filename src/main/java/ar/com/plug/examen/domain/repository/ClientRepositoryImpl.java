@@ -0,0 +1,28 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.Client;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fragment behind {@link ClientRepositoryCustom}, picked up by Spring Data by its name.
+ */
+public class ClientRepositoryImpl implements ClientRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int upsertByEmail(List<Client> clients) {
+        List<String[]> rows = new ArrayList<>(clients.size());
+        for (Client client : clients) {
+            rows.add(new String[]{client.getEmail(), client.getName()});
+        }
+        return UpsertByEmailStatement.execute(entityManager, Client.class, "client", rows);
+    }
+}
@@ -0,0 +1,79 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.BatchLookup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Loads entities for a list of ids with as few queries as possible: ids whose entity is in
+ * the second-level cache are read from it, and the rest are fetched with one
+ * {@code findAllById} query per {@code batch-lookup.chunk-size} ids.
+ */
+@Component
+public class EntityBatchLoader {
+
+    // Absent with the in-memory repositories, which need no batching
+    @Autowired(required = false)
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${batch-lookup.max-ids:1000}")
+    private int maxIds = 1000;
+
+    @Value("${batch-lookup.chunk-size:500}")
+    private int chunkSize = 500;
+
+    /**
+     * @param ids the ids to load; repeated ids are returned once
+     * @return the entities found in the order of {@code ids}, and the ids not found
+     */
+    public <T> BatchLookup<T> load(JpaRepository<T, Long> repository, Class<T> type, Function<T, Long> idOf,
+                                   List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > maxIds) {
+            throw new IllegalArgumentException("Between 1 and " + maxIds + " ids are required");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.contains(null)) {
+            throw new IllegalArgumentException("Ids must not be null");
+        }
+
+        Map<Long, T> found = new HashMap<>();
+        List<Long> toQuery = new ArrayList<>();
+        for (Long id : distinct) {
+            if (entityManagerFactory != null && entityManagerFactory.getCache().contains(type, id)) {
+                // Resolved from the second-level cache without a query
+                repository.findById(id).ifPresent(entity -> found.put(id, entity));
+            } else {
+                toQuery.add(id);
+            }
+        }
+        for (int from = 0; from < toQuery.size(); from += chunkSize) {
+            List<Long> chunk = toQuery.subList(from, Math.min(toQuery.size(), from + chunkSize));
+            for (T entity : repository.findAllById(chunk)) {
+                found.put(idOf.apply(entity), entity);
+            }
+        }
+
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinct) {
+            T entity = found.get(id);
+            if (entity != null) {
+                items.add(entity);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchLookup<>(items, missingIds);
+    }
+}
@@ -0,0 +1,64 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String>,
+        IdempotencyRecordRepositoryCustom {
+
+    Optional<IdempotencyRecord> findByIdempotencyKeyAndExpiresAtAfter(String idempotencyKey, LocalDateTime now);
+
+    /**
+     * Stores the response of a pending record still held by {@code owner} and marks it completed.
+     *
+     * @return the number of records updated
+     */
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.responseBody = :responseBody, "
+            + "r.status = ar.com.plug.examen.domain.model.IdempotencyStatus.COMPLETED "
+            + "where r.idempotencyKey = :idempotencyKey and r.owner = :owner "
+            + "and r.status = ar.com.plug.examen.domain.model.IdempotencyStatus.PENDING")
+    int complete(@Param("idempotencyKey") String idempotencyKey, @Param("owner") String owner,
+                 @Param("responseBody") String responseBody);
+
+    /**
+     * Deletes a pending record still held by {@code owner}, so the key can be used again.
+     *
+     * @return the number of records deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :idempotencyKey and r.owner = :owner "
+            + "and r.status = ar.com.plug.examen.domain.model.IdempotencyStatus.PENDING")
+    int deletePending(@Param("idempotencyKey") String idempotencyKey, @Param("owner") String owner);
+
+    /**
+     * Hands a pending record whose lease ran out at {@code now} to a new owner. Of concurrent
+     * callers only one sees the old lease and updates the row.
+     *
+     * @return the number of records updated
+     */
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.owner = :owner, r.leaseExpiresAt = :leaseExpiresAt "
+            + "where r.idempotencyKey = :idempotencyKey "
+            + "and r.status = ar.com.plug.examen.domain.model.IdempotencyStatus.PENDING "
+            + "and (r.leaseExpiresAt is null or r.leaseExpiresAt <= :now)")
+    int takeOver(@Param("idempotencyKey") String idempotencyKey, @Param("owner") String owner,
+                 @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,15 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.IdempotencyRecord;
+
+public interface IdempotencyRecordRepositoryCustom {
+
+    /**
+     * Inserts the record as a new row; unlike {@code save}, never updates an existing one.
+     *
+     * @param record the record to insert
+     * @throws org.springframework.dao.DataIntegrityViolationException if a row with the same
+     *         key already exists
+     */
+    void insert(IdempotencyRecord record);
+}
@@ -0,0 +1,24 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.IdempotencyRecord;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+/**
+ * Fragment behind {@link IdempotencyRecordRepositoryCustom}, picked up by Spring Data by its name.
+ */
+public class IdempotencyRecordRepositoryImpl implements IdempotencyRecordRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void insert(IdempotencyRecord record) {
+        entityManager.persist(record);
+        // Surface a duplicate key here, translated by the repository proxy
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,20 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.RejectedIntake;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RejectedIntakeRepository extends JpaRepository<RejectedIntake, String> {
+
+    /**
+     * The subset of {@code intakeIds} that has already been rejected.
+     */
+    @Query("select r.intakeId from RejectedIntake r where r.intakeId in :intakeIds")
+    List<String> findExistingIntakeIds(@Param("intakeIds") Collection<String> intakeIds);
+}
@@ -0,0 +1,19 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.SalesOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
+
+    /**
+     * The order with its lines fetched in the same query.
+     */
+    @Query("select distinct o from SalesOrder o left join fetch o.lines where o.id = :id")
+    Optional<SalesOrder> findWithLinesById(@Param("id") Long id);
+}
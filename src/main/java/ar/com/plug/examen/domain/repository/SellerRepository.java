@@ -2,6 +2,23 @@ package ar.com.plug.examen.domain.repository;
 
 import ar.com.plug.examen.domain.model.Seller;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface SellerRepository extends JpaRepository<Seller, Long> {
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SellerRepository extends JpaRepository<Seller, Long>, SellerRepositoryCustom {
+
+    Optional<Seller> findByEmail(String email);
+
+    List<Seller> findByEmailIn(Collection<String> emails);
+
+    /**
+     * Served from the query cache; invalidated whenever a {@code Seller} is written.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Seller> findAll();
 }
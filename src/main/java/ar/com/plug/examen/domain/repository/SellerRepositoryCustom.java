@@ -0,0 +1,17 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.Seller;
+
+import java.util.List;
+
+public interface SellerRepositoryCustom {
+
+    /**
+     * Inserts the sellers whose email is not stored yet and updates the name of the others,
+     * in a single statement. The given instances are not modified.
+     *
+     * @param sellers sellers with distinct, non-null emails
+     * @return the number of rows affected, as reported by the database
+     */
+    int upsertByEmail(List<Seller> sellers);
+}
@@ -0,0 +1,28 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.Seller;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fragment behind {@link SellerRepositoryCustom}, picked up by Spring Data by its name.
+ */
+public class SellerRepositoryImpl implements SellerRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int upsertByEmail(List<Seller> sellers) {
+        List<String[]> rows = new ArrayList<>(sellers.size());
+        for (Seller seller : sellers) {
+            rows.add(new String[]{seller.getEmail(), seller.getName()});
+        }
+        return UpsertByEmailStatement.execute(entityManager, Seller.class, "seller", rows);
+    }
+}
@@ -1,9 +1,90 @@
 package ar.com.plug.examen.domain.repository;
 
 import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.model.TransactionSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    /**
+     * Purchase history of a client, newest first, backed by {@code idx_transaction_client_date}.
+     * Returns a {@link Slice} so no extra count query is issued per page.
+     */
+    @Query("select new ar.com.plug.examen.domain.model.TransactionSummary("
+            + "t.id, t.product.id, t.seller.id, t.quantity, t.date, t.approved) "
+            + "from Transaction t "
+            + "where t.client.id = :clientId and t.date >= :from and t.date < :to "
+            + "order by t.date desc, t.id desc")
+    Slice<TransactionSummary> findSummariesByClientId(@Param("clientId") Long clientId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to,
+                                                      Pageable pageable);
+
+    /**
+     * Revenue in minor units of approved transactions since {@code from}, as
+     * {@code [sellerId, revenueMinor]} rows, summed from the stored line totals.
+     */
+    @Query("select t.seller.id, sum(t.totalMinor) from Transaction t "
+            + "where t.approved = true and t.date >= :from group by t.seller.id")
+    List<Object[]> sumApprovedRevenueBySellerSince(@Param("from") LocalDateTime from);
+
+    /**
+     * Revenue in minor units of approved transactions since {@code from}, as
+     * {@code [productId, revenueMinor]} rows, summed from the stored line totals.
+     */
+    @Query("select t.product.id, sum(t.totalMinor) from Transaction t "
+            + "where t.approved = true and t.date >= :from group by t.product.id")
+    List<Object[]> sumApprovedRevenueByProductSince(@Param("from") LocalDateTime from);
+
+    /**
+     * Lowest and highest id of the transactions that have no line total yet, as a single
+     * {@code [minId, maxId]} row.
+     */
+    @Query("select min(t.id), max(t.id) from Transaction t where t.totalMinor is null")
+    List<Object[]> findUnpricedIdRange();
+
+    /**
+     * Copies the current product price and the line total onto the transactions with ids
+     * in {@code [fromId, toId]} that have none yet.
+     *
+     * @return the number of transactions updated
+     */
+    @Modifying
+    @Transactional
+    @Query("update Transaction t set "
+            + "t.unitPriceMinor = (select round(p.price * 100) from Product p where p.id = t.product.id), "
+            + "t.totalMinor = t.quantity * (select round(p.price * 100) from Product p where p.id = t.product.id) "
+            + "where t.totalMinor is null and t.id between :fromId and :toId")
+    int backfillPrices(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Marks a transaction approved unless it already is.
+     *
+     * @return 1 if this call approved it, 0 if it was approved already or does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("update Transaction t set t.approved = true where t.id = :id and (t.approved = false or t.approved is null)")
+    int approve(@Param("id") Long id);
+
+    Optional<Transaction> findByIntakeId(String intakeId);
+
+    /**
+     * The subset of {@code intakeIds} that has already been applied.
+     */
+    @Query("select t.intakeId from Transaction t where t.intakeId in :intakeIds")
+    List<String> findExistingIntakeIds(@Param("intakeIds") Collection<String> intakeIds);
 }
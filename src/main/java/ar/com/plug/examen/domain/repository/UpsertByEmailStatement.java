@@ -0,0 +1,61 @@
+package ar.com.plug.examen.domain.repository;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.List;
+
+/**
+ * Inserts {@code (email, name)} rows into a table with a unique index on {@code email},
+ * updating the name of the rows whose email already exists, in one statement per
+ * {@value #MAX_ROWS_PER_STATEMENT} rows: {@code INSERT ... ON DUPLICATE KEY UPDATE} on
+ * MySQL and {@code MERGE ... KEY (email)} on H2.
+ */
+final class UpsertByEmailStatement {
+    static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private UpsertByEmailStatement() {
+    }
+
+    /**
+     * @param rows {@code {email, name}} pairs with distinct emails
+     * @return the number of rows affected, as reported by the database
+     */
+    static int execute(EntityManager entityManager, Class<?> entityClass, String table, List<String[]> rows) {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        int affected = 0;
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<String[]> chunk = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+            Query query = entityManager.createNativeQuery(sql(dialect, table, chunk.size()));
+            int position = 1;
+            for (String[] row : chunk) {
+                query.setParameter(position++, row[0]);
+                query.setParameter(position++, row[1]);
+            }
+            // Evicts only this entity's cache region instead of the whole second-level cache
+            query.unwrap(NativeQuery.class).addSynchronizedEntityClass(entityClass);
+            affected += query.executeUpdate();
+        }
+        return affected;
+    }
+
+    private static String sql(Dialect dialect, String table, int rowCount) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < rowCount; i++) {
+            values.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+        }
+        if (dialect instanceof MySQLDialect) {
+            return "insert into " + table + " (email, name) values " + values + " on duplicate key update name = values(name)";
+        }
+        if (dialect instanceof H2Dialect) {
+            return "merge into " + table + " (email, name) key (email) values " + values;
+        }
+        throw new UnsupportedOperationException("Upsert by email is not supported on " + dialect);
+    }
+}
@@ -0,0 +1,306 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.support.ExampleMatcherAccessor;
+
+import javax.persistence.EntityNotFoundException;
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link JpaRepository} contract over an in-memory store, for running the web and service
+ * tiers without a database. Subclasses provide the storage. Entities are stored by reference,
+ * as a persistence context would hand them out.
+ *
+ * <p>Query by example scans every entity and follows the JPA implementation: the probe's
+ * non-collection properties are compared, associations by their own properties, with the
+ * matcher's null handling, string matching, ignore-case and value transformers.
+ *
+ * @param <T> the entity type
+ * @param <ID> the id type
+ */
+public abstract class AbstractInMemoryRepository<T, ID> implements JpaRepository<T, ID> {
+
+    protected abstract T load(ID id);
+
+    /**
+     * Stores the entity, assigning an id when it has none.
+     */
+    protected abstract T store(T entity);
+
+    protected abstract T evict(ID id);
+
+    protected abstract List<T> snapshot();
+
+    protected abstract void evictAll();
+
+    protected abstract ID idOf(T entity);
+
+    @Override
+    public <S extends T> S save(S entity) {
+        store(entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public void flush() {
+        // Nothing is buffered
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        return Optional.ofNullable(load(id));
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        return load(id) != null;
+    }
+
+    @Override
+    public T getOne(ID id) {
+        T entity = load(id);
+        if (entity == null) {
+            throw new EntityNotFoundException("Unable to find entity with id " + id);
+        }
+        return entity;
+    }
+
+    @Override
+    public List<T> findAll() {
+        return snapshot();
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        List<T> entities = snapshot();
+        if (sort.isSorted()) {
+            entities.sort(comparatorFor(sort));
+        }
+        return entities;
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        List<T> entities = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(entities);
+        }
+        int from = (int) Math.min(pageable.getOffset(), entities.size());
+        int to = Math.min(from + pageable.getPageSize(), entities.size());
+        return new PageImpl<>(new ArrayList<>(entities.subList(from, to)), pageable, entities.size());
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        List<T> found = new ArrayList<>();
+        for (ID id : ids) {
+            T entity = load(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return snapshot().size();
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        if (evict(id) == null) {
+            throw new EmptyResultDataAccessException(String.format("No entity with id %s exists!", id), 1);
+        }
+    }
+
+    @Override
+    public void delete(T entity) {
+        ID id = idOf(entity);
+        if (id != null) {
+            evict(id);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        for (T entity : entities) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        evictAll();
+    }
+
+    @Override
+    public void deleteInBatch(Iterable<T> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        evictAll();
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        List<S> found = findAll(example);
+        if (found.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, found.size());
+        }
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends T> List<S> findAll(Example<S> example) {
+        ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(example.getMatcher());
+        List<S> found = new ArrayList<>();
+        for (T entity : snapshot()) {
+            if (example.getProbeType().isInstance(entity)) {
+                List<Boolean> matches = new ArrayList<>();
+                collectMatches(example.getProbe(), entity, "", accessor, matches);
+                if (matches.isEmpty() || (example.getMatcher().isAllMatching()
+                        ? !matches.contains(false) : matches.contains(true))) {
+                    found.add((S) entity);
+                }
+            }
+        }
+        return found;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        List<S> found = findAll(example);
+        if (sort.isSorted()) {
+            found.sort((Comparator<S>) comparatorFor(sort));
+        }
+        return found;
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        List<S> found = findAll(example, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(found);
+        }
+        int from = (int) Math.min(pageable.getOffset(), found.size());
+        int to = Math.min(from + pageable.getPageSize(), found.size());
+        return new PageImpl<>(new ArrayList<>(found.subList(from, to)), pageable, found.size());
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        return findAll(example).size();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        return !findAll(example).isEmpty();
+    }
+
+    /**
+     * Adds one result per property the probe constrains, descending into associations; a
+     * missing association fails every property constrained below it.
+     */
+    private static void collectMatches(Object probe, Object candidate, String path, ExampleMatcherAccessor accessor,
+                                       List<Boolean> matches) {
+        BeanWrapper probeWrapper = new BeanWrapperImpl(probe);
+        BeanWrapper candidateWrapper = candidate == null ? null : new BeanWrapperImpl(candidate);
+        for (PropertyDescriptor descriptor : probeWrapper.getPropertyDescriptors()) {
+            String name = descriptor.getName();
+            String propertyPath = path.isEmpty() ? name : path + "." + name;
+            if (descriptor.getReadMethod() == null || descriptor.getWriteMethod() == null
+                    || accessor.isIgnoredPath(propertyPath)) {
+                continue;
+            }
+            Object expected = accessor.getValueTransformerForPath(propertyPath)
+                    .apply(Optional.ofNullable(probeWrapper.getPropertyValue(name))).orElse(null);
+            if (expected instanceof Collection || expected instanceof Map) {
+                continue;
+            }
+            Object actual = candidateWrapper == null ? null : candidateWrapper.getPropertyValue(name);
+            if (expected == null) {
+                if (accessor.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) {
+                    matches.add(actual == null);
+                }
+            } else if (expected instanceof String) {
+                matches.add(actual instanceof String && matchesString((String) expected, (String) actual,
+                        accessor.getStringMatcherForPath(propertyPath), accessor.isIgnoreCaseForPath(propertyPath)));
+            } else if (BeanUtils.isSimpleValueType(expected.getClass())) {
+                matches.add(expected.equals(actual));
+            } else {
+                collectMatches(expected, actual, propertyPath, accessor, matches);
+            }
+        }
+    }
+
+    private static boolean matchesString(String expected, String actual, ExampleMatcher.StringMatcher stringMatcher,
+                                         boolean ignoreCase) {
+        if (ignoreCase) {
+            expected = expected.toLowerCase(Locale.ROOT);
+            actual = actual.toLowerCase(Locale.ROOT);
+        }
+        switch (stringMatcher) {
+            case DEFAULT:
+            case EXACT:
+                return actual.equals(expected);
+            case STARTING:
+                return actual.startsWith(expected);
+            case ENDING:
+                return actual.endsWith(expected);
+            case CONTAINING:
+                return actual.contains(expected);
+            default:
+                // As in the JPA implementation
+                throw new IllegalArgumentException("Unsupported StringMatcher " + stringMatcher);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparator<T> comparatorFor(Sort sort) {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<T> byProperty = Comparator.comparing(
+                    entity -> (Comparable) new BeanWrapperImpl(entity).getPropertyValue(order.getProperty()),
+                    Comparator.nullsLast(Comparator.<Comparable>naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+}
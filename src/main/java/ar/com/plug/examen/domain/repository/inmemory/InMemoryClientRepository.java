@@ -0,0 +1,39 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.repository.ClientRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryClientRepository extends InMemoryEmailRepository<Client> implements ClientRepository {
+
+    @Override
+    protected Long idOf(Client entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void assignId(Client entity, Long id) {
+        entity.setId(id);
+    }
+
+    @Override
+    protected String emailOf(Client entity) {
+        return entity.getEmail();
+    }
+
+    @Override
+    protected Client copyOf(Client entity) {
+        Client copy = new Client();
+        copy.setEmail(entity.getEmail());
+        copy.setName(entity.getName());
+        return copy;
+    }
+
+    @Override
+    protected void updateFrom(Client source, Client target) {
+        target.setName(source.getName());
+    }
+}
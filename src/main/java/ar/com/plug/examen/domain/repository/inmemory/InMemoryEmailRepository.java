@@ -0,0 +1,96 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link InMemoryJpaRepository} for entities with a unique email, kept in a hash index so
+ * that lookups and upserts by email do not scan. Storing an entity whose email belongs to
+ * another one fails like the database's unique constraint would.
+ *
+ * @param <T> the entity type
+ */
+public abstract class InMemoryEmailRepository<T> extends InMemoryJpaRepository<T> {
+    private final Map<String, Long> idsByEmail = new HashMap<>();
+    private final Map<Long, String> emailsById = new HashMap<>();
+
+    protected abstract String emailOf(T entity);
+
+    /**
+     * Returns a new entity with the email and the other non-id fields of {@code entity}.
+     */
+    protected abstract T copyOf(T entity);
+
+    /**
+     * Copies the fields an upsert overwrites from {@code source} into {@code target}.
+     */
+    protected abstract void updateFrom(T source, T target);
+
+    @Override
+    protected synchronized T store(T entity) {
+        String email = emailOf(entity);
+        Long owner = email != null ? idsByEmail.get(email) : null;
+        if (owner != null && !owner.equals(idOf(entity))) {
+            throw new DataIntegrityViolationException("Duplicate email " + email);
+        }
+        T stored = super.store(entity);
+        // Entities are stored by reference, so the email may have changed since the last store
+        String previous = email != null ? emailsById.put(idOf(stored), email) : emailsById.remove(idOf(stored));
+        if (previous != null && !previous.equals(email)) {
+            idsByEmail.remove(previous);
+        }
+        if (email != null) {
+            idsByEmail.put(email, idOf(stored));
+        }
+        return stored;
+    }
+
+    @Override
+    protected synchronized T evict(Long id) {
+        String email = emailsById.remove(id);
+        if (email != null) {
+            idsByEmail.remove(email);
+        }
+        return super.evict(id);
+    }
+
+    @Override
+    protected synchronized void evictAll() {
+        idsByEmail.clear();
+        emailsById.clear();
+        super.evictAll();
+    }
+
+    public synchronized Optional<T> findByEmail(String email) {
+        return Optional.ofNullable(load(idsByEmail.get(email)));
+    }
+
+    public synchronized List<T> findByEmailIn(Collection<String> emails) {
+        List<T> found = new ArrayList<>();
+        for (String email : emails) {
+            T entity = load(idsByEmail.get(email));
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+
+    public synchronized int upsertByEmail(List<T> entities) {
+        for (T entity : entities) {
+            T existing = load(idsByEmail.get(emailOf(entity)));
+            if (existing != null) {
+                updateFrom(entity, existing);
+            } else {
+                store(copyOf(entity));
+            }
+        }
+        return entities.size();
+    }
+}
@@ -0,0 +1,125 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import ar.com.plug.examen.domain.model.IdempotencyRecord;
+import ar.com.plug.examen.domain.model.IdempotencyStatus;
+import ar.com.plug.examen.domain.repository.IdempotencyRecordRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryIdempotencyRecordRepository extends AbstractInMemoryRepository<IdempotencyRecord, String>
+        implements IdempotencyRecordRepository {
+    private final ConcurrentMap<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<IdempotencyRecord> findByIdempotencyKeyAndExpiresAtAfter(String idempotencyKey, LocalDateTime now) {
+        IdempotencyRecord record = load(idempotencyKey);
+        return record != null && record.getExpiresAt().isAfter(now) ? Optional.of(record) : Optional.empty();
+    }
+
+    @Override
+    public void insert(IdempotencyRecord record) {
+        if (records.putIfAbsent(record.getIdempotencyKey(), record) != null) {
+            throw new DataIntegrityViolationException("Duplicate idempotency key " + record.getIdempotencyKey());
+        }
+    }
+
+    @Override
+    public int complete(String idempotencyKey, String owner, String responseBody) {
+        IdempotencyRecord record = load(idempotencyKey);
+        if (record == null) {
+            return 0;
+        }
+        synchronized (record) {
+            if (!isHeldBy(record, owner)) {
+                return 0;
+            }
+            record.setResponseBody(responseBody);
+            record.setStatus(IdempotencyStatus.COMPLETED);
+            return 1;
+        }
+    }
+
+    @Override
+    public int deletePending(String idempotencyKey, String owner) {
+        IdempotencyRecord record = load(idempotencyKey);
+        if (record == null) {
+            return 0;
+        }
+        synchronized (record) {
+            return isHeldBy(record, owner) && records.remove(idempotencyKey, record) ? 1 : 0;
+        }
+    }
+
+    @Override
+    public int takeOver(String idempotencyKey, String owner, LocalDateTime leaseExpiresAt, LocalDateTime now) {
+        IdempotencyRecord record = load(idempotencyKey);
+        if (record == null) {
+            return 0;
+        }
+        synchronized (record) {
+            if (record.getStatus() != IdempotencyStatus.PENDING
+                    || record.getLeaseExpiresAt() != null && record.getLeaseExpiresAt().isAfter(now)) {
+                return 0;
+            }
+            record.setOwner(owner);
+            record.setLeaseExpiresAt(leaseExpiresAt);
+            return 1;
+        }
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        int deleted = 0;
+        for (IdempotencyRecord record : records.values()) {
+            if (!record.getExpiresAt().isAfter(now) && records.remove(record.getIdempotencyKey(), record)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private static boolean isHeldBy(IdempotencyRecord record, String owner) {
+        return record.getStatus() == IdempotencyStatus.PENDING && owner.equals(record.getOwner());
+    }
+
+    @Override
+    protected IdempotencyRecord load(String id) {
+        return id == null ? null : records.get(id);
+    }
+
+    @Override
+    protected IdempotencyRecord store(IdempotencyRecord entity) {
+        records.put(entity.getIdempotencyKey(), entity);
+        return entity;
+    }
+
+    @Override
+    protected IdempotencyRecord evict(String id) {
+        return id == null ? null : records.remove(id);
+    }
+
+    @Override
+    protected List<IdempotencyRecord> snapshot() {
+        return new ArrayList<>(records.values());
+    }
+
+    @Override
+    protected void evictAll() {
+        records.clear();
+    }
+
+    @Override
+    protected String idOf(IdempotencyRecord entity) {
+        return entity.getIdempotencyKey();
+    }
+}
@@ -0,0 +1,59 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory repository for entities with {@code Long} identity ids, stored in a
+ * {@link LongObjectMap} and numbered by a lock-free sequence. {@link #findAll()} returns
+ * entities in id order, like a primary key scan.
+ *
+ * @param <T> the entity type
+ */
+public abstract class InMemoryJpaRepository<T> extends AbstractInMemoryRepository<T, Long> {
+    private final LongObjectMap<T> entities = new LongObjectMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    protected abstract void assignId(T entity, Long id);
+
+    @Override
+    protected T load(Long id) {
+        return id == null ? null : entities.get(id);
+    }
+
+    @Override
+    protected T store(T entity) {
+        Long id = idOf(entity);
+        if (id == null) {
+            id = sequence.incrementAndGet();
+            assignId(entity, id);
+        } else {
+            sequence.accumulateAndGet(id, Math::max);
+        }
+        entities.put(id, entity);
+        return entity;
+    }
+
+    @Override
+    protected T evict(Long id) {
+        return id == null ? null : entities.remove(id);
+    }
+
+    @Override
+    protected List<T> snapshot() {
+        List<T> values = entities.values();
+        values.sort(Comparator.comparing(this::idOf));
+        return values;
+    }
+
+    @Override
+    protected void evictAll() {
+        entities.clear();
+    }
+
+    @Override
+    public long count() {
+        return entities.size();
+    }
+}
@@ -0,0 +1,67 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryProductRepository extends InMemoryJpaRepository<Product> implements ProductRepository {
+    private final ConcurrentMap<Long, ReentrantLock> rowLocks = new ConcurrentHashMap<>();
+
+    @Override
+    protected Long idOf(Product entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void assignId(Product entity, Long id) {
+        entity.setId(id);
+    }
+
+    @Override
+    public List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable) {
+        List<Product> page = new ArrayList<>(pageable.getPageSize());
+        for (Product product : findAll()) {
+            if (page.size() == pageable.getPageSize()) {
+                break;
+            }
+            if (product.getId() > id) {
+                page.add(product);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Emulates a row lock: the lock is held until the surrounding transaction completes, or
+     * released right away when there is none.
+     */
+    @Override
+    public Optional<Product> findByIdForUpdate(Long id) {
+        ReentrantLock lock = rowLocks.computeIfAbsent(id, key -> new ReentrantLock());
+        lock.lock();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+        } else {
+            lock.unlock();
+        }
+        return findById(id);
+    }
+}
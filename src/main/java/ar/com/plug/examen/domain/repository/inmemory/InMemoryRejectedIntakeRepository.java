@@ -0,0 +1,61 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import ar.com.plug.examen.domain.model.RejectedIntake;
+import ar.com.plug.examen.domain.repository.RejectedIntakeRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryRejectedIntakeRepository extends AbstractInMemoryRepository<RejectedIntake, String>
+        implements RejectedIntakeRepository {
+    private final ConcurrentMap<String, RejectedIntake> rejected = new ConcurrentHashMap<>();
+
+    @Override
+    public List<String> findExistingIntakeIds(Collection<String> intakeIds) {
+        List<String> existing = new ArrayList<>();
+        for (String intakeId : intakeIds) {
+            if (rejected.containsKey(intakeId)) {
+                existing.add(intakeId);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    protected RejectedIntake load(String id) {
+        return id == null ? null : rejected.get(id);
+    }
+
+    @Override
+    protected RejectedIntake store(RejectedIntake entity) {
+        rejected.put(entity.getIntakeId(), entity);
+        return entity;
+    }
+
+    @Override
+    protected RejectedIntake evict(String id) {
+        return id == null ? null : rejected.remove(id);
+    }
+
+    @Override
+    protected List<RejectedIntake> snapshot() {
+        return new ArrayList<>(rejected.values());
+    }
+
+    @Override
+    protected void evictAll() {
+        rejected.clear();
+    }
+
+    @Override
+    protected String idOf(RejectedIntake entity) {
+        return entity.getIntakeId();
+    }
+}
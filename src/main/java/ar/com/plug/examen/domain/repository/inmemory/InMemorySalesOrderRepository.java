@@ -0,0 +1,74 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import ar.com.plug.examen.domain.model.SalesOrder;
+import ar.com.plug.examen.domain.model.SalesOrderLine;
+import ar.com.plug.examen.domain.repository.ClientRepository;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.SalesOrderRepository;
+import ar.com.plug.examen.domain.repository.SellerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stores orders with their lines, resolving references like
+ * {@link InMemoryTransactionRepository} and numbering the lines as the cascade would.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemorySalesOrderRepository extends InMemoryJpaRepository<SalesOrder> implements SalesOrderRepository {
+    private final AtomicLong lineSequence = new AtomicLong();
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Override
+    protected Long idOf(SalesOrder entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void assignId(SalesOrder entity, Long id) {
+        entity.setId(id);
+    }
+
+    @Override
+    protected SalesOrder store(SalesOrder entity) {
+        if (entity.getClient() != null) {
+            entity.setClient(resolve(clientRepository, "client", entity.getClient().getId()));
+        }
+        if (entity.getSeller() != null) {
+            entity.setSeller(resolve(sellerRepository, "seller", entity.getSeller().getId()));
+        }
+        for (SalesOrderLine line : entity.getLines()) {
+            if (line.getProduct() != null) {
+                line.setProduct(resolve(productRepository, "product", line.getProduct().getId()));
+            }
+            if (line.getId() == null) {
+                line.setId(lineSequence.incrementAndGet());
+            }
+        }
+        return super.store(entity);
+    }
+
+    @Override
+    public Optional<SalesOrder> findWithLinesById(Long id) {
+        return findById(id);
+    }
+
+    private static <E> E resolve(JpaRepository<E, Long> repository, String type, Long id) {
+        return (id == null ? Optional.<E>empty() : repository.findById(id)).orElseThrow(() ->
+                new DataIntegrityViolationException("Order references unknown " + type + " " + id));
+    }
+}
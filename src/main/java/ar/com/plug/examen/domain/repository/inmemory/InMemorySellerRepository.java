@@ -0,0 +1,39 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.repository.SellerRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("in-memory")
+public class InMemorySellerRepository extends InMemoryEmailRepository<Seller> implements SellerRepository {
+
+    @Override
+    protected Long idOf(Seller entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void assignId(Seller entity, Long id) {
+        entity.setId(id);
+    }
+
+    @Override
+    protected String emailOf(Seller entity) {
+        return entity.getEmail();
+    }
+
+    @Override
+    protected Seller copyOf(Seller entity) {
+        Seller copy = new Seller();
+        copy.setEmail(entity.getEmail());
+        copy.setName(entity.getName());
+        return copy;
+    }
+
+    @Override
+    protected void updateFrom(Seller source, Seller target) {
+        target.setName(source.getName());
+    }
+}
@@ -0,0 +1,203 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.MinorUnits;
+import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.model.TransactionSummary;
+import ar.com.plug.examen.domain.repository.ClientRepository;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.SellerRepository;
+import ar.com.plug.examen.domain.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the foreign keys honest: references are resolved against the other in-memory stores
+ * on save, so a transaction holds the same instances a persistence context would return and
+ * an unknown id fails like a constraint violation.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryTransactionRepository extends InMemoryJpaRepository<Transaction> implements TransactionRepository {
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator
+            .comparing(Transaction::getDate, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(Transaction::getId, Comparator.reverseOrder());
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Override
+    protected Long idOf(Transaction entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void assignId(Transaction entity, Long id) {
+        entity.setId(id);
+    }
+
+    @Override
+    protected Transaction store(Transaction entity) {
+        if (entity.getProduct() != null) {
+            entity.setProduct(resolve(productRepository, "product", entity.getProduct().getId()));
+        }
+        if (entity.getClient() != null) {
+            entity.setClient(resolve(clientRepository, "client", entity.getClient().getId()));
+        }
+        if (entity.getSeller() != null) {
+            entity.setSeller(resolve(sellerRepository, "seller", entity.getSeller().getId()));
+        }
+        return super.store(entity);
+    }
+
+    @Override
+    public Slice<TransactionSummary> findSummariesByClientId(Long clientId, LocalDateTime from, LocalDateTime to,
+                                                             Pageable pageable) {
+        List<Transaction> matching = new ArrayList<>();
+        for (Transaction transaction : findAll()) {
+            Client client = transaction.getClient();
+            LocalDateTime date = transaction.getDate();
+            if (client != null && clientId.equals(client.getId())
+                    && date != null && !date.isBefore(from) && date.isBefore(to)) {
+                matching.add(transaction);
+            }
+        }
+        matching.sort(NEWEST_FIRST);
+
+        int offset = (int) Math.min(pageable.getOffset(), matching.size());
+        int end = Math.min(offset + pageable.getPageSize(), matching.size());
+        List<TransactionSummary> content = new ArrayList<>(end - offset);
+        for (Transaction t : matching.subList(offset, end)) {
+            content.add(new TransactionSummary(t.getId(), productIdOf(t), sellerIdOf(t),
+                    t.getQuantity(), t.getDate(), t.getApproved()));
+        }
+        return new SliceImpl<>(content, pageable, end < matching.size());
+    }
+
+    @Override
+    public List<Object[]> sumApprovedRevenueBySellerSince(LocalDateTime from) {
+        return sumApprovedRevenueSince(from, InMemoryTransactionRepository::sellerIdOf);
+    }
+
+    @Override
+    public List<Object[]> sumApprovedRevenueByProductSince(LocalDateTime from) {
+        return sumApprovedRevenueSince(from, InMemoryTransactionRepository::productIdOf);
+    }
+
+    private List<Object[]> sumApprovedRevenueSince(LocalDateTime from, Function<Transaction, Long> groupBy) {
+        Map<Long, Long> revenue = new HashMap<>();
+        for (Transaction t : findAll()) {
+            if (Boolean.TRUE.equals(t.getApproved()) && t.getDate() != null && !t.getDate().isBefore(from)
+                    && t.getTotalMinor() != null) {
+                revenue.merge(groupBy.apply(t), t.getTotalMinor(), Long::sum);
+            }
+        }
+        return revenue.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Object[]> findUnpricedIdRange() {
+        Long min = null;
+        Long max = null;
+        for (Transaction t : findAll()) {
+            if (t.getTotalMinor() == null) {
+                min = min == null ? t.getId() : Math.min(min, t.getId());
+                max = max == null ? t.getId() : Math.max(max, t.getId());
+            }
+        }
+        return Collections.singletonList(new Object[]{min, max});
+    }
+
+    @Override
+    public int backfillPrices(Long fromId, Long toId) {
+        int updated = 0;
+        for (Transaction t : findAll()) {
+            if (t.getTotalMinor() != null || t.getId() < fromId || t.getId() > toId) {
+                continue;
+            }
+            Double price = t.getProduct() != null ? t.getProduct().getPrice() : null;
+            t.setUnitPriceMinor(price != null ? MinorUnits.of(price) : null);
+            t.setTotalMinor(price != null && t.getQuantity() != null ? MinorUnits.lineTotal(price, t.getQuantity()) : null);
+            updated++;
+        }
+        return updated;
+    }
+
+    @Override
+    public int approve(Long id) {
+        Transaction transaction = id == null ? null : load(id);
+        if (transaction == null) {
+            return 0;
+        }
+        synchronized (transaction) {
+            if (Boolean.TRUE.equals(transaction.getApproved())) {
+                return 0;
+            }
+            transaction.setApproved(true);
+            return 1;
+        }
+    }
+
+    @Override
+    public Optional<Transaction> findByIntakeId(String intakeId) {
+        for (Transaction transaction : findAll()) {
+            if (intakeId.equals(transaction.getIntakeId())) {
+                return Optional.of(transaction);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<String> findExistingIntakeIds(Collection<String> intakeIds) {
+        Set<String> wanted = new HashSet<>(intakeIds);
+        List<String> existing = new ArrayList<>();
+        for (Transaction transaction : findAll()) {
+            if (transaction.getIntakeId() != null && wanted.contains(transaction.getIntakeId())) {
+                existing.add(transaction.getIntakeId());
+            }
+        }
+        return existing;
+    }
+
+    private static Long productIdOf(Transaction transaction) {
+        return transaction.getProduct() == null ? null : transaction.getProduct().getId();
+    }
+
+    private static Long sellerIdOf(Transaction transaction) {
+        return transaction.getSeller() == null ? null : transaction.getSeller().getId();
+    }
+
+    private static <E> E resolve(JpaRepository<E, Long> repository, String type, Long id) {
+        return (id == null ? Optional.<E>empty() : repository.findById(id)).orElseThrow(() ->
+                new DataIntegrityViolationException("Transaction references unknown " + type + " " + id));
+    }
+}
@@ -0,0 +1,256 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Concurrent map from primitive {@code long} keys to values. Keys are never boxed: each of
+ * the lock-striped segments is an open-addressing table with linear probing over a
+ * {@code long[]}, using backward-shift deletion so no tombstones accumulate.
+ *
+ * @param <V> the value type
+ */
+public final class LongObjectMap<V> {
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public LongObjectMap() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int hash = hash(key);
+        return (V) segmentFor(hash).get(key, hash);
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return the previous value, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int hash = hash(key);
+        return (V) segmentFor(hash).put(key, hash, value);
+    }
+
+    /**
+     * @return the removed value, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int hash = hash(key);
+        return (V) segmentFor(hash).remove(key, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return a point-in-time copy of the values, consistent per segment
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size());
+        for (Segment segment : segments) {
+            segment.copyValuesTo(values);
+        }
+        return values;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> (Integer.SIZE - SEGMENT_BITS)];
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Segment {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // Key 0 marks an empty slot, so a zero key is stored on the side
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        private Object zeroValue;
+        private int size;
+
+        Object get(long key, int hash) {
+            lock.readLock().lock();
+            try {
+                if (key == 0) {
+                    return zeroValue;
+                }
+                int mask = keys.length - 1;
+                for (int i = hash & mask; ; i = (i + 1) & mask) {
+                    long current = keys[i];
+                    if (current == key) {
+                        return values[i];
+                    }
+                    if (current == 0) {
+                        return null;
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Object put(long key, int hash, Object value) {
+            lock.writeLock().lock();
+            try {
+                if (key == 0) {
+                    Object previous = zeroValue;
+                    zeroValue = value;
+                    if (previous == null) {
+                        size++;
+                    }
+                    return previous;
+                }
+                int mask = keys.length - 1;
+                int i = hash & mask;
+                while (keys[i] != 0) {
+                    if (keys[i] == key) {
+                        Object previous = values[i];
+                        values[i] = value;
+                        return previous;
+                    }
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = value;
+                if (++size > keys.length * 3 / 4) {
+                    resize();
+                }
+                return null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Object remove(long key, int hash) {
+            lock.writeLock().lock();
+            try {
+                if (key == 0) {
+                    Object previous = zeroValue;
+                    if (previous != null) {
+                        zeroValue = null;
+                        size--;
+                    }
+                    return previous;
+                }
+                int mask = keys.length - 1;
+                int i = hash & mask;
+                while (keys[i] != key) {
+                    if (keys[i] == 0) {
+                        return null;
+                    }
+                    i = (i + 1) & mask;
+                }
+                Object previous = values[i];
+                shiftBack(i, mask);
+                size--;
+                return previous;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return size;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> void copyValuesTo(List<V> target) {
+            lock.readLock().lock();
+            try {
+                if (zeroValue != null) {
+                    target.add((V) zeroValue);
+                }
+                for (Object value : values) {
+                    if (value != null) {
+                        target.add((V) value);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void clear() {
+            lock.writeLock().lock();
+            try {
+                keys = new long[INITIAL_CAPACITY];
+                values = new Object[INITIAL_CAPACITY];
+                zeroValue = null;
+                size = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Empties slot {@code gap} and moves later entries of the probe run back into it
+         * when that brings them closer to their home slot.
+         */
+        private void shiftBack(int gap, int mask) {
+            keys[gap] = 0;
+            values[gap] = null;
+            for (int i = (gap + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                int home = hash(keys[i]) & mask;
+                if (((i - home) & mask) >= ((i - gap) & mask)) {
+                    keys[gap] = keys[i];
+                    values[gap] = values[i];
+                    keys[i] = 0;
+                    values[i] = null;
+                    gap = i;
+                }
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Object[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != 0) {
+                    int i = hash(oldKeys[j]) & mask;
+                    while (keys[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package ar.com.plug.examen.domain.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead index over short texts: a query matches the texts in which every query word
+ * is the start of some word, so {@code "lap pro"} finds {@code "Laptop Pro 14"}.
+ *
+ * <p>Every word is indexed by its edge n-grams, the prefixes of one up to
+ * {@value #MAX_GRAM_LENGTH} characters, keyed by a 64-bit hash. A query looks up one gram
+ * per word, so a longer query word narrows its list instead of adding more lists to
+ * intersect; candidates are then checked against their normalized text, which also rules
+ * out hash collisions and query words longer than the indexed prefixes.
+ *
+ * <p>Texts live in slots numbered in insertion order, so every posting list is already
+ * sorted and a query walks its shortest list galloping through the others. Updates and
+ * removals leave a dead slot behind; the index compacts itself once dead slots outnumber
+ * live ones.
+ *
+ * <p>Matches are ranked with texts starting with the query first, then by the share of the
+ * text covered by the query (shorter names rank higher), then by lower id. The cost of a
+ * query grows with its shortest posting list, so the results of broad queries are kept
+ * until the next write.
+ */
+public class NGramIndex {
+    static final int MAX_GRAM_LENGTH = 6;
+
+    private static final int COMPACT_MIN_DEAD = 1024;
+    private static final int CACHED_MIN_CANDIDATES = 10_000;
+    private static final int MAX_CACHED_RESULTS = 1024;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long[] HEAD_MASKS = {0L, 0xFFFFL << 32, 0xFFFFFFFFL << 16, 0xFFFFFFFFFFFFL};
+
+    // Rough 64-bit JVM sizes with compressed oops, used by estimatedBytes()
+    private static final int OBJECT_BYTES = 16;
+    private static final int MAP_ENTRY_BYTES = 32 + 16 + 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final BitSet dead = new BitSet();
+    // Results of broad queries, typically the first letters typed, dropped on every write
+    private final Map<String, List<Long>> cachedResults = new ConcurrentHashMap<>();
+    private long[] ids = new long[16];
+    private String[] texts = new String[16];
+    private int[] lengths = new int[16];
+    private long[] heads = new long[16];
+    private int slotCount;
+    private int deadCount;
+
+    /**
+     * Indexes {@code text} under {@code id}, replacing whatever was indexed for it before.
+     * A {@code null} or blank text just removes the id.
+     */
+    public void put(long id, String text) {
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            cachedResults.clear();
+            removeLocked(id);
+            if (!normalized.isEmpty()) {
+                addLocked(id, normalized);
+            }
+            if (deadCount >= COMPACT_MIN_DEAD && deadCount > slotCount - deadCount) {
+                compactLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        put(id, null);
+    }
+
+    /**
+     * Returns the ids of the best {@code limit} matches for {@code query}, best first.
+     */
+    public List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        String cacheKey = limit + ":" + normalized;
+        String[] words = normalized.split(" ");
+        lock.readLock().lock();
+        try {
+            List<Long> cached = cachedResults.get(cacheKey);
+            if (cached != null) {
+                return new ArrayList<>(cached);
+            }
+            Postings[] lists = new Postings[words.length];
+            for (int i = 0; i < words.length; i++) {
+                lists[i] = postings.get(gram(words[i], Math.min(words[i].length(), MAX_GRAM_LENGTH)));
+                if (lists[i] == null) {
+                    return new ArrayList<>();
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, Match.WORST_FIRST);
+            int[] cursors = new int[lists.length];
+            long queryHead = head(normalized);
+            long queryHeadMask = HEAD_MASKS[Math.min(normalized.length(), 3)];
+            Postings shortest = lists[0];
+            for (int p = 0; p < shortest.size; p++) {
+                int slot = shortest.slots[p];
+                if (dead.get(slot) || !seekAll(lists, cursors, slot)) {
+                    continue;
+                }
+                // Most matches of a broad query cannot make the top-K; rejecting them on an
+                // upper bound of the score avoids reading their text, which dominates the cost
+                double score = (double) normalized.length() / lengths[slot];
+                boolean maybePrefix = (heads[slot] & queryHeadMask) == queryHead;
+                if (best.size() == limit && !best.peek().isWorseThan(maybePrefix ? score + 1 : score, ids[slot])) {
+                    continue;
+                }
+                String text = texts[slot];
+                if (!startsWords(text, words)) {
+                    continue;
+                }
+                if (maybePrefix && text.startsWith(normalized)) {
+                    score += 1;
+                }
+                best.add(new Match(ids[slot], score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            Long[] ranked = new Long[best.size()];
+            for (int r = ranked.length - 1; r >= 0; r--) {
+                ranked[r] = best.poll().id;
+            }
+            List<Long> result = Arrays.asList(ranked);
+            if (shortest.size >= CACHED_MIN_CANDIDATES && cachedResults.size() < MAX_CACHED_RESULTS) {
+                cachedResults.put(cacheKey, result);
+            }
+            return new ArrayList<>(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed ids.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns an estimate of the heap retained by the index, in bytes.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) ids.length * (2 * Long.BYTES + Integer.BYTES + 4) + 4L * OBJECT_BYTES;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (texts[slot] != null) {
+                    bytes += 2L * OBJECT_BYTES + 2L * texts[slot].length();
+                }
+            }
+            bytes += (long) slotsById.size() * MAP_ENTRY_BYTES + dead.size() / 8;
+            for (Postings list : postings.values()) {
+                bytes += MAP_ENTRY_BYTES + 2L * OBJECT_BYTES + (long) Integer.BYTES * list.slots.length;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(long id, String normalized) {
+        if (slotCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            heads = Arrays.copyOf(heads, capacity);
+        }
+        int slot = slotCount++;
+        ids[slot] = id;
+        texts[slot] = normalized;
+        lengths[slot] = normalized.length();
+        heads[slot] = head(normalized);
+        for (Long gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+        }
+        slotsById.put(id, slot);
+    }
+
+    private void removeLocked(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot != null) {
+            dead.set(slot);
+            texts[slot] = null;
+            deadCount++;
+        }
+    }
+
+    private void compactLocked() {
+        long[] liveIds = new long[slotCount - deadCount];
+        String[] liveTexts = new String[liveIds.length];
+        int live = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!dead.get(slot)) {
+                liveIds[live] = ids[slot];
+                liveTexts[live++] = texts[slot];
+            }
+        }
+        postings.clear();
+        slotsById.clear();
+        dead.clear();
+        int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, live)) * 2);
+        ids = new long[capacity];
+        texts = new String[capacity];
+        lengths = new int[capacity];
+        heads = new long[capacity];
+        slotCount = 0;
+        deadCount = 0;
+        for (int i = 0; i < live; i++) {
+            addLocked(liveIds[i], liveTexts[i]);
+        }
+    }
+
+    /**
+     * Advances every list but the first to the first slot not below {@code slot}, galloping
+     * from its previous position, and tells whether they all contain it.
+     */
+    private static boolean seekAll(Postings[] lists, int[] cursors, int slot) {
+        for (int i = 1; i < lists.length; i++) {
+            int[] slots = lists[i].slots;
+            int size = lists[i].size;
+            int low = cursors[i];
+            int step = 1;
+            while (low + step < size && slots[low + step] < slot) {
+                low += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(slots, low, Math.min(low + step + 1, size), slot);
+            cursors[i] = found >= 0 ? found : -found - 1;
+            if (found < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWords(String text, String[] words) {
+        for (String word : words) {
+            if (!startsWord(text, word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWord(String text, String word) {
+        int start = 0;
+        while (!text.startsWith(word, start)) {
+            int space = text.indexOf(' ', start);
+            if (space < 0) {
+                return false;
+            }
+            start = space + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Lower-cases, strips accents and keeps letters and digits, with single spaces between
+     * words.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK
+                    && normalized.length() > 0 && normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        int end = normalized.length();
+        return end > 0 && normalized.charAt(end - 1) == ' ' ? normalized.substring(0, end - 1) : normalized.toString();
+    }
+
+    private static Set<Long> grams(String normalized) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            long hash = FNV_OFFSET;
+            for (int i = 0; i < Math.min(word.length(), MAX_GRAM_LENGTH); i++) {
+                hash = (hash ^ word.charAt(i)) * FNV_PRIME;
+                grams.add(hash);
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * FNV-1a hash of the first {@code length} characters of {@code word}, matching the keys
+     * produced by {@link #grams(String)}.
+     */
+    private static long gram(String word, int length) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ word.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Packs the first three characters of a text, so a prefix test can usually be settled
+     * without reading the text itself.
+     */
+    private static long head(String normalized) {
+        return ((long) normalized.charAt(0) << 32)
+                | ((long) (normalized.length() > 1 ? normalized.charAt(1) : 0) << 16)
+                | (normalized.length() > 2 ? normalized.charAt(2) : 0);
+    }
+
+    /**
+     * Growable sorted list of the slots containing one gram.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size + (size >> 1));
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    private static final class Match {
+        static final Comparator<Match> WORST_FIRST = Comparator.<Match>comparingDouble(match -> match.score)
+                .thenComparing(Comparator.<Match>comparingLong(match -> match.id).reversed());
+
+        private final long id;
+        private final double score;
+
+        Match(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        boolean isWorseThan(double otherScore, long otherId) {
+            return score < otherScore || score == otherScore && id > otherId;
+        }
+    }
+}
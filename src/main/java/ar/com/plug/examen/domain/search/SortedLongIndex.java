@@ -0,0 +1,197 @@
+package ar.com.plug.examen.domain.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ids ordered by a {@code long} value, for range queries. Entries are kept sorted by
+ * (value, id) in blocks of primitive arrays of at most {@value #BLOCK_SIZE} entries: a
+ * lookup is a binary search over the blocks' first entries and then inside one block, an
+ * update only shifts entries within its block, and a range query reads consecutive arrays.
+ */
+public class SortedLongIndex {
+    static final int BLOCK_SIZE = 256;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> valuesById = new HashMap<>();
+    private final List<Block> blocks = new ArrayList<>();
+
+    /**
+     * Sets the value of {@code id}.
+     *
+     * @return the previous value, or {@code null} if the id was not indexed
+     */
+    public Long put(long id, long value) {
+        lock.writeLock().lock();
+        try {
+            Long previous = valuesById.put(id, value);
+            if (previous != null) {
+                if (previous == value) {
+                    return previous;
+                }
+                removeEntry(previous, id);
+            }
+            insertEntry(value, id);
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes {@code id}.
+     *
+     * @return the value it had, or {@code null} if it was not indexed
+     */
+    public Long remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Long previous = valuesById.remove(id);
+            if (previous != null) {
+                removeEntry(previous, id);
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} ids whose value is between {@code min} and {@code max},
+     * both inclusive, by ascending value and then id.
+     */
+    public List<Long> range(long min, long max, int limit) {
+        List<Long> ids = new ArrayList<>();
+        if (min > max || limit <= 0) {
+            return ids;
+        }
+        lock.readLock().lock();
+        try {
+            int b = blockFor(min, Long.MIN_VALUE);
+            if (b < 0) {
+                return ids;
+            }
+            int position = blocks.get(b).lowerBound(min, Long.MIN_VALUE);
+            for (; b < blocks.size(); b++, position = 0) {
+                Block block = blocks.get(b);
+                for (; position < block.size; position++) {
+                    if (block.values[position] > max || ids.size() == limit) {
+                        return ids;
+                    }
+                    ids.add(block.ids[position]);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return valuesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insertEntry(long value, long id) {
+        if (blocks.isEmpty()) {
+            blocks.add(new Block());
+        }
+        int b = Math.max(0, blockFor(value, id));
+        Block block = blocks.get(b);
+        block.insert(block.lowerBound(value, id), value, id);
+        if (block.size == BLOCK_SIZE) {
+            blocks.add(b + 1, block.splitUpperHalf());
+        }
+    }
+
+    private void removeEntry(long value, long id) {
+        int b = blockFor(value, id);
+        Block block = blocks.get(b);
+        block.delete(block.lowerBound(value, id));
+        if (block.size == 0) {
+            blocks.remove(b);
+        }
+    }
+
+    /**
+     * Returns the last block whose first entry is not above (value, id), or {@code 0} when
+     * (value, id) sorts before every entry, or {@code -1} when the index is empty.
+     */
+    private int blockFor(long value, long id) {
+        int low = 0;
+        int high = blocks.size() - 1;
+        if (high < 0) {
+            return -1;
+        }
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            Block block = blocks.get(middle);
+            if (compare(block.values[0], block.ids[0], value, id) <= 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(long value, long id, long otherValue, long otherId) {
+        int byValue = Long.compare(value, otherValue);
+        return byValue != 0 ? byValue : Long.compare(id, otherId);
+    }
+
+    private static final class Block {
+        private final long[] values = new long[BLOCK_SIZE];
+        private final long[] ids = new long[BLOCK_SIZE];
+        private int size;
+
+        /**
+         * Returns the position of the first entry not below (value, id).
+         */
+        int lowerBound(long value, long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(values[middle], ids[middle], value, id) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        void insert(int position, long value, long id) {
+            System.arraycopy(values, position, values, position + 1, size - position);
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            values[position] = value;
+            ids[position] = id;
+            size++;
+        }
+
+        void delete(int position) {
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        Block splitUpperHalf() {
+            Block upper = new Block();
+            int half = size / 2;
+            upper.size = size - half;
+            System.arraycopy(values, half, upper.values, 0, upper.size);
+            System.arraycopy(ids, half, upper.ids, 0, upper.size);
+            size = half;
+            return upper;
+        }
+    }
+}
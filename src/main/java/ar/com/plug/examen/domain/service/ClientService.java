@@ -1,14 +1,23 @@
 package ar.com.plug.examen.domain.service;
 
+import ar.com.plug.examen.domain.model.BatchLookup;
 import ar.com.plug.examen.domain.model.Client;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 public interface ClientService {
     Client createClient(Client client);
     List<Client> getAllClients();
+    <R> List<R> getAllClients(Function<? super Client, R> mapper);
     Optional<Client> getClientById(Long id);
+    <R> Optional<R> getClientById(Long id, Function<? super Client, R> mapper);
+    BatchLookup<Client> getClientsByIds(List<Long> ids);
+    <R> BatchLookup<R> getClientsByIds(List<Long> ids, Function<? super Client, R> mapper);
     Client updateClient(Long id, Client clientDetails);
+    <R> R updateClient(Long id, Client clientDetails, Function<? super Client, R> mapper);
     void deleteClient(Long id);
+    Client upsertClientByEmail(String email, Client clientDetails);
+    List<Client> upsertClientsByEmail(List<Client> clients);
 }
@@ -0,0 +1,8 @@
+package ar.com.plug.examen.domain.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    <T> T execute(String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action);
+    int purgeExpired();
+}
@@ -0,0 +1,11 @@
+package ar.com.plug.examen.domain.service;
+
+import java.util.Map;
+
+public interface InventoryService {
+    void reserve(Long productId, int quantity);
+    void reserveAll(Map<Long, Integer> quantities);
+    void release(Long productId, int quantity);
+    void adjustStock(Long productId, int delta);
+    void flush();
+}
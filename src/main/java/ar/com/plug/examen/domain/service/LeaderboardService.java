@@ -0,0 +1,14 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.model.LeaderboardEntry;
+import ar.com.plug.examen.domain.model.LeaderboardWindow;
+import ar.com.plug.examen.domain.model.Transaction;
+
+import java.util.List;
+
+public interface LeaderboardService {
+    void recordSale(Transaction transaction);
+    List<LeaderboardEntry> getTopSellers(LeaderboardWindow window, int limit);
+    List<LeaderboardEntry> getTopProducts(LeaderboardWindow window, int limit);
+    void rebuild();
+}
@@ -0,0 +1,11 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.model.Product;
+
+import java.util.List;
+
+public interface ProductRangeService {
+    List<Product> findByPriceBetween(Double min, Double max, int limit);
+    List<Product> findLowStock(Integer threshold, int limit);
+    void rebuild();
+}
@@ -0,0 +1,10 @@
+package ar.com.plug.examen.domain.service;
+
+import java.util.List;
+
+public interface ProductSearchService {
+    List<Long> search(String query, int limit);
+    void rebuild();
+    int getIndexedCount();
+    long getIndexMemoryBytes();
+}
@@ -1,15 +1,22 @@
 package ar.com.plug.examen.domain.service;
 
+import ar.com.plug.examen.domain.model.BatchLookup;
 import ar.com.plug.examen.domain.model.Product;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 public interface ProductService {
     Product createProduct(Product product);
     List<Product> getAllProducts();
+    <R> List<R> getAllProducts(Function<? super Product, R> mapper);
     Optional<Product> getProductById(Long id);
+    <R> Optional<R> getProductById(Long id, Function<? super Product, R> mapper);
+    BatchLookup<Product> getProductsByIds(List<Long> ids);
+    <R> BatchLookup<R> getProductsByIds(List<Long> ids, Function<? super Product, R> mapper);
     Product updateProduct(Long id, Product productDetails);
+    <R> R updateProduct(Long id, Product productDetails, Function<? super Product, R> mapper);
     void deleteProduct(Long id);
 }
 
@@ -0,0 +1,10 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.model.SalesOrder;
+
+import java.util.Optional;
+
+public interface SalesOrderService {
+    SalesOrder createOrder(SalesOrder order);
+    Optional<SalesOrder> getOrderById(Long id);
+}
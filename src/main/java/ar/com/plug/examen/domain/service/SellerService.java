@@ -1,14 +1,23 @@
 package ar.com.plug.examen.domain.service;
 
+import ar.com.plug.examen.domain.model.BatchLookup;
 import ar.com.plug.examen.domain.model.Seller;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 public interface SellerService {
     Seller createSeller(Seller seller);
     List<Seller> getAllSellers();
+    <R> List<R> getAllSellers(Function<? super Seller, R> mapper);
     Optional<Seller> getSellerById(Long id);
+    <R> Optional<R> getSellerById(Long id, Function<? super Seller, R> mapper);
+    BatchLookup<Seller> getSellersByIds(List<Long> ids);
+    <R> BatchLookup<R> getSellersByIds(List<Long> ids, Function<? super Seller, R> mapper);
     Seller updateSeller(Long id, Seller sellerDetails);
+    <R> R updateSeller(Long id, Seller sellerDetails, Function<? super Seller, R> mapper);
     void deleteSeller(Long id);
+    Seller upsertSellerByEmail(String email, Seller sellerDetails);
+    List<Seller> upsertSellersByEmail(List<Seller> sellers);
 }
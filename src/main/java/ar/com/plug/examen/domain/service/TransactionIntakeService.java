@@ -0,0 +1,12 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.model.RejectedIntake;
+import ar.com.plug.examen.domain.model.Transaction;
+
+import java.util.Optional;
+
+public interface TransactionIntakeService {
+    String submit(Transaction transaction);
+    Optional<Transaction> getAppliedTransaction(String intakeId);
+    Optional<RejectedIntake> getRejection(String intakeId);
+}
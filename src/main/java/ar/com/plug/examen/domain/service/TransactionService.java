@@ -1,13 +1,25 @@
 package ar.com.plug.examen.domain.service;
 
+import ar.com.plug.examen.domain.model.BatchLookup;
 import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.model.TransactionSummary;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 public interface TransactionService {
     Transaction createTransaction(Transaction transaction);
+    List<Transaction> createTransactions(List<Transaction> transactions);
     List<Transaction> getAllTransactions();
+    <R> List<R> getAllTransactions(Function<? super Transaction, R> mapper);
     Optional<Transaction> getTransactionById(Long id);
+    <R> Optional<R> getTransactionById(Long id, Function<? super Transaction, R> mapper);
+    BatchLookup<Transaction> getTransactionsByIds(List<Long> ids);
+    <R> BatchLookup<R> getTransactionsByIds(List<Long> ids, Function<? super Transaction, R> mapper);
     Transaction approveTransaction(Long id);
+    <R> R approveTransaction(Long id, Function<? super Transaction, R> mapper);
+    Slice<TransactionSummary> getClientTransactions(Long clientId, LocalDateTime from, LocalDateTime to, int page, int size);
 }
@@ -1,15 +1,27 @@
 package ar.com.plug.examen.domain.service.impl;
 
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.model.BatchLookup;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
 import ar.com.plug.examen.domain.model.Client;
 import ar.com.plug.examen.domain.repository.ClientRepository;
+import ar.com.plug.examen.domain.repository.EntityBatchLoader;
 import ar.com.plug.examen.domain.service.ClientService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
 
 @Service
 public class ClientServiceImpl implements ClientService {
@@ -18,11 +30,18 @@ public class ClientServiceImpl implements ClientService {
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private EntityBatchLoader entityBatchLoader;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public Client createClient(Client client) {
         logger.debug("Creating client with details: {}", client);
         try {
             Client savedClient = clientRepository.save(client);
+            eventPublisher.publishEvent(CatalogChangeEvent.saved(CatalogEntityType.CLIENT, savedClient.getId(), savedClient));
             logger.debug("Client created successfully: {}", savedClient);
             return savedClient;
         } catch (Exception e) {
@@ -32,12 +51,21 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Client> getAllClients() {
+        return getAllClients(Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> List<R> getAllClients(Function<? super Client, R> mapper) {
         logger.debug("Retrieving all clients");
         try {
             List<Client> clients = clientRepository.findAll();
             logger.debug("Retrieved {} clients", clients.size());
-            return clients;
+            List<R> mapped = new ArrayList<>(clients.size());
+            clients.forEach(client -> mapped.add(mapper.apply(client)));
+            return mapped;
         } catch (Exception e) {
             logger.error("Error retrieving clients: {}", e.getMessage());
             throw e;
@@ -45,12 +73,19 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Client> getClientById(Long id) {
+        return getClientById(id, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> Optional<R> getClientById(Long id, Function<? super Client, R> mapper) {
         logger.debug("Retrieving client by id: {}", id);
         try {
             Optional<Client> client = clientRepository.findById(id);
             client.ifPresent(c -> logger.debug("Client retrieved successfully: {}", c));
-            return client;
+            return client.map(mapper);
         } catch (Exception e) {
             logger.error("Error retrieving client by id: {}", e.getMessage());
             throw e;
@@ -58,7 +93,34 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public BatchLookup<Client> getClientsByIds(List<Long> ids) {
+        return getClientsByIds(ids, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> BatchLookup<R> getClientsByIds(List<Long> ids, Function<? super Client, R> mapper) {
+        logger.debug("Retrieving clients by ids: {}", ids);
+        try {
+            BatchLookup<Client> lookup = entityBatchLoader.load(clientRepository, Client.class, Client::getId, ids);
+            logger.debug("Retrieved {} clients, {} missing", lookup.getItems().size(), lookup.getMissingIds().size());
+            return lookup.map(mapper);
+        } catch (Exception e) {
+            logger.error("Error retrieving clients by ids: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
     public Client updateClient(Long id, Client clientDetails) {
+        return updateClient(id, clientDetails, Function.identity());
+    }
+
+    @Override
+    @Transactional
+    public <R> R updateClient(Long id, Client clientDetails, Function<? super Client, R> mapper) {
         logger.debug("Updating client with id: {}", id);
         try {
             Client client = clientRepository.findById(id)
@@ -66,8 +128,9 @@ public class ClientServiceImpl implements ClientService {
             client.setName(clientDetails.getName());
             client.setEmail(clientDetails.getEmail());
             Client updatedClient = clientRepository.save(client);
+            eventPublisher.publishEvent(CatalogChangeEvent.saved(CatalogEntityType.CLIENT, id, updatedClient));
             logger.debug("Client updated successfully: {}", updatedClient);
-            return updatedClient;
+            return mapper.apply(updatedClient);
         } catch (Exception e) {
             logger.error("Error updating client: {}", e.getMessage());
             throw e;
@@ -79,10 +142,69 @@ public class ClientServiceImpl implements ClientService {
         logger.debug("Deleting client with id: {}", id);
         try {
             clientRepository.deleteById(id);
+            eventPublisher.publishEvent(CatalogChangeEvent.deleted(CatalogEntityType.CLIENT, id));
             logger.debug("Client deleted successfully");
         } catch (Exception e) {
             logger.error("Error deleting client: {}", e.getMessage());
             throw e;
         }
     }
+
+    @Override
+    public Client upsertClientByEmail(String email, Client clientDetails) {
+        if (clientDetails == null) {
+            throw new IllegalArgumentException("Missing client details");
+        }
+        Client client = new Client();
+        client.setEmail(email);
+        client.setName(clientDetails.getName());
+        return upsertClientsByEmail(Collections.singletonList(client)).get(0);
+    }
+
+    /**
+     * Creates the clients whose email is not stored yet and renames the others, in one
+     * statement, so integrations do not have to look them up first. When an email is
+     * repeated, its last entry wins.
+     */
+    @Override
+    public List<Client> upsertClientsByEmail(List<Client> clients) {
+        logger.debug("Upserting {} clients by email", clients == null ? 0 : clients.size());
+        try {
+            if (clients == null || clients.isEmpty()) {
+                throw new IllegalArgumentException("No clients to upsert");
+            }
+            Map<String, Client> byEmail = new LinkedHashMap<>();
+            for (Client client : clients) {
+                String email = client.getEmail() != null ? client.getEmail().trim() : "";
+                if (email.isEmpty()) {
+                    throw new IllegalArgumentException("Every client needs an email");
+                }
+                Client row = new Client();
+                row.setEmail(email);
+                row.setName(client.getName());
+                byEmail.put(email, row);
+            }
+            clientRepository.upsertByEmail(new ArrayList<>(byEmail.values()));
+
+            // MySQL compares emails case-insensitively, so match the stored rows the same way
+            Map<String, Client> stored = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Client client : clientRepository.findByEmailIn(byEmail.keySet())) {
+                stored.put(client.getEmail(), client);
+            }
+            List<Client> upserted = new ArrayList<>(byEmail.size());
+            for (String email : byEmail.keySet()) {
+                Client client = stored.get(email);
+                if (client == null) {
+                    throw new IllegalStateException("Client " + email + " was deleted while being upserted");
+                }
+                upserted.add(client);
+                eventPublisher.publishEvent(CatalogChangeEvent.saved(CatalogEntityType.CLIENT, client.getId(), client));
+            }
+            logger.debug("Upserted {} clients", upserted.size());
+            return upserted;
+        } catch (Exception e) {
+            logger.error("Error upserting clients: {}", e.getMessage());
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,261 @@
+package ar.com.plug.examen.domain.service.impl;
+
+import ar.com.plug.examen.domain.exception.IdempotencyKeyInProgressException;
+import ar.com.plug.examen.domain.exception.IdempotencyKeyReusedException;
+import ar.com.plug.examen.domain.model.IdempotencyRecord;
+import ar.com.plug.examen.domain.model.IdempotencyStatus;
+import ar.com.plug.examen.domain.repository.IdempotencyRecordRepository;
+import ar.com.plug.examen.domain.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes an action at most once per idempotency key. Before the action runs, a
+ * {@link IdempotencyStatus#PENDING} {@link IdempotencyRecord} is inserted for the key, so of
+ * concurrent requests on any node only the one whose insert succeeds executes it; the others
+ * replay the stored response, or are told the request is still in progress. The record is
+ * completed with the response afterwards, or deleted if the action fails so it can be retried.
+ * A pending record is leased to the request that claimed it; if that request's node dies, a
+ * retry after the lease runs out takes the record over and executes the action itself.
+ *
+ * <p>Each key is bound to a SHA-256 fingerprint of the request it was first used with, and
+ * reusing it with a different request throws {@link IdempotencyKeyReusedException}.
+ * Completed responses are also kept in a bounded in-memory cache, and callers on this node
+ * that arrive while the first request for a key is still running wait for its outcome.
+ */
+@Service
+@Lazy(false) // @Scheduled methods are only registered once the bean exists
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl = Duration.ofHours(24);
+
+    @Value("${idempotency.max-entries:10000}")
+    private long maxEntries = 10000;
+
+    // Must outlast the slowest request, or a retry could run the action a second time
+    @Value("${idempotency.lease:2m}")
+    private Duration lease = Duration.ofMinutes(2);
+
+    @Value("${idempotency.wait-timeout:30s}")
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    private final ConcurrentMap<String, Execution> inFlight = new ConcurrentHashMap<>();
+
+    private Cache<String, Execution> completed;
+
+    @PostConstruct
+    public void init() {
+        completed = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public <T> T execute(String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Invalid idempotency key");
+        }
+        String fingerprint = fingerprint(request);
+        Execution cached = completed.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            logger.debug("Replaying cached response for idempotency key: {}", idempotencyKey);
+            checkFingerprint(idempotencyKey, cached.fingerprint, fingerprint);
+            return responseType.cast(cached.response.join());
+        }
+
+        Execution own = new Execution(fingerprint);
+        Execution running = inFlight.putIfAbsent(idempotencyKey, own);
+        if (running != null) {
+            logger.debug("Waiting for in-flight request with idempotency key: {}", idempotencyKey);
+            checkFingerprint(idempotencyKey, running.fingerprint, fingerprint);
+            return responseType.cast(await(idempotencyKey, running.response));
+        }
+        try {
+            Execution done = completed.getIfPresent(idempotencyKey);
+            Object response;
+            if (done != null) {
+                checkFingerprint(idempotencyKey, done.fingerprint, fingerprint);
+                response = done.response.join();
+            } else {
+                String owner = UUID.randomUUID().toString();
+                response = claim(idempotencyKey, fingerprint, owner, responseType).orElse(null);
+                if (response == null) {
+                    response = run(idempotencyKey, owner, action);
+                }
+            }
+            own.response.complete(response);
+            completed.put(idempotencyKey, own);
+            return responseType.cast(response);
+        } catch (RuntimeException e) {
+            own.response.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, own);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT10M}")
+    public int purgeExpired() {
+        try {
+            int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+            logger.debug("Purged {} expired idempotency records", purged);
+            return purged;
+        } catch (Exception e) {
+            logger.error("Error purging idempotency records: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    private Object await(String idempotencyKey, CompletableFuture<Object> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException(idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight request");
+        }
+    }
+
+    /**
+     * Inserts the pending record for the key, leased to {@code owner}. If a record already
+     * exists, returns its stored response instead, or takes it over if it is pending and its
+     * lease ran out; an expired one is purged and the insert retried once.
+     */
+    private <T> Optional<T> claim(String idempotencyKey, String fingerprint, String owner, Class<T> responseType) {
+        for (int attempt = 0; ; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            IdempotencyRecord record = new IdempotencyRecord();
+            record.setIdempotencyKey(idempotencyKey);
+            record.setRequestFingerprint(fingerprint);
+            record.setStatus(IdempotencyStatus.PENDING);
+            record.setOwner(owner);
+            record.setLeaseExpiresAt(now.plus(lease));
+            record.setCreatedAt(now);
+            record.setExpiresAt(now.plus(ttl));
+            try {
+                idempotencyRecordRepository.insert(record);
+                return Optional.empty();
+            } catch (DataIntegrityViolationException e) {
+                Optional<IdempotencyRecord> existing =
+                        idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(idempotencyKey, now);
+                if (existing.isPresent()) {
+                    checkFingerprint(idempotencyKey, existing.get().getRequestFingerprint(), fingerprint);
+                    if (existing.get().getStatus() != IdempotencyStatus.PENDING) {
+                        return Optional.of(replay(existing.get(), responseType));
+                    }
+                    if (idempotencyRecordRepository.takeOver(idempotencyKey, owner, now.plus(lease), now) > 0) {
+                        logger.warn("Took over idempotency key {} after its lease ran out", idempotencyKey);
+                        return Optional.empty();
+                    }
+                    throw new IdempotencyKeyInProgressException(idempotencyKey);
+                }
+                if (attempt > 0) {
+                    throw new IdempotencyKeyInProgressException(idempotencyKey);
+                }
+                idempotencyRecordRepository.deleteExpired(now);
+            }
+        }
+    }
+
+    private <T> T replay(IdempotencyRecord record, Class<T> responseType) {
+        try {
+            logger.debug("Replaying stored response for idempotency key: {}", record.getIdempotencyKey());
+            return objectMapper.readValue(record.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable stored response", e);
+        }
+    }
+
+    private Object run(String idempotencyKey, String owner, Supplier<?> action) {
+        Object response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(idempotencyKey, owner);
+            throw e;
+        }
+        try {
+            if (idempotencyRecordRepository.complete(idempotencyKey, owner, objectMapper.writeValueAsString(response)) == 0) {
+                logger.warn("Idempotency key {} was taken over before its response was stored", idempotencyKey);
+            }
+        } catch (Exception e) {
+            // The response was produced; other nodes see the key in progress until its lease runs out
+            logger.warn("Could not store response for idempotency key {}: {}", idempotencyKey, e.getMessage());
+        }
+        return response;
+    }
+
+    private void release(String idempotencyKey, String owner) {
+        try {
+            idempotencyRecordRepository.deletePending(idempotencyKey, owner);
+        } catch (Exception e) {
+            logger.warn("Could not release idempotency key {}: {}", idempotencyKey, e.getMessage());
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return Hashing.sha256().hashBytes(objectMapper.writeValueAsBytes(request)).toString();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request cannot be serialized", e);
+        }
+    }
+
+    private static void checkFingerprint(String idempotencyKey, String expected, String actual) {
+        if (!actual.equals(expected)) {
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+    }
+
+    /**
+     * A request for a key, and the response it produced once it completes.
+     */
+    private static final class Execution {
+        private final String fingerprint;
+        private final CompletableFuture<Object> response = new CompletableFuture<>();
+
+        Execution(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
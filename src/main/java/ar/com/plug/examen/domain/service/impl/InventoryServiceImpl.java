@@ -0,0 +1,364 @@
+package ar.com.plug.examen.domain.service.impl;
+
+import ar.com.plug.examen.domain.event.StockChangedEvent;
+import ar.com.plug.examen.domain.exception.InsufficientStockException;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.service.InventoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stock reservations. Regular products are checked and decremented under a row lock.
+ *
+ * <p>Products listed in {@code inventory.hot-products} would serialize every sale on that
+ * lock, so each node instead leases blocks of their stock from the database (moving units
+ * from {@code Product.stock} into a local quota) and sells from striped in-memory counters
+ * without touching the row. A node can only sell units it has leased, so the sum over all
+ * nodes never exceeds the stock. Surplus quota beyond one block is flushed back
+ * periodically and all of it on shutdown; while leased, those units are not visible in
+ * {@code Product.stock}.
+ */
+@Service
+@Lazy(false) // @Scheduled methods are only registered once the bean exists
+public class InventoryServiceImpl implements InventoryService {
+    private static final Logger logger = LoggerFactory.getLogger(InventoryServiceImpl.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${inventory.hot-products:}")
+    private Set<Long> hotProducts = new HashSet<>();
+
+    @Value("${inventory.lease-size:100}")
+    private long leaseSize = 100;
+
+    private final int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
+    private final ConcurrentMap<Long, Quota> quotas = new ConcurrentHashMap<>();
+
+    // Leased units are in this node's quota as soon as the lease commits, so a lease taken
+    // while reserving a whole order must not roll back with it
+    private TransactionTemplate leaseTemplate;
+
+    @PostConstruct
+    public void init() {
+        leaseTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        leaseTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void reserve(Long productId, int quantity) {
+        logger.debug("Reserving {} units of product {}", quantity, productId);
+        if (productId == null || quantity < 1) {
+            throw new IllegalArgumentException("Invalid reservation: product=" + productId + ", quantity=" + quantity);
+        }
+        if (hotProducts.contains(productId)) {
+            reserveFromQuota(productId, quantity);
+        } else {
+            changeStock(productId, -quantity);
+        }
+    }
+
+    /**
+     * Reserves every quantity or none. Regular products are locked in ascending id order, so
+     * orders sharing products take the row locks in the same order and cannot deadlock.
+     * Called inside a transaction, the decrements commit or roll back with it, and units
+     * taken from hot product quotas are returned if it rolls back.
+     */
+    @Override
+    public void reserveAll(Map<Long, Integer> quantities) {
+        logger.debug("Reserving {} products", quantities.size());
+        Map<Long, Integer> sorted = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null || entry.getValue() < 1) {
+                throw new IllegalArgumentException("Invalid reservation: product=" + entry.getKey()
+                        + ", quantity=" + entry.getValue());
+            }
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+        BatchReservation reservation = new BatchReservation();
+        try {
+            transactionTemplate.execute(status -> {
+                reservation.deferred = TransactionSynchronizationManager.isSynchronizationActive();
+                if (reservation.deferred) {
+                    TransactionSynchronizationManager.registerSynchronization(reservation);
+                }
+                for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+                    if (hotProducts.contains(entry.getKey())) {
+                        reserveFromQuota(entry.getKey(), entry.getValue());
+                        reservation.fromQuotas.put(entry.getKey(), entry.getValue());
+                    } else {
+                        reservation.stocks.put(entry.getKey(), applyDelta(entry.getKey(), -entry.getValue()));
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            if (!reservation.deferred) {
+                reservation.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+            throw e;
+        }
+        if (!reservation.deferred) {
+            reservation.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+
+    @Override
+    public void release(Long productId, int quantity) {
+        logger.debug("Releasing {} units of product {}", quantity, productId);
+        if (productId == null || quantity < 1) {
+            throw new IllegalArgumentException("Invalid release: product=" + productId + ", quantity=" + quantity);
+        }
+        if (hotProducts.contains(productId)) {
+            quotas.computeIfAbsent(productId, id -> new Quota(stripes)).deposit(quantity);
+        } else {
+            changeStock(productId, quantity);
+        }
+    }
+
+    /**
+     * Restocks or writes off units under the row lock, so the change cannot be lost to a
+     * concurrent sale. Units of a hot product leased by this node are part of its stock, so
+     * write-offs take them from the local quota first; units leased by other nodes only
+     * become available once they flush them back.
+     */
+    @Override
+    public void adjustStock(Long productId, int delta) {
+        logger.debug("Adjusting stock of product {} by {}", productId, delta);
+        if (productId == null || delta == 0) {
+            throw new IllegalArgumentException("Invalid stock adjustment: product=" + productId + ", delta=" + delta);
+        }
+        Quota quota = delta < 0 && hotProducts.contains(productId) ? quotas.get(productId) : null;
+        if (quota == null) {
+            changeStock(productId, delta);
+            return;
+        }
+        synchronized (quota) {
+            long available = quota.drain();
+            long fromQuota = Math.min(available, -delta);
+            quota.deposit(available - fromQuota);
+            if (fromQuota == -delta) {
+                return;
+            }
+            try {
+                changeStock(productId, delta + (int) fromQuota);
+            } catch (RuntimeException e) {
+                quota.deposit(fromQuota);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Returns each hot product's quota beyond one lease block to the database, so idle
+     * nodes do not sit on stock other nodes could sell.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.flush-interval:PT5S}")
+    public void flush() {
+        returnQuotas(leaseSize);
+    }
+
+    @PreDestroy
+    public void returnAll() {
+        returnQuotas(0);
+    }
+
+    private void reserveFromQuota(Long productId, int quantity) {
+        Quota quota = quotas.computeIfAbsent(productId, id -> new Quota(stripes));
+        if (quota.tryTake(quantity)) {
+            return;
+        }
+        synchronized (quota) {
+            if (quota.tryTake(quantity)) {
+                return;
+            }
+            // Gather what is left on every stripe and top it up from the database
+            long available = quota.drain();
+            if (available < quantity) {
+                try {
+                    available += lease(productId, Math.max(leaseSize, quantity - available));
+                } catch (RuntimeException e) {
+                    quota.deposit(available);
+                    throw e;
+                }
+            }
+            if (available < quantity) {
+                quota.deposit(available);
+                throw new InsufficientStockException(productId, quantity);
+            }
+            quota.deposit(available - quantity);
+        }
+    }
+
+    /**
+     * Moves up to {@code units} from the product row into this node's quota.
+     *
+     * @return the units actually leased
+     */
+    private long lease(Long productId, long units) {
+        int[] remaining = new int[1];
+        Long leased = leaseTemplate.execute(status -> {
+            Product product = lockProduct(productId);
+            long stock = product.getStock() != null ? product.getStock() : 0;
+            long granted = Math.min(stock, units);
+            product.setStock((int) (stock - granted));
+            productRepository.save(product);
+            remaining[0] = product.getStock();
+            return granted;
+        });
+        logger.debug("Leased {} units of product {}", leased, productId);
+        if (leased > 0) {
+            eventPublisher.publishEvent(new StockChangedEvent(productId, remaining[0]));
+        }
+        return leased;
+    }
+
+    private void changeStock(Long productId, int delta) {
+        Integer adjusted = transactionTemplate.execute(status -> applyDelta(productId, delta));
+        eventPublisher.publishEvent(new StockChangedEvent(productId, adjusted));
+    }
+
+    /**
+     * Changes the stock of the locked row; must run inside a transaction.
+     *
+     * @return the new stock
+     */
+    private int applyDelta(Long productId, int delta) {
+        Product product = lockProduct(productId);
+        long stock = product.getStock() != null ? product.getStock() : 0;
+        if (stock + delta < 0) {
+            throw new InsufficientStockException(productId, -delta);
+        }
+        product.setStock((int) (stock + delta));
+        productRepository.save(product);
+        return product.getStock();
+    }
+
+    private Product lockProduct(Long productId) {
+        return productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown product " + productId));
+    }
+
+    private void returnQuotas(long keep) {
+        for (Map.Entry<Long, Quota> entry : quotas.entrySet()) {
+            Quota quota = entry.getValue();
+            synchronized (quota) {
+                long available = quota.drain();
+                long surplus = available - Math.min(available, keep);
+                quota.deposit(available - surplus);
+                if (surplus == 0) {
+                    continue;
+                }
+                try {
+                    changeStock(entry.getKey(), (int) surplus);
+                    logger.debug("Returned {} leased units of product {}", surplus, entry.getKey());
+                } catch (RuntimeException e) {
+                    quota.deposit(surplus);
+                    logger.error("Error returning leased stock of product {}: {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * What {@link #reserveAll} took, settled when the surrounding transaction completes:
+     * stock changes are published once committed, and quota units are returned otherwise.
+     */
+    private final class BatchReservation extends TransactionSynchronizationAdapter {
+        private final Map<Long, Integer> fromQuotas = new LinkedHashMap<>();
+        private final Map<Long, Integer> stocks = new LinkedHashMap<>();
+        private boolean deferred;
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                stocks.forEach((productId, stock) -> eventPublisher.publishEvent(new StockChangedEvent(productId, stock)));
+            } else {
+                fromQuotas.forEach((productId, units) ->
+                        quotas.computeIfAbsent(productId, id -> new Quota(stripes)).deposit(units));
+            }
+        }
+    }
+
+    /**
+     * Leased units of one product, spread over counters on separate cache lines so that
+     * concurrent sales rarely contend on the same one. Like a {@code LongAdder}, but each
+     * decrement is a compare-and-set that never takes a counter below zero.
+     */
+    private static final class Quota {
+        // 8 longs = 64 bytes, one counter per cache line
+        private static final int PADDING = 8;
+
+        private final AtomicLongArray counters;
+        private final int mask;
+
+        private Quota(int stripes) {
+            this.counters = new AtomicLongArray(stripes * PADDING);
+            this.mask = stripes - 1;
+        }
+
+        boolean tryTake(long units) {
+            int start = probe();
+            for (int i = 0; i <= mask; i++) {
+                int index = ((start + i) & mask) * PADDING;
+                long current;
+                while ((current = counters.get(index)) >= units) {
+                    if (counters.compareAndSet(index, current, current - units)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void deposit(long units) {
+            if (units > 0) {
+                counters.addAndGet(probe() * PADDING, units);
+            }
+        }
+
+        long drain() {
+            long total = 0;
+            for (int i = 0; i <= mask; i++) {
+                total += counters.getAndSet(i * PADDING, 0);
+            }
+            return total;
+        }
+
+        private int probe() {
+            long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+            return (int) (id ^ (id >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package ar.com.plug.examen.domain.service.impl;
+
+import ar.com.plug.examen.domain.model.LeaderboardEntry;
+import ar.com.plug.examen.domain.model.LeaderboardWindow;
+import ar.com.plug.examen.domain.model.MinorUnits;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.TransactionRepository;
+import ar.com.plug.examen.domain.service.LeaderboardService;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a top-K ranking of sellers and products by approved revenue for each
+ * {@link LeaderboardWindow}, updated incrementally as sales are approved so that
+ * reads never aggregate over the transaction table.
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Value("${leaderboard.capacity:100}")
+    private int capacity = 100;
+
+    @Value("${leaderboard.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup = true;
+
+    private final Map<LeaderboardWindow, Board> boards = new EnumMap<>(LeaderboardWindow.class);
+
+    @Override
+    public void recordSale(Transaction transaction) {
+        if (!Boolean.TRUE.equals(transaction.getApproved()) || transaction.getProduct() == null) {
+            return;
+        }
+        LocalDateTime date = transaction.getDate() != null ? transaction.getDate() : LocalDateTime.now();
+        long revenue = transaction.getTotalMinor() != null
+                ? transaction.getTotalMinor()
+                : MinorUnits.lineTotal(priceOf(transaction.getProduct()), transaction.getQuantity());
+        Long sellerId = transaction.getSeller() != null ? transaction.getSeller().getId() : null;
+        Long productId = transaction.getProduct().getId();
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            Board board = currentBoard(window, window.startOf(date));
+            if (board == null) {
+                logger.debug("Ignoring sale dated {} outside the current {} window", date, window);
+                continue;
+            }
+            if (sellerId != null) {
+                board.sellers.add(sellerId, revenue);
+            }
+            if (productId != null) {
+                board.products.add(productId, revenue);
+            }
+        }
+    }
+
+    @Override
+    public List<LeaderboardEntry> getTopSellers(LeaderboardWindow window, int limit) {
+        logger.debug("Retrieving top {} sellers for window {}", limit, window);
+        Board board = currentBoard(window, window.startOf(LocalDateTime.now()));
+        return board == null ? Collections.emptyList() : board.sellers.top(limit);
+    }
+
+    @Override
+    public List<LeaderboardEntry> getTopProducts(LeaderboardWindow window, int limit) {
+        logger.debug("Retrieving top {} products for window {}", limit, window);
+        Board board = currentBoard(window, window.startOf(LocalDateTime.now()));
+        return board == null ? Collections.emptyList() : board.products.top(limit);
+    }
+
+    /**
+     * Replaces every board with one aggregated from the database. Sales recorded while
+     * the rebuild is running may be missed, so this is meant for startup.
+     */
+    @Override
+    public void rebuild() {
+        logger.info("Rebuilding sales leaderboards from the database");
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (LeaderboardWindow window : LeaderboardWindow.values()) {
+                LocalDateTime start = window.startOf(now);
+                Board board = new Board(start, capacity);
+                load(board.sellers, transactionRepository.sumApprovedRevenueBySellerSince(start));
+                load(board.products, transactionRepository.sumApprovedRevenueByProductSince(start));
+                synchronized (boards) {
+                    boards.put(window, board);
+                }
+            }
+            logger.info("Sales leaderboards rebuilt");
+        } catch (Exception e) {
+            logger.error("Error rebuilding sales leaderboards: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.warn("Leaderboards will start empty: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Transactions saved before line totals were recorded only carry the product, so fall
+     * back to its stored price when the reference is not fully populated. A reference bound
+     * by id is not initialized here, as its session is already closed.
+     */
+    private Double priceOf(Product product) {
+        if (product.getId() == null || Hibernate.isInitialized(product) && product.getPrice() != null) {
+            return product.getPrice();
+        }
+        return productRepository.findById(product.getId()).map(Product::getPrice).orElse(null);
+    }
+
+    private static void load(TopK topK, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            if (row[0] != null && row[1] != null) {
+                topK.add((Long) row[0], ((Number) row[1]).longValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the board for the window starting at {@code start}, rolling the window over
+     * when a newer period begins, or {@code null} when {@code start} is an older period.
+     */
+    private Board currentBoard(LeaderboardWindow window, LocalDateTime start) {
+        synchronized (boards) {
+            Board board = boards.get(window);
+            if (board == null || board.start.isBefore(start)) {
+                board = new Board(start, capacity);
+                boards.put(window, board);
+            }
+            return board.start.equals(start) ? board : null;
+        }
+    }
+
+    private static final class Board {
+        private final LocalDateTime start;
+        private final TopK sellers;
+        private final TopK products;
+
+        private Board(LocalDateTime start, int capacity) {
+            this.start = start;
+            this.sellers = new TopK(capacity);
+            this.products = new TopK(capacity);
+        }
+    }
+
+    /**
+     * Running totals per id plus the ids with the highest totals kept sorted in parallel
+     * arrays. Totals only grow inside a window, so an id that is not in the top-K can only
+     * enter it by displacing the current minimum, which keeps every update O(K).
+     */
+    private static final class TopK {
+        private final Map<Long, Long> totals = new HashMap<>();
+        private final long[] ids;
+        private final long[] values;
+        private int size;
+
+        TopK(int capacity) {
+            this.ids = new long[capacity];
+            this.values = new long[capacity];
+        }
+
+        synchronized void add(long id, long amount) {
+            long total = totals.merge(id, amount, Long::sum);
+            int position = indexOf(id);
+            if (position < 0) {
+                if (size < ids.length) {
+                    position = size++;
+                } else if (size > 0 && total > values[size - 1]) {
+                    position = size - 1;
+                } else {
+                    return;
+                }
+                ids[position] = id;
+            }
+            values[position] = total;
+            while (position > 0 && values[position - 1] < values[position]) {
+                swap(position - 1, position);
+                position--;
+            }
+        }
+
+        synchronized List<LeaderboardEntry> top(int limit) {
+            int count = Math.min(Math.max(limit, 0), size);
+            List<LeaderboardEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(new LeaderboardEntry(ids[i], values[i]));
+            }
+            return entries;
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            long value = values[a];
+            values[a] = values[b];
+            values[b] = value;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ar.com.plug.examen.domain.service.impl;
+
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Reads products for the in-memory product indexes: the full scan of a rebuild, and the
+ * current state of a product named by a {@link CatalogChangeEvent}.
+ */
+@Component
+public class ProductIndexLoader {
+    private static final int PAGE_SIZE = 10_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Passes every stored product to {@code consumer} in id order, one page at a time. Each
+     * page starts after the last id of the previous one, so no page counts rows or skips an
+     * offset and the scan stays linear in the catalog size.
+     *
+     * @return the number of products read
+     */
+    public int forEachProduct(Consumer<Product> consumer) {
+        int count = 0;
+        long lastId = Long.MIN_VALUE;
+        List<Product> page;
+        do {
+            page = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, PAGE_SIZE));
+            for (Product product : page) {
+                consumer.accept(product);
+                count++;
+                lastId = product.getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        return count;
+    }
+
+    /**
+     * The product as a product change left it, or empty if it was deleted.
+     *
+     * @param event a change of a product
+     */
+    public Optional<Product> productAfter(CatalogChangeEvent event) {
+        // Remote changes carry no entity, and a local delete carries none either
+        return event.isRemote()
+                ? productRepository.findById(event.getEntityId())
+                : Optional.ofNullable((Product) event.getEntity());
+    }
+}
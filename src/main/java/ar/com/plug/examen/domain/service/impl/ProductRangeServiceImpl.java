@@ -0,0 +1,190 @@
+package ar.com.plug.examen.domain.service.impl;
+
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.event.LowStockEvent;
+import ar.com.plug.examen.domain.event.StockChangedEvent;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
+import ar.com.plug.examen.domain.model.MinorUnits;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.search.SortedLongIndex;
+import ar.com.plug.examen.domain.service.ProductRangeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers price-range and low-stock queries from in-memory {@link SortedLongIndex}es
+ * instead of scanning the product table, and raises a {@link LowStockEvent} when a change
+ * made on this node takes a product's stock below {@code inventory.low-stock-threshold}.
+ *
+ * <p>The indexes are loaded from the database on startup and follow product writes through
+ * {@link CatalogChangeEvent}s and sales through {@link StockChangedEvent}s. Units leased
+ * by nodes for hot products are not part of the stored stock, so they are not counted.
+ */
+@Service
+public class ProductRangeServiceImpl implements ProductRangeService {
+    private static final Logger logger = LoggerFactory.getLogger(ProductRangeServiceImpl.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductIndexLoader productIndexLoader;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${inventory.low-stock-threshold:10}")
+    private int lowStockThreshold = 10;
+
+    @Value("${product-index.max-limit:1000}")
+    private int maxLimit = 1000;
+
+    @Value("${product-index.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup = true;
+
+    private volatile Indexes indexes = new Indexes();
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findByPriceBetween(Double min, Double max, int limit) {
+        logger.debug("Retrieving up to {} products priced between {} and {}", limit, min, max);
+        if (min == null || max == null || min > max) {
+            throw new IllegalArgumentException("Invalid price range: " + min + " - " + max);
+        }
+        checkLimit(limit);
+        return load(indexes.prices.range(MinorUnits.of(min), MinorUnits.of(max), limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findLowStock(Integer threshold, int limit) {
+        int below = threshold != null ? threshold : lowStockThreshold;
+        logger.debug("Retrieving up to {} products with stock below {}", limit, below);
+        checkLimit(limit);
+        return load(indexes.stocks.range(Long.MIN_VALUE, below - 1L, limit));
+    }
+
+    /**
+     * Replaces the indexes with ones loaded from the database. Changes made while the
+     * rebuild is running may be missed, so this is meant for startup.
+     */
+    @Override
+    public void rebuild() {
+        logger.info("Rebuilding the product price and stock indexes from the database");
+        try {
+            Indexes rebuilt = new Indexes();
+            productIndexLoader.forEachProduct(rebuilt::put);
+            indexes = rebuilt;
+            logger.info("Indexed the price and stock of {} products", rebuilt.stocks.size());
+        } catch (Exception e) {
+            logger.error("Error rebuilding the product price and stock indexes: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.warn("Product price and stock indexes will start empty: {}", e.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.getEntityType() != CatalogEntityType.PRODUCT) {
+            return;
+        }
+        Optional<Product> product = productIndexLoader.productAfter(event);
+        if (!product.isPresent()) {
+            indexes.remove(event.getEntityId());
+            return;
+        }
+        Long previousStock = indexes.put(product.get());
+        // The node that made a remote change raises its alert
+        if (!event.isRemote()) {
+            checkLowStock(event.getEntityId(), previousStock, product.get().getStock());
+        }
+    }
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        Long previousStock = indexes.stocks.put(event.getProductId(), event.getStock());
+        checkLowStock(event.getProductId(), previousStock, event.getStock());
+    }
+
+    private void checkLowStock(Long productId, Long previousStock, Integer stock) {
+        if (previousStock != null && stock != null && previousStock >= lowStockThreshold && stock < lowStockThreshold) {
+            logger.warn("Stock of product {} dropped to {}", productId, stock);
+            eventPublisher.publishEvent(new LowStockEvent(productId, stock, lowStockThreshold));
+        }
+    }
+
+    private void checkLimit(int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + maxLimit);
+        }
+    }
+
+    /**
+     * Loads the products by id, keeping the index order.
+     */
+    private List<Product> load(List<Long> ids) {
+        Map<Long, Product> byId = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            byId.put(product.getId(), product);
+        }
+        List<Product> products = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = byId.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    private static final class Indexes {
+        private final SortedLongIndex prices = new SortedLongIndex();
+        private final SortedLongIndex stocks = new SortedLongIndex();
+
+        /**
+         * Indexes the product's price and stock.
+         *
+         * @return the stock indexed before, or {@code null} if there was none
+         */
+        Long put(Product product) {
+            if (product.getPrice() != null) {
+                prices.put(product.getId(), MinorUnits.of(product.getPrice()));
+            } else {
+                prices.remove(product.getId());
+            }
+            return product.getStock() != null
+                    ? stocks.put(product.getId(), product.getStock())
+                    : stocks.remove(product.getId());
+        }
+
+        void remove(Long productId) {
+            prices.remove(productId);
+            stocks.remove(productId);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ar.com.plug.examen.domain.service.impl;
+
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.search.NGramIndex;
+import ar.com.plug.examen.domain.service.ProductSearchService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves product name type-ahead from an in-memory {@link NGramIndex}, loaded from the
+ * database on startup and kept current through {@link CatalogChangeEvent}s, including the
+ * changes other nodes make.
+ */
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchServiceImpl.class);
+
+    @Autowired
+    private ProductIndexLoader productIndexLoader;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${product-search.max-limit:100}")
+    private int maxLimit = 100;
+
+    @Value("${product-search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup = true;
+
+    private volatile NGramIndex index = new NGramIndex();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("product.search.index.size", this, ProductSearchService::getIndexedCount)
+                .description("Product names in the search index")
+                .register(meterRegistry);
+        Gauge.builder("product.search.index.memory", this, ProductSearchService::getIndexMemoryBytes)
+                .description("Estimated heap used by the product search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<Long> search(String query, int limit) {
+        logger.debug("Searching products matching: {}", query);
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("The search query must not be empty");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + maxLimit);
+        }
+        return index.search(query, limit);
+    }
+
+    /**
+     * Replaces the index with one loaded from the database. Changes made while the rebuild
+     * is running may be missed, so this is meant for startup.
+     */
+    @Override
+    public void rebuild() {
+        logger.info("Rebuilding the product search index from the database");
+        try {
+            NGramIndex rebuilt = new NGramIndex();
+            productIndexLoader.forEachProduct(product -> rebuilt.put(product.getId(), product.getName()));
+            index = rebuilt;
+            logger.info("Indexed {} product names in about {} KB", rebuilt.size(), rebuilt.estimatedBytes() / 1024);
+        } catch (Exception e) {
+            logger.error("Error rebuilding the product search index: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public int getIndexedCount() {
+        return index.size();
+    }
+
+    @Override
+    public long getIndexMemoryBytes() {
+        return index.estimatedBytes();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.warn("Product search will start empty: {}", e.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.getEntityType() != CatalogEntityType.PRODUCT) {
+            return;
+        }
+        Optional<Product> product = productIndexLoader.productAfter(event);
+        if (product.isPresent()) {
+            index.put(event.getEntityId(), product.get().getName());
+        } else {
+            index.remove(event.getEntityId());
+        }
+    }
+}
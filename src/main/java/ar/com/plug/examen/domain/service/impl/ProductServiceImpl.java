@@ -1,15 +1,24 @@
 package ar.com.plug.examen.domain.service.impl;
 
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.model.BatchLookup;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
 import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.repository.EntityBatchLoader;
 import ar.com.plug.examen.domain.repository.ProductRepository;
 import ar.com.plug.examen.domain.service.ProductService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 public class ProductServiceImpl implements ProductService {
@@ -18,11 +27,18 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private EntityBatchLoader entityBatchLoader;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public Product createProduct(Product product) {
         logger.debug("Creating product with details: {}", product);
         try {
             Product savedProduct = productRepository.save(product);
+            eventPublisher.publishEvent(CatalogChangeEvent.saved(CatalogEntityType.PRODUCT, savedProduct.getId(), savedProduct));
             logger.debug("Product created successfully: {}", savedProduct);
             return savedProduct;
         } catch (Exception e) {
@@ -32,12 +48,21 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
+        return getAllProducts(Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> List<R> getAllProducts(Function<? super Product, R> mapper) {
         logger.debug("Retrieving all products");
         try {
             List<Product> products = productRepository.findAll();
             logger.debug("Retrieved {} products", products.size());
-            return products;
+            List<R> mapped = new ArrayList<>(products.size());
+            products.forEach(product -> mapped.add(mapper.apply(product)));
+            return mapped;
         } catch (Exception e) {
             logger.error("Error retrieving products: {}", e.getMessage());
             throw e;
@@ -45,12 +70,19 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Product> getProductById(Long id) {
+        return getProductById(id, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> Optional<R> getProductById(Long id, Function<? super Product, R> mapper) {
         logger.debug("Retrieving product by id: {}", id);
         try {
             Optional<Product> product = productRepository.findById(id);
             product.ifPresent(p -> logger.debug("Product retrieved successfully: {}", p));
-            return product;
+            return product.map(mapper);
         } catch (Exception e) {
             logger.error("Error retrieving product by id: {}", e.getMessage());
             throw e;
@@ -58,17 +90,53 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public BatchLookup<Product> getProductsByIds(List<Long> ids) {
+        return getProductsByIds(ids, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> BatchLookup<R> getProductsByIds(List<Long> ids, Function<? super Product, R> mapper) {
+        logger.debug("Retrieving products by ids: {}", ids);
+        try {
+            BatchLookup<Product> lookup = entityBatchLoader.load(productRepository, Product.class, Product::getId, ids);
+            logger.debug("Retrieved {} products, {} missing", lookup.getItems().size(), lookup.getMissingIds().size());
+            return lookup.map(mapper);
+        } catch (Exception e) {
+            logger.error("Error retrieving products by ids: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
     public Product updateProduct(Long id, Product productDetails) {
+        return updateProduct(id, productDetails, Function.identity());
+    }
+
+    /**
+     * Updates the name and price. Stock is only changed through
+     * {@link ar.com.plug.examen.domain.service.InventoryService#adjustStock}: the row is
+     * locked so the update cannot write back a stock value a concurrent sale has already
+     * changed, and an absolute stock value could not account for units leased to nodes.
+     */
+    @Override
+    @Transactional
+    public <R> R updateProduct(Long id, Product productDetails, Function<? super Product, R> mapper) {
         logger.debug("Updating product with id: {}", id);
         try {
-            Product product = productRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Product not found"));
+            if (productDetails.getStock() != null) {
+                throw new IllegalArgumentException("Stock cannot be set on update, adjust it instead");
+            }
+            Product product = productRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new NoSuchElementException("Product not found"));
             product.setName(productDetails.getName());
             product.setPrice(productDetails.getPrice());
-            product.setStock(productDetails.getStock());
             Product updatedProduct = productRepository.save(product);
+            eventPublisher.publishEvent(CatalogChangeEvent.saved(CatalogEntityType.PRODUCT, id, updatedProduct));
             logger.debug("Product updated successfully: {}", updatedProduct);
-            return updatedProduct;
+            return mapper.apply(updatedProduct);
         } catch (Exception e) {
             logger.error("Error updating product: {}", e.getMessage());
             throw e;
@@ -80,6 +148,7 @@ public class ProductServiceImpl implements ProductService {
         logger.debug("Deleting product with id: {}", id);
         try {
             productRepository.deleteById(id);
+            eventPublisher.publishEvent(CatalogChangeEvent.deleted(CatalogEntityType.PRODUCT, id));
             logger.debug("Product deleted successfully");
         } catch (Exception e) {
             logger.error("Error deleting product: {}", e.getMessage());
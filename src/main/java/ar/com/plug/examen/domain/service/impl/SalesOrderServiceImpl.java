@@ -0,0 +1,129 @@
+package ar.com.plug.examen.domain.service.impl;
+
+import ar.com.plug.examen.domain.model.MinorUnits;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.SalesOrder;
+import ar.com.plug.examen.domain.model.SalesOrderLine;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.SalesOrderRepository;
+import ar.com.plug.examen.domain.service.InventoryService;
+import ar.com.plug.examen.domain.service.SalesOrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Creates an order and all its lines in one database transaction: the stock of every
+ * product is reserved in a single pass ordered by product id, and the lines are inserted
+ * as one JDBC batch when the order is flushed.
+ */
+@Service
+public class SalesOrderServiceImpl implements SalesOrderService {
+    private static final Logger logger = LoggerFactory.getLogger(SalesOrderServiceImpl.class);
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.enabled:false}")
+    private boolean inventoryEnabled;
+
+    @Value("${orders.max-lines:500}")
+    private int maxLines = 500;
+
+    @Override
+    public SalesOrder createOrder(SalesOrder order) {
+        logger.debug("Creating order with {} lines", order.getLines() != null ? order.getLines().size() : 0);
+        try {
+            Map<Long, Integer> quantities = quantitiesOf(order);
+            priceLines(order, quantities);
+            SalesOrder savedOrder = transactionTemplate.execute(status -> {
+                if (inventoryEnabled) {
+                    inventoryService.reserveAll(quantities);
+                }
+                return salesOrderRepository.save(order);
+            });
+            logger.debug("Order {} created with {} lines", savedOrder.getId(), savedOrder.getLines().size());
+            return savedOrder;
+        } catch (Exception e) {
+            logger.error("Error creating order: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SalesOrder> getOrderById(Long id) {
+        logger.debug("Retrieving order by id: {}", id);
+        try {
+            Optional<SalesOrder> order = salesOrderRepository.findWithLinesById(id);
+            order.ifPresent(o -> logger.debug("Order retrieved successfully: {}", o.getId()));
+            return order;
+        } catch (Exception e) {
+            logger.error("Error retrieving order by id: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Validates the lines and adds up the quantity of each product, sorted by product id.
+     */
+    private Map<Long, Integer> quantitiesOf(SalesOrder order) {
+        if (order.getLines() == null || order.getLines().isEmpty() || order.getLines().size() > maxLines) {
+            throw new IllegalArgumentException("An order needs between 1 and " + maxLines + " lines");
+        }
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (SalesOrderLine line : order.getLines()) {
+            if (line.getProduct() == null || line.getProduct().getId() == null
+                    || line.getQuantity() == null || line.getQuantity() < 1) {
+                throw new IllegalArgumentException("Every line needs a product and a positive quantity");
+            }
+            quantities.merge(line.getProduct().getId(), line.getQuantity(), Math::addExact);
+        }
+        return quantities;
+    }
+
+    /**
+     * Loads every product of the order with one query and copies its price onto the lines.
+     */
+    private void priceLines(SalesOrder order, Map<Long, Integer> quantities) {
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(quantities.keySet())) {
+            products.put(product.getId(), product);
+        }
+        long orderTotal = 0;
+        for (SalesOrderLine line : order.getLines()) {
+            Product product = products.get(line.getProduct().getId());
+            if (product == null) {
+                throw new IllegalArgumentException("Unknown product " + line.getProduct().getId());
+            }
+            line.setOrder(order);
+            line.setProduct(product);
+            line.setUnitPriceMinor(MinorUnits.of(product.getPrice()));
+            line.setTotalMinor(MinorUnits.lineTotal(product.getPrice(), line.getQuantity()));
+            orderTotal += line.getTotalMinor();
+        }
+        order.setTotalMinor(orderTotal);
+        if (order.getDate() == null) {
+            order.setDate(LocalDateTime.now());
+        }
+    }
+}
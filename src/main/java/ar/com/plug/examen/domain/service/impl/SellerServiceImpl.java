@@ -1,15 +1,27 @@
 package ar.com.plug.examen.domain.service.impl;
 
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.model.BatchLookup;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
 import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.repository.EntityBatchLoader;
 import ar.com.plug.examen.domain.repository.SellerRepository;
 import ar.com.plug.examen.domain.service.SellerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
 
 @Service
 public class SellerServiceImpl implements SellerService {
@@ -18,11 +30,18 @@ public class SellerServiceImpl implements SellerService {
     @Autowired
     private SellerRepository sellerRepository;
 
+    @Autowired
+    private EntityBatchLoader entityBatchLoader;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public Seller createSeller(Seller seller) {
         logger.debug("Creating seller with details: {}", seller);
         try {
             Seller savedSeller = sellerRepository.save(seller);
+            eventPublisher.publishEvent(CatalogChangeEvent.saved(CatalogEntityType.SELLER, savedSeller.getId(), savedSeller));
             logger.debug("Seller created successfully: {}", savedSeller);
             return savedSeller;
         } catch (Exception e) {
@@ -32,12 +51,21 @@ public class SellerServiceImpl implements SellerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Seller> getAllSellers() {
+        return getAllSellers(Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> List<R> getAllSellers(Function<? super Seller, R> mapper) {
         logger.debug("Retrieving all sellers");
         try {
             List<Seller> sellers = sellerRepository.findAll();
             logger.debug("Retrieved {} sellers", sellers.size());
-            return sellers;
+            List<R> mapped = new ArrayList<>(sellers.size());
+            sellers.forEach(seller -> mapped.add(mapper.apply(seller)));
+            return mapped;
         } catch (Exception e) {
             logger.error("Error retrieving sellers: {}", e.getMessage());
             throw e;
@@ -45,12 +73,19 @@ public class SellerServiceImpl implements SellerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Seller> getSellerById(Long id) {
+        return getSellerById(id, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> Optional<R> getSellerById(Long id, Function<? super Seller, R> mapper) {
         logger.debug("Retrieving seller by id: {}", id);
         try {
             Optional<Seller> seller = sellerRepository.findById(id);
             seller.ifPresent(s -> logger.debug("Seller retrieved successfully: {}", s));
-            return seller;
+            return seller.map(mapper);
         } catch (Exception e) {
             logger.error("Error retrieving seller by id: {}", e.getMessage());
             throw e;
@@ -58,7 +93,34 @@ public class SellerServiceImpl implements SellerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public BatchLookup<Seller> getSellersByIds(List<Long> ids) {
+        return getSellersByIds(ids, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> BatchLookup<R> getSellersByIds(List<Long> ids, Function<? super Seller, R> mapper) {
+        logger.debug("Retrieving sellers by ids: {}", ids);
+        try {
+            BatchLookup<Seller> lookup = entityBatchLoader.load(sellerRepository, Seller.class, Seller::getId, ids);
+            logger.debug("Retrieved {} sellers, {} missing", lookup.getItems().size(), lookup.getMissingIds().size());
+            return lookup.map(mapper);
+        } catch (Exception e) {
+            logger.error("Error retrieving sellers by ids: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
     public Seller updateSeller(Long id, Seller sellerDetails) {
+        return updateSeller(id, sellerDetails, Function.identity());
+    }
+
+    @Override
+    @Transactional
+    public <R> R updateSeller(Long id, Seller sellerDetails, Function<? super Seller, R> mapper) {
         logger.debug("Updating seller with id: {}", id);
         try {
             Seller seller = sellerRepository.findById(id)
@@ -66,8 +128,9 @@ public class SellerServiceImpl implements SellerService {
             seller.setName(sellerDetails.getName());
             seller.setEmail(sellerDetails.getEmail());
             Seller updatedSeller = sellerRepository.save(seller);
+            eventPublisher.publishEvent(CatalogChangeEvent.saved(CatalogEntityType.SELLER, id, updatedSeller));
             logger.debug("Seller updated successfully: {}", updatedSeller);
-            return updatedSeller;
+            return mapper.apply(updatedSeller);
         } catch (Exception e) {
             logger.error("Error updating seller: {}", e.getMessage());
             throw e;
@@ -79,10 +142,69 @@ public class SellerServiceImpl implements SellerService {
         logger.debug("Deleting seller with id: {}", id);
         try {
             sellerRepository.deleteById(id);
+            eventPublisher.publishEvent(CatalogChangeEvent.deleted(CatalogEntityType.SELLER, id));
             logger.debug("Seller deleted successfully");
         } catch (Exception e) {
             logger.error("Error deleting seller: {}", e.getMessage());
             throw e;
         }
     }
+
+    @Override
+    public Seller upsertSellerByEmail(String email, Seller sellerDetails) {
+        if (sellerDetails == null) {
+            throw new IllegalArgumentException("Missing seller details");
+        }
+        Seller seller = new Seller();
+        seller.setEmail(email);
+        seller.setName(sellerDetails.getName());
+        return upsertSellersByEmail(Collections.singletonList(seller)).get(0);
+    }
+
+    /**
+     * Creates the sellers whose email is not stored yet and renames the others, in one
+     * statement, so integrations do not have to look them up first. When an email is
+     * repeated, its last entry wins.
+     */
+    @Override
+    public List<Seller> upsertSellersByEmail(List<Seller> sellers) {
+        logger.debug("Upserting {} sellers by email", sellers == null ? 0 : sellers.size());
+        try {
+            if (sellers == null || sellers.isEmpty()) {
+                throw new IllegalArgumentException("No sellers to upsert");
+            }
+            Map<String, Seller> byEmail = new LinkedHashMap<>();
+            for (Seller seller : sellers) {
+                String email = seller.getEmail() != null ? seller.getEmail().trim() : "";
+                if (email.isEmpty()) {
+                    throw new IllegalArgumentException("Every seller needs an email");
+                }
+                Seller row = new Seller();
+                row.setEmail(email);
+                row.setName(seller.getName());
+                byEmail.put(email, row);
+            }
+            sellerRepository.upsertByEmail(new ArrayList<>(byEmail.values()));
+
+            // MySQL compares emails case-insensitively, so match the stored rows the same way
+            Map<String, Seller> stored = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Seller seller : sellerRepository.findByEmailIn(byEmail.keySet())) {
+                stored.put(seller.getEmail(), seller);
+            }
+            List<Seller> upserted = new ArrayList<>(byEmail.size());
+            for (String email : byEmail.keySet()) {
+                Seller seller = stored.get(email);
+                if (seller == null) {
+                    throw new IllegalStateException("Seller " + email + " was deleted while being upserted");
+                }
+                upserted.add(seller);
+                eventPublisher.publishEvent(CatalogChangeEvent.saved(CatalogEntityType.SELLER, seller.getId(), seller));
+            }
+            logger.debug("Upserted {} sellers", upserted.size());
+            return upserted;
+        } catch (Exception e) {
+            logger.error("Error upserting sellers: {}", e.getMessage());
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,351 @@
+package ar.com.plug.examen.domain.service.impl;
+
+import ar.com.plug.examen.domain.exception.InsufficientStockException;
+import ar.com.plug.examen.domain.model.RejectedIntake;
+import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.repository.RejectedIntakeRepository;
+import ar.com.plug.examen.domain.repository.TransactionRepository;
+import ar.com.plug.examen.domain.service.TransactionIntakeService;
+import ar.com.plug.examen.domain.service.TransactionService;
+import ar.com.plug.examen.domain.wal.WalRecord;
+import ar.com.plug.examen.domain.wal.WriteAheadLog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable intake for transactions: a request is acknowledged as soon as it is synced to the
+ * local {@link WriteAheadLog}, and a single applier thread writes the log to the database in
+ * batches, checkpointing after each one.
+ *
+ * <p>Every record is applied with the intake id {@code <node-id>-<sequence>}, which is unique
+ * in the transaction table. Records applied just before a crash but not yet checkpointed are
+ * replayed on startup and filtered out by that id, so each one is applied exactly once.
+ * Records that are rejected (an unknown product, not enough stock) are stored in
+ * {@link RejectedIntake} with the reason, which is final; any other failure retries the batch.
+ *
+ * <p>At most {@code transaction-intake.max-pending} records wait to be applied. Beyond that
+ * {@link #submit} blocks for up to {@code transaction-intake.submit-timeout} and then fails,
+ * so a database outage slows callers down instead of growing the heap without bound.
+ *
+ * <p>Unless {@code transaction-intake.node-id} is set, the node id is generated on the first
+ * start and kept in the log directory, so it stays the same for as long as the log does.
+ */
+@Service
+@Lazy(false) // Recovery must run on startup, not on the first request
+@ConditionalOnProperty(name = "transaction-intake.enabled", havingValue = "true")
+public class TransactionIntakeServiceImpl implements TransactionIntakeService {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionIntakeServiceImpl.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RejectedIntakeRepository rejectedIntakeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${transaction-intake.directory:data/wal}")
+    private String directory = "data/wal";
+
+    @Value("${transaction-intake.segment-size:64MB}")
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    private static final String NODE_ID_FILE = "node-id";
+
+    @Value("${transaction-intake.node-id:}")
+    private String nodeId = "";
+
+    @Value("${transaction-intake.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${transaction-intake.retry-delay:1s}")
+    private Duration retryDelay = Duration.ofSeconds(1);
+
+    @Value("${transaction-intake.max-pending:10000}")
+    private int maxPending = 10000;
+
+    @Value("${transaction-intake.submit-timeout:5s}")
+    private Duration submitTimeout = Duration.ofSeconds(5);
+
+    // Bounded by capacity rather than by the queue itself: records are queued while the log's
+    // append lock is held, and a full queue must not block the applier's sync behind it
+    private final BlockingQueue<WalRecord> pending = new LinkedBlockingQueue<>();
+
+    // One permit per record that may still be queued; recovered records can take it negative
+    private Semaphore capacity;
+
+    // Only touched by the applier thread; kept across retries of a failed batch
+    private final List<WalRecord> batch = new ArrayList<>();
+
+    private WriteAheadLog log;
+
+    private Thread applier;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        recover();
+        running = true;
+        applier = new Thread(this::applyLoop, "transaction-intake-applier");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    /**
+     * Stops the applier after its current batch. Whatever is still pending stays in the log
+     * and is applied after the next start.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (applier != null) {
+            applier.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    void recover() throws IOException {
+        log = WriteAheadLog.open(Paths.get(directory), (int) segmentSize.toBytes());
+        if (!StringUtils.hasText(nodeId)) {
+            nodeId = readOrCreateNodeId(Paths.get(directory));
+        }
+        log.replay(pending::add);
+        capacity = new Semaphore(maxPending - pending.size());
+        if (!pending.isEmpty()) {
+            logger.info("Recovered {} unapplied intake records", pending.size());
+        }
+    }
+
+    @Override
+    public String submit(Transaction transaction) {
+        logger.debug("Submitting transaction to intake: {}", transaction);
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction is required");
+        }
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(transaction);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Transaction cannot be serialized", e);
+        }
+        acquireCapacity();
+        try {
+            // Records enter the queue in sequence order, so checkpoints never skip one
+            long sequence = log.append(payload, seq -> pending.add(new WalRecord(seq, payload)));
+            String intakeId = intakeId(sequence);
+            logger.debug("Transaction accepted with intake id: {}", intakeId);
+            return intakeId;
+        } catch (IOException e) {
+            capacity.release();
+            logger.error("Error appending transaction to the write-ahead log: {}", e.getMessage());
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private void acquireCapacity() {
+        try {
+            if (!capacity.tryAcquire(submitTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Intake backlog is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for intake capacity", e);
+        }
+    }
+
+    @Override
+    public Optional<Transaction> getAppliedTransaction(String intakeId) {
+        logger.debug("Retrieving transaction by intake id: {}", intakeId);
+        try {
+            return transactionRepository.findByIntakeId(intakeId);
+        } catch (Exception e) {
+            logger.error("Error retrieving transaction by intake id: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<RejectedIntake> getRejection(String intakeId) {
+        logger.debug("Retrieving rejection by intake id: {}", intakeId);
+        try {
+            return rejectedIntakeRepository.findById(intakeId);
+        } catch (Exception e) {
+            logger.error("Error retrieving rejection by intake id: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    private void applyLoop() {
+        while (running) {
+            try {
+                applyNextBatch(POLL_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Error applying intake batch, retrying in {}: {}", retryDelay, e.getMessage());
+                try {
+                    Thread.sleep(retryDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies up to {@code batch-size} records and checkpoints them. A batch that fails is
+     * kept and retried by the next call.
+     *
+     * @return the number of records taken from the log
+     */
+    int applyNextBatch(long timeoutMillis) throws IOException, InterruptedException {
+        if (batch.isEmpty()) {
+            WalRecord first = pending.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return 0;
+            }
+            batch.add(first);
+            pending.drainTo(batch, batchSize - 1);
+        }
+        long last = batch.get(batch.size() - 1).getSequence();
+        // Never apply a record before its submitter has been acknowledged
+        log.sync(last);
+        apply(batch);
+        log.checkpoint(last);
+        int applied = batch.size();
+        batch.clear();
+        capacity.release(applied);
+        return applied;
+    }
+
+    private void apply(List<WalRecord> records) {
+        Map<String, WalRecord> byIntakeId = new LinkedHashMap<>();
+        for (WalRecord record : records) {
+            byIntakeId.put(intakeId(record.getSequence()), record);
+        }
+        // Applied and rejected records are both final, even if replayed after a crash
+        Set<String> settled = new HashSet<>(transactionRepository.findExistingIntakeIds(byIntakeId.keySet()));
+        settled.addAll(rejectedIntakeRepository.findExistingIntakeIds(byIntakeId.keySet()));
+        byIntakeId.keySet().removeAll(settled);
+        if (byIntakeId.isEmpty()) {
+            return;
+        }
+        Map<String, Transaction> transactions = new LinkedHashMap<>();
+        List<RejectedIntake> rejections = new ArrayList<>();
+        for (Map.Entry<String, WalRecord> entry : byIntakeId.entrySet()) {
+            try {
+                Transaction transaction = objectMapper.readValue(entry.getValue().getPayload(), Transaction.class);
+                transaction.setIntakeId(entry.getKey());
+                transactions.put(entry.getKey(), transaction);
+            } catch (IOException e) {
+                logger.error("Rejecting unreadable intake record {}: {}", entry.getKey(), e.getMessage());
+                rejections.add(rejection(entry.getKey(), entry.getValue(), "Unreadable record: " + e.getMessage()));
+            }
+        }
+        try {
+            if (!transactions.isEmpty()) {
+                transactionService.createTransactions(new ArrayList<>(transactions.values()));
+            }
+        } catch (DataIntegrityViolationException | IllegalArgumentException | InsufficientStockException e) {
+            // Isolate the offending records instead of failing the whole batch forever
+            for (Map.Entry<String, Transaction> entry : transactions.entrySet()) {
+                try {
+                    // The rolled back batch may have assigned an id already
+                    entry.getValue().setId(null);
+                    transactionService.createTransaction(entry.getValue());
+                } catch (DataIntegrityViolationException | IllegalArgumentException | InsufficientStockException rejected) {
+                    logger.error("Rejecting intake record {}: {}", entry.getKey(), rejected.getMessage());
+                    rejections.add(rejection(entry.getKey(), byIntakeId.get(entry.getKey()), rejected.getMessage()));
+                }
+            }
+        }
+        if (!rejections.isEmpty()) {
+            rejectedIntakeRepository.saveAll(rejections);
+        }
+    }
+
+    private static RejectedIntake rejection(String intakeId, WalRecord record, String reason) {
+        RejectedIntake rejection = new RejectedIntake();
+        rejection.setIntakeId(intakeId);
+        rejection.setPayload(record.getPayload());
+        rejection.setReason(reason == null || reason.length() <= RejectedIntake.MAX_REASON_LENGTH
+                ? reason : reason.substring(0, RejectedIntake.MAX_REASON_LENGTH));
+        rejection.setRejectedAt(LocalDateTime.now());
+        return rejection;
+    }
+
+    /**
+     * Reads the node id kept in {@code directory}, generating and syncing one if there is none.
+     */
+    private static String readOrCreateNodeId(Path directory) throws IOException {
+        Path path = directory.resolve(NODE_ID_FILE);
+        if (Files.exists(path)) {
+            return new String(Files.readAllBytes(path), StandardCharsets.US_ASCII).trim();
+        }
+        String generated = UUID.randomUUID().toString();
+        Path temporary = directory.resolve(NODE_ID_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(generated.getBytes(StandardCharsets.US_ASCII)));
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Generated intake node id {}", generated);
+        return generated;
+    }
+
+    private String intakeId(long sequence) {
+        return nodeId + "-" + sequence;
+    }
+}
@@ -1,28 +1,129 @@
 package ar.com.plug.examen.domain.service.impl;
 
+import ar.com.plug.examen.domain.batch.MicroBatcher;
+import ar.com.plug.examen.domain.model.BatchLookup;
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.MinorUnits;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
 import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.model.TransactionSummary;
+import ar.com.plug.examen.domain.repository.ClientRepository;
+import ar.com.plug.examen.domain.repository.EntityBatchLoader;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.SellerRepository;
 import ar.com.plug.examen.domain.repository.TransactionRepository;
+import ar.com.plug.examen.domain.service.InventoryService;
+import ar.com.plug.examen.domain.service.LeaderboardService;
 import ar.com.plug.examen.domain.service.TransactionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 @Service
 public class TransactionServiceImpl implements TransactionService {
     private static final Logger logger = LoggerFactory.getLogger(TransactionServiceImpl.class);
 
+    private static final int MAX_PAGE_SIZE = 500;
+    // Bounds used when the caller does not restrict the date range (MySQL DATETIME limits)
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private EntityBatchLoader entityBatchLoader;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Value("${inventory.enabled:false}")
+    private boolean inventoryEnabled;
+
+    @Value("${transaction-batching.enabled:false}")
+    private boolean batchingEnabled;
+
+    @Value("${transaction-batching.max-batch-size:64}")
+    private int maxBatchSize = 64;
+
+    @Value("${transaction-batching.linger:500us}")
+    private Duration linger = Duration.ofNanos(500_000);
+
+    @Value("${transaction-batching.max-pending:10000}")
+    private int maxPending = 10000;
+
+    // Group commit for concurrent creates: one saveAll and one commit per batch
+    private MicroBatcher<Transaction, Transaction> batcher;
+
+    @PostConstruct
+    public void init() {
+        if (batchingEnabled) {
+            batcher = new MicroBatcher<>("transaction-batcher", maxBatchSize, linger, maxPending,
+                    transactionRepository::saveAll, this::saveAlone);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
     @Override
     public Transaction createTransaction(Transaction transaction) {
         logger.debug("Creating transaction with details: {}", transaction);
         try {
-            Transaction savedTransaction = transactionRepository.save(transaction);
+            snapshotPrices(Collections.singletonList(transaction));
+            bindReferences(transaction);
+            reserveStock(transaction);
+            Transaction savedTransaction;
+            try {
+                savedTransaction = batcher != null
+                        ? saveBatched(transaction)
+                        : transactionRepository.save(transaction);
+            } catch (RuntimeException e) {
+                releaseStock(transaction);
+                throw e;
+            }
+            leaderboardService.recordSale(savedTransaction);
             logger.debug("Transaction created successfully: {}", savedTransaction);
             return savedTransaction;
         } catch (Exception e) {
@@ -31,13 +132,142 @@ public class TransactionServiceImpl implements TransactionService {
         }
     }
 
+    /**
+     * Copies the stored product price and the line total onto each transaction. Any price on
+     * the given product is ignored, so a caller cannot set what it pays. The prices are loaded
+     * with a single query, or read by id for a single product so that the second-level cache
+     * can answer without one.
+     */
+    private void snapshotPrices(List<Transaction> transactions) {
+        Set<Long> productIds = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            Product product = transaction.getProduct();
+            if (product != null && product.getId() != null) {
+                productIds.add(product.getId());
+            }
+        }
+        Map<Long, Double> prices = new HashMap<>();
+        if (productIds.size() == 1) {
+            Long productId = productIds.iterator().next();
+            productRepository.findById(productId).ifPresent(product -> prices.put(productId, product.getPrice()));
+        } else if (!productIds.isEmpty()) {
+            for (Product product : productRepository.findAllById(productIds)) {
+                prices.put(product.getId(), product.getPrice());
+            }
+        }
+        for (Transaction transaction : transactions) {
+            Product product = transaction.getProduct();
+            Double price = product == null ? null : prices.get(product.getId());
+            if (price == null) {
+                transaction.setUnitPriceMinor(null);
+                transaction.setTotalMinor(null);
+                continue;
+            }
+            transaction.setUnitPriceMinor(MinorUnits.of(price));
+            transaction.setTotalMinor(MinorUnits.lineTotal(price, transaction.getQuantity()));
+        }
+    }
+
+    /**
+     * Replaces the product, client and seller with references by id, so saving the
+     * transaction is a single insert. An unknown id fails that insert on its foreign key.
+     */
+    private void bindReferences(Transaction transaction) {
+        Product product = transaction.getProduct();
+        if (product != null && product.getId() != null) {
+            transaction.setProduct(productRepository.getOne(product.getId()));
+        }
+        Client client = transaction.getClient();
+        if (client != null && client.getId() != null) {
+            transaction.setClient(clientRepository.getOne(client.getId()));
+        }
+        Seller seller = transaction.getSeller();
+        if (seller != null && seller.getId() != null) {
+            transaction.setSeller(sellerRepository.getOne(seller.getId()));
+        }
+    }
+
+    private void reserveStock(Transaction transaction) {
+        if (tracksStock(transaction)) {
+            inventoryService.reserve(transaction.getProduct().getId(), transaction.getQuantity());
+        }
+    }
+
+    private void releaseStock(Transaction transaction) {
+        if (tracksStock(transaction)) {
+            inventoryService.release(transaction.getProduct().getId(), transaction.getQuantity());
+        }
+    }
+
+    private boolean tracksStock(Transaction transaction) {
+        return inventoryEnabled && transaction.getProduct() != null && transaction.getProduct().getId() != null
+                && transaction.getQuantity() != null;
+    }
+
+    private Transaction saveAlone(Transaction transaction) {
+        // The rolled back batch may have assigned an id already
+        transaction.setId(null);
+        return transactionRepository.save(transaction);
+    }
+
+    private Transaction saveBatched(Transaction transaction) {
+        try {
+            return batcher.submit(transaction).join();
+        } catch (CompletionException e) {
+            // Surface the caller's own failure, as the unbatched save would
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates every transaction or none, in one transaction: the stock of all of them is
+     * reserved in a single ordered pass and rolls back with the inserts.
+     */
+    @Override
+    @Transactional
+    public List<Transaction> createTransactions(List<Transaction> transactions) {
+        logger.debug("Creating {} transactions", transactions.size());
+        try {
+            snapshotPrices(transactions);
+            transactions.forEach(this::bindReferences);
+            Map<Long, Integer> quantities = new TreeMap<>();
+            for (Transaction transaction : transactions) {
+                if (tracksStock(transaction)) {
+                    quantities.merge(transaction.getProduct().getId(), transaction.getQuantity(), Integer::sum);
+                }
+            }
+            if (!quantities.isEmpty()) {
+                inventoryService.reserveAll(quantities);
+            }
+            List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+            recordSalesOnCommit(savedTransactions);
+            logger.debug("Created {} transactions", savedTransactions.size());
+            return savedTransactions;
+        } catch (Exception e) {
+            logger.error("Error creating transactions: {}", e.getMessage());
+            throw e;
+        }
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<Transaction> getAllTransactions() {
+        return getAllTransactions(Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> List<R> getAllTransactions(Function<? super Transaction, R> mapper) {
         logger.debug("Retrieving all transactions");
         try {
             List<Transaction> transactions = transactionRepository.findAll();
             logger.debug("Retrieved {} transactions", transactions.size());
-            return transactions;
+            List<R> mapped = new ArrayList<>(transactions.size());
+            transactions.forEach(transaction -> mapped.add(mapper.apply(transaction)));
+            return mapped;
         } catch (Exception e) {
             logger.error("Error retrieving transactions: {}", e.getMessage());
             throw e;
@@ -45,12 +275,19 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Transaction> getTransactionById(Long id) {
+        return getTransactionById(id, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> Optional<R> getTransactionById(Long id, Function<? super Transaction, R> mapper) {
         logger.debug("Retrieving transaction by id: {}", id);
         try {
             Optional<Transaction> transaction = transactionRepository.findById(id);
             transaction.ifPresent(t -> logger.debug("Transaction retrieved successfully: {}", t));
-            return transaction;
+            return transaction.map(mapper);
         } catch (Exception e) {
             logger.error("Error retrieving transaction by id: {}", e.getMessage());
             throw e;
@@ -58,18 +295,87 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public BatchLookup<Transaction> getTransactionsByIds(List<Long> ids) {
+        return getTransactionsByIds(ids, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <R> BatchLookup<R> getTransactionsByIds(List<Long> ids, Function<? super Transaction, R> mapper) {
+        logger.debug("Retrieving transactions by ids: {}", ids);
+        try {
+            BatchLookup<Transaction> lookup = entityBatchLoader.load(transactionRepository, Transaction.class, Transaction::getId, ids);
+            logger.debug("Retrieved {} transactions, {} missing", lookup.getItems().size(), lookup.getMissingIds().size());
+            return lookup.map(mapper);
+        } catch (Exception e) {
+            logger.error("Error retrieving transactions by ids: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
     public Transaction approveTransaction(Long id) {
+        return approveTransaction(id, Function.identity());
+    }
+
+    /**
+     * Approves with a conditional update, so of two concurrent approvals only the one that
+     * flips the flag counts the sale on the leaderboard.
+     */
+    @Override
+    @Transactional
+    public <R> R approveTransaction(Long id, Function<? super Transaction, R> mapper) {
         logger.debug("Approving transaction with id: {}", id);
         try {
-            Transaction transaction = transactionRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Transaction not found"));
-            transaction.setApproved(true);
-            Transaction approvedTransaction = transactionRepository.save(transaction);
+            boolean approvedNow = transactionRepository.approve(id) > 0;
+            Transaction approvedTransaction = transactionRepository.findById(id)
+                    .orElseThrow(() -> new NoSuchElementException("Transaction not found"));
+            if (approvedNow) {
+                recordSalesOnCommit(Collections.singletonList(approvedTransaction));
+            }
             logger.debug("Transaction approved successfully: {}", approvedTransaction);
-            return approvedTransaction;
+            return mapper.apply(approvedTransaction);
         } catch (Exception e) {
             logger.error("Error approving transaction: {}", e.getMessage());
             throw e;
         }
     }
+
+    // The leaderboard is kept in memory, so a sale must not reach it before it commits
+    private void recordSalesOnCommit(List<Transaction> sales) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sales.forEach(leaderboardService::recordSale);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                sales.forEach(leaderboardService::recordSale);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TransactionSummary> getClientTransactions(Long clientId, LocalDateTime from, LocalDateTime to,
+                                                           int page, int size) {
+        logger.debug("Retrieving transactions of client {} between {} and {} (page {}, size {})",
+                clientId, from, to, page, size);
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Invalid page request: page=" + page + ", size=" + size);
+        }
+        try {
+            Slice<TransactionSummary> transactions = transactionRepository.findSummariesByClientId(clientId,
+                    from != null ? from : MIN_DATE,
+                    to != null ? to : MAX_DATE,
+                    PageRequest.of(page, size));
+            logger.debug("Retrieved {} transactions of client {}", transactions.getNumberOfElements(), clientId);
+            return transactions;
+        } catch (Exception e) {
+            logger.error("Error retrieving transactions of client: {}", e.getMessage());
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package ar.com.plug.examen.domain.wal;
+
+/**
+ * A record read back from the {@link WriteAheadLog}.
+ */
+public final class WalRecord {
+    private final long sequence;
+    private final byte[] payload;
+
+    public WalRecord(long sequence, byte[] payload) {
+        this.sequence = sequence;
+        this.payload = payload;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,325 @@
+package ar.com.plug.examen.domain.wal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of opaque records in fixed-size, memory-mapped segment files.
+ *
+ * <p>Each record is {@code [int length][long sequence][payload][int crc32(sequence, payload)]}.
+ * Sequences are contiguous across segments and a segment file is named after its first
+ * sequence. Appends are made durable with group commit: the first waiting thread forces the
+ * segment to disk on behalf of every record written so far, and the others wait for it.
+ *
+ * <p>The consumer records progress with {@link #checkpoint(long)}; segments that only hold
+ * checkpointed records are deleted and {@link #replay(Consumer)} returns the rest. On open,
+ * the tail segment is scanned up to the first record that is torn (bad length, unexpected
+ * sequence or checksum mismatch) and appending resumes there.
+ */
+public class WriteAheadLog implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int TRAILER_BYTES = Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private final Object appendLock = new Object();
+    // Guarded by appendLock
+    private final List<Long> segments = new ArrayList<>();
+    private MappedByteBuffer buffer;
+    private long nextSequence;
+    private boolean closed;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+    // Guarded by flushLock
+    private long durableSequence;
+    private boolean flushing;
+
+    private volatile long checkpointSequence;
+
+    private WriteAheadLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the log in {@code directory}, creating it if needed, and positions appends after
+     * the last intact record.
+     */
+    public static WriteAheadLog open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("Segment size must be at least 4096 bytes");
+        }
+        Files.createDirectories(directory);
+        WriteAheadLog log = new WriteAheadLog(directory, segmentSize);
+        log.recover();
+        return log;
+    }
+
+    private void recover() throws IOException {
+        checkpointSequence = readCheckpoint();
+        segments.addAll(listSegments());
+        if (segments.isEmpty()) {
+            nextSequence = checkpointSequence + 1;
+            buffer = createSegment(nextSequence);
+        } else {
+            long first = segments.get(segments.size() - 1);
+            buffer = map(segmentPath(first), FileChannel.MapMode.READ_WRITE);
+            nextSequence = scan(buffer, first, record -> { });
+            if (nextSequence <= checkpointSequence) {
+                // The tail was lost but the checkpoint is ahead of it: start a fresh segment
+                nextSequence = checkpointSequence + 1;
+                buffer = createSegment(nextSequence);
+            }
+        }
+        durableSequence = nextSequence - 1;
+        logger.info("Opened write-ahead log in {}: {} segments, checkpoint {}, next sequence {}",
+                directory, segments.size(), checkpointSequence, nextSequence);
+    }
+
+    /**
+     * Appends a record and returns once it is durable.
+     *
+     * @param onSequenced called with the assigned sequence while the append lock is held, so
+     *                    callbacks observe sequences in increasing order
+     * @return the record's sequence
+     */
+    public long append(byte[] payload, LongConsumer onSequenced) throws IOException {
+        if (payload.length == 0 || payload.length > segmentSize - HEADER_BYTES - TRAILER_BYTES) {
+            throw new IllegalArgumentException("Record size must be between 1 and "
+                    + (segmentSize - HEADER_BYTES - TRAILER_BYTES) + " bytes");
+        }
+        long sequence;
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IOException("Write-ahead log is closed");
+            }
+            if (buffer.remaining() < HEADER_BYTES + payload.length + TRAILER_BYTES) {
+                rotate();
+            }
+            sequence = nextSequence++;
+            int start = buffer.position();
+            buffer.putInt(payload.length).putLong(sequence).put(payload);
+            buffer.putInt(checksum(buffer, start + Integer.BYTES, buffer.position()));
+            onSequenced.accept(sequence);
+        }
+        sync(sequence);
+        return sequence;
+    }
+
+    /**
+     * Waits until every record up to {@code sequence} is on disk, forcing the current segment
+     * if no other thread is already doing so.
+     */
+    public void sync(long sequence) throws IOException {
+        flushLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (flushing) {
+                    flushed.await();
+                    continue;
+                }
+                flushing = true;
+                flushLock.unlock();
+                long target;
+                try {
+                    MappedByteBuffer current;
+                    synchronized (appendLock) {
+                        target = nextSequence - 1;
+                        current = buffer;
+                    }
+                    // Earlier segments were forced when they were rotated out
+                    current.force();
+                } finally {
+                    flushLock.lock();
+                    flushing = false;
+                    flushed.signalAll();
+                }
+                durableSequence = Math.max(durableSequence, target);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the write-ahead log to sync");
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Records that every record up to {@code sequence} has been applied and deletes the
+     * segments that are no longer needed.
+     */
+    public void checkpoint(long sequence) throws IOException {
+        if (sequence <= checkpointSequence) {
+            return;
+        }
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(sequence).getBytes(StandardCharsets.US_ASCII)));
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        checkpointSequence = sequence;
+
+        synchronized (appendLock) {
+            // A segment can go once the next one starts at or before the first unapplied record
+            while (segments.size() > 1 && segments.get(1) <= sequence + 1) {
+                Files.deleteIfExists(segmentPath(segments.remove(0)));
+            }
+        }
+    }
+
+    /**
+     * Passes every intact record after the checkpoint to {@code consumer}, in sequence order.
+     */
+    public void replay(Consumer<WalRecord> consumer) throws IOException {
+        List<Long> snapshot;
+        synchronized (appendLock) {
+            snapshot = new ArrayList<>(segments);
+        }
+        long after = checkpointSequence;
+        for (long first : snapshot) {
+            MappedByteBuffer segment = map(segmentPath(first), FileChannel.MapMode.READ_ONLY);
+            scan(segment, first, record -> {
+                if (record.getSequence() > after) {
+                    consumer.accept(record);
+                }
+            });
+        }
+    }
+
+    public long getCheckpointSequence() {
+        return checkpointSequence;
+    }
+
+    public long getLastSequence() {
+        synchronized (appendLock) {
+            return nextSequence - 1;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (appendLock) {
+            if (!closed) {
+                closed = true;
+                buffer.force();
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        if (buffer.remaining() >= Integer.BYTES) {
+            buffer.putInt(0);
+        }
+        buffer.force();
+        buffer = createSegment(nextSequence);
+    }
+
+    private MappedByteBuffer createSegment(long firstSequence) throws IOException {
+        Path path = segmentPath(firstSequence);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(segmentSize);
+        }
+        segments.add(firstSequence);
+        return map(path, FileChannel.MapMode.READ_WRITE);
+    }
+
+    private static MappedByteBuffer map(Path path, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return channel.map(mode, 0, channel.size());
+        }
+    }
+
+    /**
+     * Reads consecutive records starting at the buffer's position and leaves the position
+     * after the last intact one.
+     *
+     * @return the sequence following the last intact record
+     */
+    private static long scan(ByteBuffer segment, long expectedSequence, Consumer<WalRecord> consumer) {
+        while (segment.remaining() >= HEADER_BYTES + TRAILER_BYTES) {
+            int start = segment.position();
+            int length = segment.getInt();
+            if (length <= 0 || length > segment.remaining() - Long.BYTES - TRAILER_BYTES
+                    || segment.getLong() != expectedSequence) {
+                segment.position(start);
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.get(payload);
+            if (segment.getInt() != checksum(segment, start + Integer.BYTES, segment.position() - TRAILER_BYTES)) {
+                segment.position(start);
+                break;
+            }
+            consumer.accept(new WalRecord(expectedSequence++, payload));
+        }
+        return expectedSequence;
+    }
+
+    private static int checksum(ByteBuffer buffer, int from, int to) {
+        ByteBuffer covered = buffer.duplicate();
+        covered.limit(to).position(from);
+        CRC32 crc = new CRC32();
+        crc.update(covered);
+        return (int) crc.getValue();
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        return Long.parseLong(new String(Files.readAllBytes(path), StandardCharsets.US_ASCII).trim());
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> found = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                found.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(found);
+        return found;
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,52 @@
+package ar.com.plug.examen.app.api;
+
+import ar.com.plug.examen.domain.model.Transaction;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CreateTransactionRequestTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Test
+    @DisplayName("Should read ids given as fields")
+    void testReadIds() throws Exception {
+        // When
+        CreateTransactionRequest request = objectMapper.readValue(
+                "{\"productId\":1,\"clientId\":2,\"sellerId\":3,\"quantity\":4,\"date\":\"2024-06-11T12:00:00\"}",
+                CreateTransactionRequest.class);
+
+        // Then
+        assertThat(request.getProductId()).isEqualTo(1L);
+        assertThat(request.getClientId()).isEqualTo(2L);
+        assertThat(request.getSellerId()).isEqualTo(3L);
+        assertThat(request.getQuantity()).isEqualTo(4);
+        assertThat(request.getDate()).isEqualTo(LocalDateTime.of(2024, 6, 11, 12, 0));
+    }
+
+    @Test
+    @DisplayName("Should read ids from nested objects and ignore their other fields")
+    void testReadNestedReferences() throws Exception {
+        // When
+        CreateTransactionRequest request = objectMapper.readValue(
+                "{\"product\":{\"id\":1,\"price\":0.01},\"client\":{\"id\":2},\"seller\":{\"id\":3},\"approved\":true}",
+                CreateTransactionRequest.class);
+        Transaction transaction = request.toTransaction();
+
+        // Then
+        assertThat(transaction.getProduct().getId()).isEqualTo(1L);
+        assertThat(transaction.getProduct().getPrice()).isNull();
+        assertThat(transaction.getClient().getId()).isEqualTo(2L);
+        assertThat(transaction.getSeller().getId()).isEqualTo(3L);
+        assertThat(transaction.getApproved()).isTrue();
+    }
+}
@@ -0,0 +1,162 @@
+package ar.com.plug.examen.app.api;
+
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.SalesOrder;
+import ar.com.plug.examen.domain.model.SalesOrderLine;
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseJsonModuleTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new ResponseJsonModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    @DisplayName("Should write a transaction with the same JSON as the entity")
+    void testTransactionShape() throws Exception {
+        // Given
+        Transaction transaction = transaction(1L);
+
+        // When
+        String dto = objectMapper.writeValueAsString(TransactionResponse.of(transaction));
+
+        // Then
+        assertThat(objectMapper.readTree(dto)).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(transaction)));
+    }
+
+    @Test
+    @DisplayName("Should write null fields and references like the entity")
+    void testNullFields() throws Exception {
+        // Given
+        Transaction transaction = new Transaction();
+        transaction.setId(2L);
+
+        // When
+        String dto = objectMapper.writeValueAsString(TransactionResponse.of(transaction));
+
+        // Then
+        assertThat(objectMapper.readTree(dto)).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(transaction)));
+    }
+
+    @Test
+    @DisplayName("Should write an order and its lines with the same JSON as the entity")
+    void testSalesOrderShape() throws Exception {
+        // Given
+        SalesOrder order = new SalesOrder();
+        order.setId(3L);
+        order.setClient(client());
+        order.setSeller(seller());
+        order.setDate(LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_000_000));
+        order.setTotalMinor(4500L);
+        for (long id = 1; id <= 2; id++) {
+            SalesOrderLine line = new SalesOrderLine();
+            line.setId(id);
+            line.setOrder(order);
+            line.setProduct(product(id));
+            line.setQuantity((int) id);
+            line.setUnitPriceMinor(1500L);
+            line.setTotalMinor(1500L * id);
+            order.getLines().add(line);
+        }
+
+        // When
+        String dto = objectMapper.writeValueAsString(SalesOrderResponse.of(order));
+
+        // Then
+        assertThat(objectMapper.readTree(dto)).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(order)));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: entity vs response serialization of 100 transactions")
+    void benchmarkSerialization() throws Exception {
+        List<Transaction> transactions = new ArrayList<>();
+        for (long id = 0; id < 100; id++) {
+            transactions.add(transaction(id));
+        }
+        List<TransactionResponse> responses = TransactionResponse.listOf(transactions);
+        measure("entity", transactions);
+        measure("response", responses);
+        measure("entity", transactions);
+        measure("response", responses);
+    }
+
+    private void measure(String label, Object value) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int iterations = 20_000;
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValueAsBytes(value);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValueAsBytes(value);
+        }
+        long elapsed = System.nanoTime() - start;
+        allocated = threads.getThreadAllocatedBytes(threadId) - allocated;
+        System.out.printf("%s: %d ns/op, %d bytes/op allocated%n", label, elapsed / iterations, allocated / iterations);
+    }
+
+    private static Transaction transaction(Long id) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setProduct(product(id));
+        transaction.setClient(client());
+        transaction.setSeller(seller());
+        transaction.setQuantity(3);
+        transaction.setDate(LocalDateTime.of(2024, 5, 1, 10, 30));
+        transaction.setApproved(true);
+        transaction.setUnitPriceMinor(1999L);
+        transaction.setTotalMinor(5997L);
+        transaction.setIntakeId("intake-" + id);
+        return transaction;
+    }
+
+    private static Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product \"" + id + "\"");
+        product.setPrice(19.99);
+        product.setStock(10);
+        return product;
+    }
+
+    private static Client client() {
+        Client client = new Client();
+        client.setId(7L);
+        client.setName("Ana");
+        client.setEmail("ana@example.com");
+        return client;
+    }
+
+    private static Seller seller() {
+        Seller seller = new Seller();
+        seller.setId(8L);
+        seller.setName("Luis");
+        seller.setEmail("luis@example.com");
+        return seller;
+    }
+}
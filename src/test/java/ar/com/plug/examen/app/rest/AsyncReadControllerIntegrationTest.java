@@ -0,0 +1,88 @@
+package ar.com.plug.examen.app.rest;
+
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.repository.ClientRepository;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.SellerRepository;
+import ar.com.plug.examen.domain.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "async-reads.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AsyncReadControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        transactionRepository.deleteAll();
+        clientRepository.deleteAll();
+        productRepository.deleteAll();
+        sellerRepository.deleteAll();
+    }
+
+    @Test
+    public void testGetAllProducts() throws Exception {
+        Product product = new Product();
+        product.setName("Product 1");
+        product.setPrice(10.0);
+        product.setStock(100);
+        productRepository.save(product);
+
+        MvcResult result = mockMvc.perform(get("/async/products"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Product 1"))
+                .andExpect(jsonPath("$[0].stock").value(100));
+    }
+
+    @Test
+    public void testGetAllSellers() throws Exception {
+        Seller seller = new Seller();
+        seller.setName("Seller");
+        seller.setEmail("seller@example.com");
+        sellerRepository.save(seller);
+
+        MvcResult result = mockMvc.perform(get("/async/sellers"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("seller@example.com"));
+    }
+}
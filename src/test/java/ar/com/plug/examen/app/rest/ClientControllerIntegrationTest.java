@@ -1,16 +1,22 @@
 package ar.com.plug.examen.app.rest;
 
 import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.model.Transaction;
 import ar.com.plug.examen.domain.repository.ClientRepository;
 import ar.com.plug.examen.domain.repository.ProductRepository;
 import ar.com.plug.examen.domain.repository.SellerRepository;
 import ar.com.plug.examen.domain.repository.TransactionRepository;
 import ar.com.plug.examen.domain.service.ClientService;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -21,7 +27,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -103,7 +112,7 @@ public class ClientControllerIntegrationTest {
 
         clientRepository.saveAll(Arrays.asList(client1, client2));
 
-        Mockito.when(clientService.getAllClients()).thenReturn(Arrays.asList(client1, client2));
+        Mockito.when(clientService.getAllClients(Mockito.any())).thenAnswer(mappingEach(Arrays.asList(client1, client2)));
 
         mockMvc.perform(get("/clients"))
                 .andExpect(status().isOk())
@@ -121,7 +130,7 @@ public class ClientControllerIntegrationTest {
 
         client = clientRepository.save(client);
 
-        Mockito.when(clientService.getClientById(client.getId())).thenReturn(Optional.of(client));
+        Mockito.when(clientService.getClientById(Mockito.eq(client.getId()), Mockito.any())).thenAnswer(mappingPresent(client));
 
         mockMvc.perform(get("/clients/{id}", client.getId()))
                 .andExpect(status().isOk())
@@ -133,7 +142,7 @@ public class ClientControllerIntegrationTest {
     public void testGetClientByIdNotFound() throws Exception {
         Long clientId = 999L;
 
-        Mockito.when(clientService.getClientById(clientId)).thenReturn(Optional.empty());
+        Mockito.when(clientService.getClientById(Mockito.eq(clientId), Mockito.any())).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/clients/{id}", clientId))
                 .andExpect(status().isNotFound());
@@ -154,8 +163,8 @@ public class ClientControllerIntegrationTest {
         updatedClient.setName("Updated John");
         updatedClient.setEmail("updated.john@example.com");
 
-        Mockito.when(clientService.updateClient(Mockito.eq(client.getId()), Mockito.any(Client.class)))
-                .thenReturn(updatedClient);
+        Mockito.when(clientService.updateClient(Mockito.eq(client.getId()), Mockito.any(Client.class), Mockito.any()))
+                .thenAnswer(mapping(updatedClient));
 
         mockMvc.perform(put("/clients/{id}", client.getId())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -170,7 +179,7 @@ public class ClientControllerIntegrationTest {
         Long clientId = 1L;
         String updatedClientJson = "{\"name\":\"\",\"email\":\"invalid-email\"}";
 
-        Mockito.when(clientService.updateClient(Mockito.eq(clientId), Mockito.any(Client.class)))
+        Mockito.when(clientService.updateClient(Mockito.eq(clientId), Mockito.any(Client.class), Mockito.any()))
                 .thenThrow(new IllegalArgumentException("Invalid client data"));
 
         mockMvc.perform(put("/clients/{id}", clientId)
@@ -184,7 +193,7 @@ public class ClientControllerIntegrationTest {
         Long clientId = 999L;
         String updatedClientJson = "{\"name\":\"Updated John\",\"email\":\"updated.john@example.com\"}";
 
-        Mockito.when(clientService.updateClient(Mockito.eq(clientId), Mockito.any(Client.class)))
+        Mockito.when(clientService.updateClient(Mockito.eq(clientId), Mockito.any(Client.class), Mockito.any()))
                 .thenThrow(new NoSuchElementException("Client not found"));
 
         mockMvc.perform(put("/clients/{id}", clientId)
@@ -218,4 +227,61 @@ public class ClientControllerIntegrationTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("Error deleting client: Client not found"));
     }
+
+    @Test
+    public void testGetClientTransactions() throws Exception {
+        Client client = new Client();
+        client.setName("John Doe");
+        client.setEmail("john.doe@example.com");
+        client = clientRepository.save(client);
+
+        Product product = new Product();
+        product.setName("Product");
+        product.setPrice(10.0);
+        product.setStock(100);
+        product = productRepository.save(product);
+
+        Seller seller = new Seller();
+        seller.setName("Seller");
+        seller.setEmail("seller@example.com");
+        seller = sellerRepository.save(seller);
+
+        for (int day = 1; day <= 3; day++) {
+            Transaction transaction = new Transaction();
+            transaction.setClient(client);
+            transaction.setProduct(product);
+            transaction.setSeller(seller);
+            transaction.setQuantity(day);
+            transaction.setDate(LocalDateTime.of(2024, 6, day, 12, 0));
+            transaction.setApproved(false);
+            transactionRepository.save(transaction);
+        }
+
+        mockMvc.perform(get("/clients/{id}/transactions", client.getId())
+                        .param("from", "2024-06-02T00:00:00")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].quantity").value(3))
+                .andExpect(jsonPath("$.content[0].productId").value(product.getId()))
+                .andExpect(jsonPath("$.content[0].sellerId").value(seller.getId()))
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    // The controller maps to its response inside the service call, so stubs apply the mapper they get
+    private static Answer<Object> mapping(Object entity) {
+        return invocation -> mapperOf(invocation).apply(entity);
+    }
+
+    private static Answer<Object> mappingPresent(Object entity) {
+        return invocation -> Optional.of(mapperOf(invocation).apply(entity));
+    }
+
+    private static Answer<Object> mappingEach(List<?> entities) {
+        return invocation -> entities.stream().map(mapperOf(invocation)).collect(Collectors.toList());
+    }
+
+    private static Function<Object, Object> mapperOf(InvocationOnMock invocation) {
+        return invocation.getArgument(invocation.getArguments().length - 1);
+    }
 }
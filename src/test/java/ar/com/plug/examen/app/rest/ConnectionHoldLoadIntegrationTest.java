@@ -0,0 +1,162 @@
+package ar.com.plug.examen.app.rest;
+
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.repository.ClientRepository;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.SellerRepository;
+import ar.com.plug.examen.domain.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Concurrent reads against a pool much smaller than the number of callers, reporting how
+ * long each request holds a connection ({@code hikaricp.connections.usage}) and waits for
+ * one ({@code hikaricp.connections.acquire}). Run with {@code -Dbenchmark=true}, and once
+ * more with {@code -Dosiv=true} to compare against open-session-in-view.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=${osiv:false}",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.minimum-idle=4"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ConnectionHoldLoadIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Value("${spring.jpa.open-in-view}")
+    private boolean openInView;
+
+    private MockMvc mockMvc;
+    private final List<Long> transactionIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        cleanUp();
+
+        Client client = new Client();
+        client.setName("Client");
+        client.setEmail("load-client@example.com");
+        client = clientRepository.save(client);
+        Seller seller = new Seller();
+        seller.setName("Seller");
+        seller.setEmail("load-seller@example.com");
+        seller = sellerRepository.save(seller);
+        for (int i = 0; i < 100; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(10.0);
+            product.setStock(100);
+            product = productRepository.save(product);
+            Transaction transaction = new Transaction();
+            transaction.setProduct(product);
+            transaction.setClient(client);
+            transaction.setSeller(seller);
+            transaction.setQuantity(1);
+            transaction.setDate(LocalDateTime.now());
+            transaction.setApproved(true);
+            transactionIds.add(transactionRepository.save(transaction).getId());
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        transactionIds.clear();
+        transactionRepository.deleteAll();
+        productRepository.deleteAll();
+        clientRepository.deleteAll();
+        sellerRepository.deleteAll();
+    }
+
+    @Test
+    public void benchmarkConnectionHoldTime() throws Exception {
+        int callers = 32;
+        int requestsPerCaller = 300;
+        run(8, 50);
+
+        Timer usage = meterRegistry.get("hikaricp.connections.usage").timer();
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").timer();
+        long usageCount = usage.count();
+        double usageNanos = usage.totalTime(TimeUnit.NANOSECONDS);
+        long acquireCount = acquire.count();
+        double acquireNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+
+        long start = System.nanoTime();
+        run(callers, requestsPerCaller);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("open-in-view=%s: %.0f requests/s, connection held %.3f ms, wait %.3f ms (mean per checkout)%n",
+                openInView, callers * requestsPerCaller / seconds,
+                (usage.totalTime(TimeUnit.NANOSECONDS) - usageNanos) / 1e6 / (usage.count() - usageCount),
+                (acquire.totalTime(TimeUnit.NANOSECONDS) - acquireNanos) / 1e6 / (acquire.count() - acquireCount));
+    }
+
+    private void run(int callers, int requestsPerCaller) {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<CompletableFuture<Void>> done = new ArrayList<>();
+            for (int c = 0; c < callers; c++) {
+                int caller = c;
+                done.add(CompletableFuture.runAsync(() -> {
+                    for (int r = 0; r < requestsPerCaller; r++) {
+                        Long id = transactionIds.get((caller * requestsPerCaller + r) % transactionIds.size());
+                        try {
+                            mockMvc.perform(get("/transactions/{id}", id)).andExpect(status().isOk());
+                            if (r % 10 == 0) {
+                                mockMvc.perform(get("/products")).andExpect(status().isOk());
+                            }
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(done.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
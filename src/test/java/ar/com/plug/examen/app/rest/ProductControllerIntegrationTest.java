@@ -6,10 +6,17 @@ import ar.com.plug.examen.domain.repository.ProductRepository;
 import ar.com.plug.examen.domain.repository.SellerRepository;
 import ar.com.plug.examen.domain.repository.TransactionRepository;
 import ar.com.plug.examen.domain.service.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -22,7 +29,10 @@ import org.springframework.web.context.WebApplicationContext;
 
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -107,7 +117,7 @@ public class ProductControllerIntegrationTest {
         productRepository.save(product1);
         productRepository.save(product2);
 
-        Mockito.when(productService.getAllProducts()).thenReturn(Arrays.asList(product1, product2));
+        Mockito.when(productService.getAllProducts(Mockito.any())).thenAnswer(mappingEach(Arrays.asList(product1, product2)));
 
         mockMvc.perform(get("/products"))
                 .andExpect(status().isOk())
@@ -128,7 +138,7 @@ public class ProductControllerIntegrationTest {
 
         product = productRepository.save(product);
 
-        Mockito.when(productService.getProductById(product.getId())).thenReturn(Optional.of(product));
+        Mockito.when(productService.getProductById(Mockito.eq(product.getId()), Mockito.any())).thenAnswer(mappingPresent(product));
 
         mockMvc.perform(get("/products/{id}", product.getId()))
                 .andExpect(status().isOk())
@@ -141,7 +151,7 @@ public class ProductControllerIntegrationTest {
     public void testGetProductByIdNotFound() throws Exception {
         Long productId = 1L;
 
-        Mockito.when(productService.getProductById(productId)).thenReturn(Optional.empty());
+        Mockito.when(productService.getProductById(Mockito.eq(productId), Mockito.any())).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/products/{id}", productId))
                 .andExpect(status().isNotFound());
@@ -163,7 +173,7 @@ public class ProductControllerIntegrationTest {
         updatedProduct.setPrice(20.0);
         updatedProduct.setStock(200);
 
-        Mockito.when(productService.updateProduct(Mockito.eq(product.getId()), Mockito.any(Product.class))).thenReturn(updatedProduct);
+        Mockito.when(productService.updateProduct(Mockito.eq(product.getId()), Mockito.any(Product.class), Mockito.any())).thenAnswer(mapping(updatedProduct));
 
         mockMvc.perform(put("/products/{id}", product.getId())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -179,7 +189,7 @@ public class ProductControllerIntegrationTest {
         Long productId = 999L;
         String updatedProductJson = "{\"name\":\"Updated Product\", \"price\":20.0, \"stock\":200}";
 
-        Mockito.when(productService.updateProduct(Mockito.eq(productId), Mockito.any(Product.class)))
+        Mockito.when(productService.updateProduct(Mockito.eq(productId), Mockito.any(Product.class), Mockito.any()))
                 .thenThrow(new NoSuchElementException("Product not found"));
 
         mockMvc.perform(put("/products/{id}", productId)
@@ -199,7 +209,7 @@ public class ProductControllerIntegrationTest {
 
         String invalidUpdatedProductJson = "{\"name\":\"\", \"price\":20.0, \"stock\":200}";
 
-        Mockito.when(productService.updateProduct(Mockito.eq(product.getId()), Mockito.any(Product.class)))
+        Mockito.when(productService.updateProduct(Mockito.eq(product.getId()), Mockito.any(Product.class), Mockito.any()))
                 .thenThrow(new IllegalArgumentException("Invalid product data"));
 
         mockMvc.perform(put("/products/{id}", product.getId())
@@ -234,4 +244,49 @@ public class ProductControllerIntegrationTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("Error deleting product: Product not found"));
     }
+
+    @Test
+    public void testGetAllProductsAsCbor() throws Exception {
+        List<Product> products = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            Product product = new Product();
+            product.setId(i);
+            product.setName("Product " + i);
+            product.setPrice(10.0 * i);
+            product.setStock((int) i);
+            products.add(product);
+        }
+
+        Mockito.when(productService.getAllProducts(Mockito.any())).thenAnswer(mappingEach(products));
+
+        byte[] json = mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/products").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode decoded = new ObjectMapper(new CBORFactory()).readTree(cbor);
+        assertThat(decoded.size()).isEqualTo(50);
+        assertThat(decoded.get(0).get("name").asText()).isEqualTo("Product 1");
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    // The controller maps to its response inside the service call, so stubs apply the mapper they get
+    private static Answer<Object> mapping(Object entity) {
+        return invocation -> mapperOf(invocation).apply(entity);
+    }
+
+    private static Answer<Object> mappingPresent(Object entity) {
+        return invocation -> Optional.of(mapperOf(invocation).apply(entity));
+    }
+
+    private static Answer<Object> mappingEach(List<?> entities) {
+        return invocation -> entities.stream().map(mapperOf(invocation)).collect(Collectors.toList());
+    }
+
+    private static Function<Object, Object> mapperOf(InvocationOnMock invocation) {
+        return invocation.getArgument(invocation.getArguments().length - 1);
+    }
 }
@@ -0,0 +1,191 @@
+package ar.com.plug.examen.app.rest;
+
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.repository.ClientRepository;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.SalesOrderRepository;
+import ar.com.plug.examen.domain.repository.SellerRepository;
+import ar.com.plug.examen.domain.repository.TransactionRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "inventory.enabled=true")
+@ActiveProfiles("test")
+public class SalesOrderControllerIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    private MockMvc mockMvc;
+    private Client client;
+    private Seller seller;
+    private List<Product> products;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        cleanUp();
+
+        client = new Client();
+        client.setName("Client");
+        client.setEmail("orders-client@example.com");
+        client = clientRepository.save(client);
+
+        seller = new Seller();
+        seller.setName("Seller");
+        seller.setEmail("orders-seller@example.com");
+        seller = sellerRepository.save(seller);
+
+        products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(1.5);
+            product.setStock(1_000_000);
+            products.add(productRepository.save(product));
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        salesOrderRepository.deleteAll();
+        transactionRepository.deleteAll();
+        productRepository.deleteAll();
+        clientRepository.deleteAll();
+        sellerRepository.deleteAll();
+    }
+
+    @Test
+    public void testCreateOrder() throws Exception {
+        String response = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson(3, 2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines.length()").value(3))
+                .andExpect(jsonPath("$.lines[0].unitPriceMinor").value(150))
+                .andExpect(jsonPath("$.lines[0].totalMinor").value(300))
+                .andExpect(jsonPath("$.totalMinor").value(900))
+                .andReturn().getResponse().getContentAsString();
+        Number id = JsonPath.read(response, "$.id");
+
+        mockMvc.perform(get("/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines.length()").value(3))
+                .andExpect(jsonPath("$.client.id").value(client.getId()));
+        assertThat(productRepository.findById(products.get(0).getId()).get().getStock()).isEqualTo(999_998);
+    }
+
+    @Test
+    public void testCreateOrderInsufficientStock() throws Exception {
+        Product last = products.get(1);
+        last.setStock(1);
+        productRepository.save(last);
+
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson(2, 2)))
+                .andExpect(status().isConflict());
+
+        // The whole order rolled back, including the line that had stock
+        assertThat(salesOrderRepository.count()).isZero();
+        assertThat(productRepository.findById(products.get(0).getId()).get().getStock()).isEqualTo(1_000_000);
+    }
+
+    @Test
+    public void testCreateOrderWithoutLines() throws Exception {
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Latency per item of a basket sent as one order against the same items sent as one
+     * {@code POST /transactions} each. Run with {@code -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkOrderVersusSingleLine() throws Exception {
+        int rounds = 50;
+        System.out.printf("%-8s %18s %18s%n", "items", "transactions us", "order us");
+        for (int items : new int[]{1, 5, 20}) {
+            for (int warmUp = 0; warmUp < 10; warmUp++) {
+                postTransactions(items);
+                postOrder(items);
+            }
+            long transactions = 0;
+            long orders = 0;
+            for (int round = 0; round < rounds; round++) {
+                long start = System.nanoTime();
+                postTransactions(items);
+                transactions += System.nanoTime() - start;
+                start = System.nanoTime();
+                postOrder(items);
+                orders += System.nanoTime() - start;
+            }
+            System.out.printf("%-8d %18.1f %18.1f%n", items,
+                    transactions / 1e3 / rounds / items, orders / 1e3 / rounds / items);
+        }
+    }
+
+    private void postTransactions(int items) throws Exception {
+        for (int i = 0; i < items; i++) {
+            mockMvc.perform(post("/transactions")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.format("{\"product\":{\"id\":%d}, \"client\":{\"id\":%d}, \"seller\":{\"id\":%d}, \"quantity\":1}",
+                                    products.get(i).getId(), client.getId(), seller.getId())))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private void postOrder(int items) throws Exception {
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson(items, 1)))
+                .andExpect(status().isOk());
+    }
+
+    private String orderJson(int items, int quantity) {
+        StringJoiner lines = new StringJoiner(", ");
+        for (int i = 0; i < items; i++) {
+            lines.add(String.format("{\"product\":{\"id\":%d}, \"quantity\":%d}", products.get(i).getId(), quantity));
+        }
+        return String.format("{\"client\":{\"id\":%d}, \"seller\":{\"id\":%d}, \"lines\":[%s]}",
+                client.getId(), seller.getId(), lines);
+    }
+}
@@ -0,0 +1,93 @@
+package ar.com.plug.examen.app.rest;
+
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code GET /products} through the serialized response cache, with the real services so
+ * that catalog writes publish the events that invalidate it.
+ */
+@SpringBootTest(properties = "response-cache.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SerializedResponseCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    private String name;
+
+    @BeforeEach
+    public void setup() {
+        name = "Product " + UUID.randomUUID();
+        productService.createProduct(product(name));
+    }
+
+    @Test
+    public void testServesGzippedBytesUntilTheCatalogChanges() throws Exception {
+        // When
+        MockHttpServletResponse gzipped = mockMvc.perform(get("/products")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse();
+        MockHttpServletResponse plain = mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse();
+
+        // Then
+        String json = plain.getContentAsString();
+        assertThat(json).contains("\"name\":\"" + name + "\"");
+        assertThat(gunzip(gzipped.getContentAsByteArray())).isEqualTo(json);
+
+        // When a product is created
+        String added = "Product " + UUID.randomUUID();
+        productService.createProduct(product(added));
+
+        // Then the cached list is rebuilt
+        String rebuilt = mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(rebuilt).contains("\"name\":\"" + name + "\"").contains("\"name\":\"" + added + "\"");
+    }
+
+    private static Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(10.0);
+        product.setStock(5);
+        return product;
+    }
+
+    private static String gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(StreamUtils.copyToByteArray(in), "UTF-8");
+        }
+    }
+}
@@ -21,6 +21,9 @@ import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -96,6 +99,32 @@ public class TransactionControllerIntegrationTest {
                 .andExpect(jsonPath("$.approved").value(false));
     }
 
+    @Test
+    public void testCreateTransactionWithIds() throws Exception {
+        String transactionJson = String.format("{\"productId\":%d, \"clientId\":%d, \"sellerId\":%d, \"quantity\":2, \"approved\":true}",
+                product.getId(), client.getId(), seller.getId());
+
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transactionJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.product.id").value(product.getId()))
+                .andExpect(jsonPath("$.client.id").value(client.getId()))
+                .andExpect(jsonPath("$.totalMinor").value(20000));
+    }
+
+    @Test
+    public void testCreateTransactionWithUnknownClient() throws Exception {
+        String transactionJson = String.format("{\"productId\":%d, \"clientId\":%d, \"sellerId\":%d, \"quantity\":1}",
+                product.getId(), client.getId() + 1000, seller.getId());
+
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transactionJson))
+                .andExpect(status().isUnprocessableEntity());
+        assertThat(transactionRepository.count()).isZero();
+    }
+
     @Test
     public void testGetAllTransactions() throws Exception {
         Transaction transaction1 = new Transaction();
@@ -157,4 +186,51 @@ public class TransactionControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.approved").value(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCreateTransactionIsIdempotent() throws Exception {
+        String transactionJson = String.format("{\"product\":{\"id\":%d}, \"client\":{\"id\":%d}, \"seller\":{\"id\":%d}, \"quantity\":1, \"date\":\"2024-06-11T12:00:00\", \"approved\":false}",
+                product.getId(), client.getId(), seller.getId());
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        String first = mockMvc.perform(post("/transactions")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transactionJson))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String replay = mockMvc.perform(post("/transactions")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transactionJson))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(replay).isEqualTo(first);
+        assertThat(transactionRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCreateTransactionRejectsIdempotencyKeyReusedWithDifferentBody() throws Exception {
+        String transactionJson = String.format("{\"productId\":%d, \"clientId\":%d, \"sellerId\":%d, \"quantity\":%d, \"date\":\"2024-06-11T12:00:00\", \"approved\":false}",
+                product.getId(), client.getId(), seller.getId(), 1);
+        String otherJson = String.format("{\"productId\":%d, \"clientId\":%d, \"sellerId\":%d, \"quantity\":%d, \"date\":\"2024-06-11T12:00:00\", \"approved\":false}",
+                product.getId(), client.getId(), seller.getId(), 2);
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/transactions")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transactionJson))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/transactions")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(otherJson))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(transactionRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,173 @@
+package ar.com.plug.examen.app.web;
+
+import ar.com.plug.examen.app.api.ResponseJsonModule;
+import ar.com.plug.examen.app.api.SellerResponse;
+import ar.com.plug.examen.app.web.SerializedResponseCache.SerializedResponse;
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.event.StockChangedEvent;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializedResponseCacheTest {
+
+    private SerializedResponseCache serializedResponseCache;
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private final Supplier<Object> sellers = () -> Collections.singletonList(
+            new SellerResponse((long) queries.incrementAndGet(), "Luis", "luis@example.com"));
+
+    @BeforeEach
+    void setUp() {
+        serializedResponseCache = new SerializedResponseCache();
+        ReflectionTestUtils.setField(serializedResponseCache, "objectMapper",
+                new ObjectMapper().registerModule(new ResponseJsonModule()));
+    }
+
+    @Test
+    @DisplayName("Should serialize once and serve the same bytes until the catalog changes")
+    void testServesCachedBytes() throws Exception {
+        // When
+        SerializedResponse first = serializedResponseCache.get(CatalogEntityType.SELLER, "all", sellers);
+        SerializedResponse second = serializedResponseCache.get(CatalogEntityType.SELLER, "all", sellers);
+
+        // Then
+        assertThat(second.getJson()).isSameAs(first.getJson());
+        assertThat(new String(first.getJson(), "UTF-8"))
+                .isEqualTo("[{\"id\":1,\"name\":\"Luis\",\"email\":\"luis@example.com\"}]");
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild only the lists of the changed catalog type")
+    void testCatalogChangeInvalidates() throws Exception {
+        // Given
+        serializedResponseCache.get(CatalogEntityType.SELLER, "all", sellers);
+        serializedResponseCache.get(CatalogEntityType.PRODUCT, "all", sellers);
+
+        // When
+        serializedResponseCache.onCatalogChange(CatalogChangeEvent.deleted(CatalogEntityType.SELLER, 1L));
+        serializedResponseCache.get(CatalogEntityType.SELLER, "all", sellers);
+        serializedResponseCache.get(CatalogEntityType.PRODUCT, "all", sellers);
+
+        // Then
+        assertThat(queries).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should rebuild a body older than the max age even if the catalog did not change")
+    void testMaxAgeExpiresBody() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(serializedResponseCache, "maxAge", Duration.ofMillis(50));
+        serializedResponseCache.get(CatalogEntityType.PRODUCT, "all", sellers);
+        serializedResponseCache.get(CatalogEntityType.PRODUCT, "all", sellers);
+        assertThat(queries).hasValue(1);
+
+        // When
+        Thread.sleep(100);
+        serializedResponseCache.get(CatalogEntityType.PRODUCT, "all", sellers);
+
+        // Then
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the product lists when stock changes")
+    void testStockChangeInvalidatesProducts() throws Exception {
+        // Given
+        serializedResponseCache.get(CatalogEntityType.PRODUCT, "all", sellers);
+
+        // When
+        serializedResponseCache.onStockChanged(new StockChangedEvent(1L, 5));
+        serializedResponseCache.get(CatalogEntityType.PRODUCT, "all", sellers);
+
+        // Then
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should keep a body built before a concurrent change stale")
+    void testChangeDuringBuildKeepsEntryStale() throws Exception {
+        // Given
+        serializedResponseCache.get(CatalogEntityType.SELLER, "all", () -> {
+            serializedResponseCache.onCatalogChange(CatalogChangeEvent.deleted(CatalogEntityType.SELLER, 1L));
+            return sellers.get();
+        });
+
+        // When
+        serializedResponseCache.get(CatalogEntityType.SELLER, "all", sellers);
+
+        // Then
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should serve the gzipped copy only to clients that accept gzip")
+    void testGzip() throws Exception {
+        // Given
+        SerializedResponse response = serializedResponseCache.get(CatalogEntityType.SELLER, "all", sellers);
+
+        // When
+        ResponseEntity<byte[]> plain = response.toResponseEntity(null);
+        ResponseEntity<byte[]> gzipped = response.toResponseEntity("gzip, deflate");
+
+        // Then
+        assertThat(plain.getBody()).isSameAs(response.getJson());
+        assertThat(plain.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(StreamUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))))
+                .isEqualTo(response.getJson());
+    }
+
+    @Test
+    @DisplayName("Should honour the codings and qualities of Accept-Encoding")
+    void testAcceptEncodingQualities() throws Exception {
+        // Given
+        SerializedResponse response = serializedResponseCache.get(CatalogEntityType.SELLER, "all", sellers);
+
+        // When / Then
+        assertThat(contentEncoding(response, "gzip;q=0, deflate")).isNull();
+        assertThat(contentEncoding(response, "GZIP ; Q=0.5")).isEqualTo("gzip");
+        assertThat(contentEncoding(response, "x-gzip")).isEqualTo("x-gzip");
+        assertThat(contentEncoding(response, "br, *;q=0.1")).isEqualTo("gzip");
+        assertThat(contentEncoding(response, "*, gzip;q=0")).isNull();
+        assertThat(contentEncoding(response, "gzip;q=0.5, identity")).isNull();
+        assertThat(contentEncoding(response, "deflate, br")).isNull();
+        assertThat(contentEncoding(response, "gzip;q=bogus")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serialize on every call when disabled")
+    void testDisabled() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(serializedResponseCache, "enabled", false);
+
+        // When
+        SerializedResponse response = serializedResponseCache.get(CatalogEntityType.SELLER, "all", sellers);
+        serializedResponseCache.get(CatalogEntityType.SELLER, "all", sellers);
+
+        // Then
+        assertThat(queries).hasValue(2);
+        assertThat(response.getGzipped()).isNull();
+    }
+
+    private static String contentEncoding(SerializedResponse response, String acceptEncoding) {
+        return response.toResponseEntity(acceptEncoding).getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+    }
+}
@@ -0,0 +1,161 @@
+package ar.com.plug.examen.app.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.DispatcherType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThrottlingInterceptorTest {
+
+    private ThrottlingInterceptor throttlingInterceptor;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttlingInterceptor = new ThrottlingInterceptor();
+        ReflectionTestUtils.setField(throttlingInterceptor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(throttlingInterceptor, "ratePerSecond", 1.0);
+        ReflectionTestUtils.setField(throttlingInterceptor, "burst", 2);
+        ReflectionTestUtils.setField(throttlingInterceptor, "readPermits", 1);
+        ReflectionTestUtils.setField(throttlingInterceptor, "writePermits", 1);
+        ReflectionTestUtils.setField(throttlingInterceptor, "exportPermits", 1);
+        throttlingInterceptor.init();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once a remote address exceeds its burst")
+    void testRateLimitByRemoteAddress() throws Exception {
+        // Given
+        admitAndComplete(request("POST", "/transactions", "10.0.0.1"));
+        admitAndComplete(request("POST", "/transactions", "10.0.0.1"));
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean admitted = throttlingInterceptor.preHandle(request("POST", "/transactions", "10.0.0.1"), response, null);
+
+        // Then
+        assertThat(admitted).isFalse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(Long.parseLong(response.getHeader(HttpHeaders.RETRY_AFTER))).isPositive();
+        assertThat(rejections("write", "rate_limit")).isEqualTo(1.0);
+        assertThat(throttlingInterceptor.preHandle(request("POST", "/transactions", "10.0.0.2"),
+                new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not give a caller a new bucket for a header it sets itself")
+    void testClientHeaderDoesNotBypassRateLimit() throws Exception {
+        // Given
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = request("POST", "/transactions", "10.0.0.1");
+            request.addHeader("X-Api-Client", "client-" + i);
+            admitAndComplete(request);
+        }
+        MockHttpServletRequest request = request("POST", "/transactions", "10.0.0.1");
+        request.addHeader("X-Api-Client", "client-2");
+
+        // When / Then
+        assertThat(throttlingInterceptor.preHandle(request, new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should key authenticated callers on their principal")
+    void testRateLimitByPrincipal() throws Exception {
+        // Given
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = request("POST", "/transactions", "10.0.0." + i);
+            request.setUserPrincipal(() -> "alice");
+            admitAndComplete(request);
+        }
+        MockHttpServletRequest request = request("POST", "/transactions", "10.0.0.9");
+        request.setUserPrincipal(() -> "alice");
+
+        // When / Then
+        assertThat(throttlingInterceptor.preHandle(request, new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject with 429 while the bulkhead of the group is full and admit after release")
+    void testBulkheadRejection() throws Exception {
+        // Given
+        MockHttpServletRequest first = request("GET", "/products", "10.0.0.1");
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        assertThat(throttlingInterceptor.preHandle(first, firstResponse, null)).isTrue();
+        assertThat(available("read")).isZero();
+
+        // When
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        boolean admitted = throttlingInterceptor.preHandle(request("GET", "/products", "10.0.0.2"), rejected, null);
+
+        // Then
+        assertThat(admitted).isFalse();
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejections("read", "bulkhead")).isEqualTo(1.0);
+        assertThat(available("write")).isEqualTo(1.0);
+
+        // When the first request completes
+        throttlingInterceptor.afterCompletion(first, firstResponse, null, null);
+
+        // Then
+        assertThat(available("read")).isEqualTo(1.0);
+        assertThat(throttlingInterceptor.preHandle(request("GET", "/products", "10.0.0.3"),
+                new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should release the permit of an asynchronous request once its handler returns")
+    void testAsyncRequestReleasesPermitWhenHandlerReturns() throws Exception {
+        // Given
+        MockHttpServletRequest request = request("GET", "/async/products", "10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(throttlingInterceptor.preHandle(request, response, null)).isTrue();
+
+        // When
+        throttlingInterceptor.afterConcurrentHandlingStarted(request, response, null);
+
+        // Then
+        assertThat(available("read")).isEqualTo(1.0);
+
+        // When the async dispatch completes
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertThat(throttlingInterceptor.preHandle(request, response, null)).isTrue();
+        throttlingInterceptor.afterCompletion(request, response, null, null);
+
+        // Then the permit is not released twice
+        assertThat(available("read")).isEqualTo(1.0);
+    }
+
+    private void admitAndComplete(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(throttlingInterceptor.preHandle(request, response, null)).isTrue();
+        throttlingInterceptor.afterCompletion(request, response, null, null);
+    }
+
+    private double rejections(String group, String reason) {
+        return meterRegistry.get("http.server.requests.rejected").tag("group", group).tag("reason", reason)
+                .counter().count();
+    }
+
+    private double available(String group) {
+        return meterRegistry.get("http.server.bulkhead.available").tag("group", group).gauge().value();
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}
@@ -0,0 +1,49 @@
+package ar.com.plug.examen.app.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenBucketTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    @DisplayName("Should admit a burst and then reject until tokens are refilled")
+    void testBurstThenRefill() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 3, START);
+
+        // When / Then
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START)).isZero();
+        long wait = bucket.tryAcquire(START);
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(bucket.tryAcquire(START + wait)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not accumulate more tokens than the burst while idle")
+    void testIdleDoesNotExceedBurst() {
+        // Given
+        TokenBucket bucket = new TokenBucket(1, 2, START);
+        long later = START + TimeUnit.MINUTES.toNanos(1);
+
+        // When / Then
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, START));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, START));
+    }
+}
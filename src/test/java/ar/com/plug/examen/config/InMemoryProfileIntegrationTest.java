@@ -0,0 +1,92 @@
+package ar.com.plug.examen.config;
+
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.repository.ClientRepository;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.SellerRepository;
+import ar.com.plug.examen.domain.repository.inmemory.InMemoryProductRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "warmup.enabled=false",
+        "throttling.rate-per-second=10000",
+        "throttling.burst=10000"})
+@ActiveProfiles("in-memory")
+public class InMemoryProfileIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Test
+    @DisplayName("Should boot without a DataSource and serve requests from the in-memory stores")
+    public void testServesRequests() throws Exception {
+        // Given
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        Product product = new Product();
+        product.setName("Product");
+        product.setPrice(100.0);
+        product.setStock(50);
+        product = productRepository.save(product);
+        Client client = new Client();
+        client.setName("Client");
+        client.setEmail("client@example.com");
+        client = clientRepository.save(client);
+        Seller seller = new Seller();
+        seller.setName("Seller");
+        seller.setEmail("seller@example.com");
+        seller = sellerRepository.save(seller);
+        String transactionJson = String.format("{\"productId\":%d, \"clientId\":%d, \"sellerId\":%d, \"quantity\":2, \"date\":\"2024-06-11T12:00:00\", \"approved\":false}",
+                product.getId(), client.getId(), seller.getId());
+
+        // When
+        String created = mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transactionJson))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Number id = JsonPath.read(created, "$.id");
+
+        // Then
+        assertThat(productRepository).isInstanceOf(InMemoryProductRepository.class);
+        mockMvc.perform(post("/transactions/{id}/approve", id.longValue()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.approved").value(true));
+        mockMvc.perform(get("/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Product"));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with stock reservations, which need rollback")
+    public void testRefusesInventory() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(InMemoryRepositoryConfig.class)
+                .withPropertyValues("spring.profiles.active=in-memory", "inventory.enabled=true")
+                .run(context -> assertThat(context).hasFailed());
+    }
+}
@@ -0,0 +1,77 @@
+package ar.com.plug.examen.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class VirtualThreadsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    @DisplayName("Should set the executor on the protocol handler when the JDK provides one")
+    void testExecutorIsWired() {
+        // Given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+        try {
+            // When
+            VirtualThreadsConfig.executorCustomizer(() -> Optional.of(executor)).customize(protocolHandler);
+
+            // Then
+            verify(protocolHandler).setExecutor(executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the platform thread pool when the JDK has no virtual threads")
+    void testFallbackWithoutVirtualThreads() {
+        // Given
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+        // When
+        VirtualThreadsConfig.executorCustomizer(Optional::empty).customize(protocolHandler);
+
+        // Then
+        verify(protocolHandler, never()).setExecutor(any());
+    }
+
+    @Test
+    @DisplayName("Should only find virtual threads on JDK 21 and later")
+    void testVirtualThreadsDependOnJdk() {
+        // Given
+        String specification = System.getProperty("java.specification.version");
+        int feature = Integer.parseInt(specification.startsWith("1.") ? specification.substring(2) : specification);
+
+        // When
+        Optional<ExecutorService> executor = VirtualThreadsConfig.newVirtualThreadPerTaskExecutor();
+
+        // Then
+        assertThat(executor.isPresent()).isEqualTo(feature >= 21);
+        executor.ifPresent(ExecutorService::shutdown);
+    }
+
+    @Test
+    @DisplayName("Should only register the customizer when virtual-threads.enabled is set")
+    void testCustomizerIsPropertyGated() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class));
+        contextRunner.withPropertyValues("virtual-threads.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(TomcatProtocolHandlerCustomizer.class));
+    }
+}
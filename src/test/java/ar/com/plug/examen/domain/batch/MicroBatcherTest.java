@@ -0,0 +1,199 @@
+package ar.com.plug.examen.domain.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MicroBatcherTest {
+
+    @Test
+    @DisplayName("Should group concurrent submissions and give each caller its own result")
+    void testBatchesConcurrentSubmissions() throws Exception {
+        // Given
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        Function<List<Integer>, List<Integer>> batchAction = items -> {
+            await(release);
+            batchSizes.add(items.size());
+            return items.stream().map(i -> i * 10).collect(Collectors.toList());
+        };
+
+        try (MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>("test-batcher", 100,
+                Duration.ofMillis(50), 1000, batchAction, i -> i * 10)) {
+            // When: the first batch blocks while the rest queue up
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                results.add(batcher.submit(i));
+            }
+            release.countDown();
+
+            // Then
+            for (int i = 0; i < 50; i++) {
+                assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo(i * 10);
+            }
+            assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(50);
+            assertThat(batchSizes.size()).isLessThan(50);
+        }
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch item by item so only the bad item fails")
+    void testFallbackIsolatesFailures() throws Exception {
+        // Given
+        Function<List<Integer>, List<Integer>> batchAction = items -> {
+            throw new IllegalStateException("constraint violation");
+        };
+        Function<Integer, Integer> singleAction = i -> {
+            if (i == 2) {
+                throw new IllegalArgumentException("bad item " + i);
+            }
+            return i;
+        };
+
+        try (MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>("test-batcher", 10,
+                Duration.ofMillis(200), 100, batchAction, singleAction)) {
+            // When
+            List<CompletableFuture<Integer>> results = Arrays.asList(batcher.submit(1), batcher.submit(2), batcher.submit(3));
+
+            // Then
+            assertThat(results.get(0).get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            CompletionException failure = assertThrows(CompletionException.class, () -> results.get(1).join());
+            assertThat(failure.getCause()).isInstanceOf(IllegalArgumentException.class);
+            assertThat(results.get(2).get(5, TimeUnit.SECONDS)).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject submissions after close")
+    void testClosed() throws Exception {
+        // Given
+        MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>("test-batcher", 10, Duration.ZERO, 10,
+                items -> items, i -> i);
+
+        // When
+        batcher.close();
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> batcher.submit(1));
+    }
+
+    @Test
+    @DisplayName("Should complete or reject every submission that races close")
+    void testSubmitRacingClose() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 50; round++) {
+                // Given
+                MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>("test-batcher", 10, Duration.ZERO, 1000,
+                        items -> items, i -> i);
+                CountDownLatch start = new CountDownLatch(1);
+                List<CompletableFuture<CompletableFuture<Integer>>> submissions = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    submissions.add(CompletableFuture.supplyAsync(() -> {
+                        await(start);
+                        CompletableFuture<Integer> last = CompletableFuture.completedFuture(0);
+                        for (int i = 0; i < 1000; i++) {
+                            try {
+                                last = batcher.submit(i);
+                            } catch (IllegalStateException e) {
+                                break;
+                            }
+                        }
+                        return last;
+                    }, executor));
+                }
+
+                // When
+                start.countDown();
+                batcher.close();
+
+                // Then: a future that was handed out always completes, with a result or a failure
+                for (CompletableFuture<CompletableFuture<Integer>> submission : submissions) {
+                    submission.get(5, TimeUnit.SECONDS).handle((result, failure) -> result).get(5, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Throughput and latency of concurrent callers against a simulated 2 ms commit, for a
+     * few batch size and linger settings. Run with {@code -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: throughput vs. latency for batch size and linger")
+    void benchmarkBatchSizeAndLinger() throws Exception {
+        int callers = 64;
+        int requestsPerCaller = 200;
+        Function<List<Integer>, List<Integer>> commit = items -> {
+            sleepMillis(2);
+            return items;
+        };
+        System.out.printf("%-10s %-10s %12s %10s %10s%n", "batch", "linger", "ops/s", "p50 ms", "p99 ms");
+        for (int maxBatchSize : new int[]{1, 16, 64, 256}) {
+            for (Duration linger : new Duration[]{Duration.ZERO, Duration.ofNanos(500_000), Duration.ofMillis(2)}) {
+                List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+                ExecutorService executor = Executors.newFixedThreadPool(callers);
+                long start = System.nanoTime();
+                try (MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>("benchmark", maxBatchSize, linger,
+                        callers, commit, i -> commit.apply(Collections.singletonList(i)).get(0))) {
+                    List<CompletableFuture<Void>> done = new ArrayList<>();
+                    for (int c = 0; c < callers; c++) {
+                        done.add(CompletableFuture.runAsync(() -> {
+                            for (int r = 0; r < requestsPerCaller; r++) {
+                                long submitted = System.nanoTime();
+                                batcher.submit(r).join();
+                                latencies.add(System.nanoTime() - submitted);
+                            }
+                        }, executor));
+                    }
+                    CompletableFuture.allOf(done.toArray(new CompletableFuture[0])).join();
+                } finally {
+                    executor.shutdownNow();
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                List<Long> sorted = latencies.stream().sorted().collect(Collectors.toList());
+                System.out.printf("%-10d %-10s %12.0f %10.2f %10.2f%n", maxBatchSize, linger,
+                        sorted.size() / seconds,
+                        sorted.get(sorted.size() / 2) / 1e6,
+                        sorted.get((int) (sorted.size() * 0.99)) / 1e6);
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
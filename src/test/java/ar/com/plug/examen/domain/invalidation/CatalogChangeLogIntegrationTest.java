@@ -0,0 +1,79 @@
+package ar.com.plug.examen.domain.invalidation;
+
+import ar.com.plug.examen.Application;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application contexts sharing one H2 database, each with its own second-level cache,
+ * standing in for two nodes behind a load balancer.
+ */
+public class CatalogChangeLogIntegrationTest {
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    public void setup() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private ConfigurableApplicationContext startNode(String name) {
+        // Command-line arguments, so they win over application.yml and application-test.yml
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:shared-catalog;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.javax.cache.uri=ehcache-cluster-test.xml",
+                        "--spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+                        "--spring.jpa.properties.hibernate.cache.region_prefix=" + name,
+                        "--leaderboard.rebuild-on-startup=false",
+                        "--catalog-invalidation.poll-interval=PT0.1S",
+                        "--catalog-invalidation.settle-time=1s");
+    }
+
+    @Test
+    public void testUpdateOnOneNodeEvictsCachedEntityOnTheOther() throws InterruptedException {
+        // Given
+        ProductService productsA = nodeA.getBean(ProductService.class);
+        ProductService productsB = nodeB.getBean(ProductService.class);
+        Product product = new Product();
+        product.setName("Product 1");
+        product.setPrice(100.0);
+        product.setStock(10);
+        Long id = productsA.createProduct(product).getId();
+        assertThat(productsA.getProductById(id)).hasValueSatisfying(p -> assertThat(p.getName()).isEqualTo("Product 1"));
+        assertThat(nodeA.getBean(EntityManagerFactory.class).getCache().contains(Product.class, id)).isTrue();
+
+        // When
+        Product details = new Product();
+        details.setName("Product 1 renamed");
+        details.setPrice(100.0);
+        productsB.updateProduct(id, details);
+
+        // Then
+        long deadline = System.currentTimeMillis() + 5000;
+        String name = productsA.getProductById(id).get().getName();
+        while (!"Product 1 renamed".equals(name) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            name = productsA.getProductById(id).get().getName();
+        }
+        assertThat(name).isEqualTo("Product 1 renamed");
+    }
+}
@@ -0,0 +1,70 @@
+package ar.com.plug.examen.domain.invalidation;
+
+import ar.com.plug.examen.domain.repository.CatalogChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CatalogChangeLogTest {
+
+    @InjectMocks
+    private CatalogChangeLog catalogChangeLog;
+
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database until the first poll")
+    void testNoQueryBeforeFirstPoll() {
+        // Then
+        verifyNoInteractions(catalogChangeRepository);
+    }
+
+    @Test
+    @DisplayName("Should start the watermark at the newest change on the first poll")
+    void testFirstPollStartsAtNewestChange() {
+        // Given
+        when(catalogChangeRepository.findMaxId()).thenReturn(42L);
+        when(catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        catalogChangeLog.poll();
+
+        // Then
+        verify(catalogChangeRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class));
+
+        // When
+        catalogChangeLog.poll();
+
+        // Then
+        verify(catalogChangeRepository).findByIdGreaterThanOrderByIdAsc(eq(42L), any(Pageable.class));
+    }
+}
@@ -0,0 +1,138 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.BatchLookup;
+import ar.com.plug.examen.domain.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+class EntityBatchLoaderTest {
+
+    @InjectMocks
+    private EntityBatchLoader entityBatchLoader;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(productRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Product> found = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                if ((Long) id % 2 == 1) {
+                    found.add(product((Long) id));
+                }
+            }
+            // The database returns rows in its own order
+            Collections.reverse(found);
+            return found;
+        });
+    }
+
+    @Test
+    @DisplayName("Should return entities in request order and report missing ids")
+    void testLoadPreservesOrder() {
+        // When
+        BatchLookup<Product> lookup = load(Arrays.asList(5L, 2L, 1L, 3L, 5L));
+
+        // Then
+        assertThat(lookup.getItems()).extracting(Product::getId).containsExactly(5L, 1L, 3L);
+        assertThat(lookup.getMissingIds()).containsExactly(2L);
+        verify(productRepository, times(1)).findAllById(Arrays.asList(5L, 2L, 1L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should read cached entities by id and query only the rest")
+    void testLoadUsesCache() {
+        // Given
+        when(cache.contains(Product.class, 3L)).thenReturn(true);
+        when(productRepository.findById(3L)).thenReturn(Optional.of(product(3L)));
+
+        // When
+        BatchLookup<Product> lookup = load(Arrays.asList(1L, 3L, 7L));
+
+        // Then
+        assertThat(lookup.getItems()).extracting(Product::getId).containsExactly(1L, 3L, 7L);
+        verify(productRepository, times(1)).findById(3L);
+        verify(productRepository, times(1)).findAllById(Arrays.asList(1L, 7L));
+    }
+
+    @Test
+    @DisplayName("Should split long id lists into chunks")
+    void testLoadInChunks() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            ids.add(id);
+        }
+
+        // When
+        BatchLookup<Product> lookup = load(ids);
+
+        // Then
+        assertThat(lookup.getItems()).hasSize(500);
+        assertThat(lookup.getMissingIds()).hasSize(500);
+        verify(productRepository, times(2)).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Should query every id when there is no second-level cache")
+    void testLoadWithoutEntityManagerFactory() {
+        // Given
+        EntityBatchLoader loader = new EntityBatchLoader();
+
+        // When
+        BatchLookup<Product> lookup = loader.load(productRepository, Product.class, Product::getId,
+                Arrays.asList(1L, 2L));
+
+        // Then
+        assertThat(lookup.getItems()).extracting(Product::getId).containsExactly(1L);
+        assertThat(lookup.getMissingIds()).containsExactly(2L);
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should reject empty, oversized and null id lists")
+    void testLoadRejectsInvalidIds() {
+        List<Long> tooMany = Collections.nCopies(1001, 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> load(Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> load(tooMany));
+        assertThrows(IllegalArgumentException.class, () -> load(Arrays.asList(1L, null)));
+        verifyNoInteractions(productRepository);
+    }
+
+    private BatchLookup<Product> load(List<Long> ids) {
+        return entityBatchLoader.load(productRepository, Product.class, Product::getId, ids);
+    }
+
+    private static Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,140 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.model.Transaction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The statement counts are per session factory, so the background pollers are kept out of them
+@SpringBootTest(properties = {
+        "catalog-invalidation.poll-interval=PT1H",
+        "inventory.flush-interval=PT1H"
+})
+@ActiveProfiles("test")
+public class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        transactionRepository.deleteAll();
+        clientRepository.deleteAll();
+        productRepository.deleteAll();
+        sellerRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testLoadingTransactionsDoesNotRequeryCachedReferences() {
+        // Given
+        List<Client> clients = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        List<Seller> sellers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Client client = new Client();
+            client.setName("Client " + i);
+            client.setEmail("client" + i + "@example.com");
+            clients.add(clientRepository.save(client));
+
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(10.0 + i);
+            product.setStock(100);
+            products.add(productRepository.save(product));
+
+            Seller seller = new Seller();
+            seller.setName("Seller " + i);
+            seller.setEmail("seller" + i + "@example.com");
+            sellers.add(sellerRepository.save(seller));
+        }
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setClient(clients.get(i % 10));
+            transaction.setProduct(products.get(i / 10 % 10));
+            transaction.setSeller(sellers.get(i / 100));
+            transaction.setQuantity(1);
+            transaction.setDate(LocalDateTime.now());
+            transaction.setApproved(true);
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+        // Rows inserted with an IDENTITY id are not put in the cache by Hibernate, so the
+        // references are cached by their first load, as they are when the application reads them
+        clientRepository.findAll();
+        productRepository.findAll();
+        sellerRepository.findAll();
+        statistics.clear();
+
+        // When
+        List<Transaction> loaded = transactionRepository.findAll();
+
+        // Then: one query for the transactions; clients, products and sellers come from the cache
+        assertThat(loaded).hasSize(1000);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheMissCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(30);
+        assertThat(loaded.get(999).getSeller().getName()).isEqualTo("Seller 9");
+    }
+
+    @Test
+    public void testCatalogQueryIsCachedUntilTheCatalogChanges() {
+        // Given
+        Product product = new Product();
+        product.setName("Product");
+        product.setPrice(10.0);
+        product.setStock(100);
+        productRepository.save(product);
+        productRepository.findAll();
+        statistics.clear();
+
+        // When
+        List<Product> cached = productRepository.findAll();
+
+        // Then
+        assertThat(cached).hasSize(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // When a product is written the cached result is invalidated
+        Product another = new Product();
+        another.setName("Another");
+        another.setPrice(5.0);
+        another.setStock(1);
+        productRepository.save(another);
+        statistics.clear();
+
+        // Then
+        assertThat(productRepository.findAll()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,76 @@
+package ar.com.plug.examen.domain.repository;
+
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.Seller;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UpsertByEmailIntegrationTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @BeforeEach
+    public void setup() {
+        transactionRepository.deleteAll();
+        clientRepository.deleteAll();
+        sellerRepository.deleteAll();
+    }
+
+    @Test
+    public void testUpsertInsertsNewEmailsAndRenamesExistingOnes() {
+        // Given
+        Client existing = clientRepository.save(client("Old name", "a@example.com"));
+        // Loads the client into the second-level cache
+        clientRepository.findById(existing.getId());
+
+        // When
+        clientRepository.upsertByEmail(Arrays.asList(client("New name", "a@example.com"), client("B", "b@example.com")));
+
+        // Then
+        assertThat(clientRepository.count()).isEqualTo(2);
+        assertThat(clientRepository.findById(existing.getId()).get().getName()).isEqualTo("New name");
+        assertThat(clientRepository.findByEmail("b@example.com")).isPresent();
+    }
+
+    @Test
+    public void testSellerUpsertAndUniqueEmail() {
+        // Given
+        Seller seller = new Seller();
+        seller.setName("Seller");
+        seller.setEmail("seller@example.com");
+
+        // When
+        sellerRepository.upsertByEmail(Collections.singletonList(seller));
+        sellerRepository.upsertByEmail(Collections.singletonList(seller));
+
+        // Then
+        assertThat(sellerRepository.findByEmailIn(Collections.singletonList("seller@example.com"))).hasSize(1);
+        assertThrows(DataIntegrityViolationException.class, () -> sellerRepository.save(seller));
+    }
+
+    private static Client client(String name, String email) {
+        Client client = new Client();
+        client.setName(name);
+        client.setEmail(email);
+        return client;
+    }
+}
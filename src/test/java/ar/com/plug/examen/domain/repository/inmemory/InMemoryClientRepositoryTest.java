@@ -0,0 +1,75 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import ar.com.plug.examen.domain.model.Client;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InMemoryClientRepositoryTest {
+
+    @Test
+    @DisplayName("Upserts insert copies of new emails and rename existing clients")
+    public void testUpsertByEmail() {
+        // Given
+        InMemoryClientRepository repository = new InMemoryClientRepository();
+        Client existing = repository.save(client("Old name", "a@example.com"));
+        Client incoming = client("B", "b@example.com");
+
+        // When
+        repository.upsertByEmail(Arrays.asList(client("New name", "a@example.com"), incoming));
+
+        // Then
+        assertThat(repository.count()).isEqualTo(2);
+        assertThat(existing.getName()).isEqualTo("New name");
+        assertThat(incoming.getId()).isNull();
+        assertThat(repository.findByEmail("b@example.com")).hasValueSatisfying(c -> assertThat(c.getName()).isEqualTo("B"));
+    }
+
+    @Test
+    @DisplayName("Emails stay unique across saves, email changes and deletes")
+    public void testEmailIsUnique() {
+        // Given
+        InMemoryClientRepository repository = new InMemoryClientRepository();
+        Client client = repository.save(client("A", "a@example.com"));
+
+        // When
+        client.setEmail("renamed@example.com");
+        repository.save(client);
+
+        // Then
+        assertThat(repository.findByEmail("a@example.com")).isEmpty();
+        assertThrows(DataIntegrityViolationException.class, () -> repository.save(client("Other", "renamed@example.com")));
+        repository.delete(client);
+        assertThat(repository.save(client("Other", "renamed@example.com")).getId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Query by example applies the matcher's string matching and ignore-case")
+    public void testQueryByExample() {
+        // Given
+        InMemoryClientRepository repository = new InMemoryClientRepository();
+        Client ana = repository.save(client("Ana", "ana@example.com"));
+        repository.save(client("Bob", "bob@example.org"));
+        ExampleMatcher matcher = ExampleMatcher.matching()
+                .withMatcher("email", ExampleMatcher.GenericPropertyMatchers.endsWith().ignoreCase());
+
+        // When / Then
+        assertThat(repository.findAll(Example.of(client(null, "EXAMPLE.COM"), matcher))).containsExactly(ana);
+        assertThat(repository.findAll(Example.of(client(null, "example.com")))).isEmpty();
+        assertThat(repository.findAll(Example.of(new Client()))).hasSize(2);
+    }
+
+    private static Client client(String name, String email) {
+        Client client = new Client();
+        client.setName(name);
+        client.setEmail(email);
+        return client;
+    }
+}
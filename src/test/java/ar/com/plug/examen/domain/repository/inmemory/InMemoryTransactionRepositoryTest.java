@@ -0,0 +1,191 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.model.TransactionSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InMemoryTransactionRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 10, 12, 0);
+
+    private final InMemoryProductRepository productRepository = new InMemoryProductRepository();
+    private final InMemoryClientRepository clientRepository = new InMemoryClientRepository();
+    private final InMemorySellerRepository sellerRepository = new InMemorySellerRepository();
+    private final InMemoryTransactionRepository transactionRepository = new InMemoryTransactionRepository();
+
+    private Product product;
+    private Client client;
+    private Seller seller;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transactionRepository, "productRepository", productRepository);
+        ReflectionTestUtils.setField(transactionRepository, "clientRepository", clientRepository);
+        ReflectionTestUtils.setField(transactionRepository, "sellerRepository", sellerRepository);
+
+        product = new Product();
+        product.setName("Product");
+        product.setPrice(2.5);
+        product.setStock(10);
+        product = productRepository.save(product);
+
+        client = new Client();
+        client.setName("Client");
+        client = clientRepository.save(client);
+
+        seller = new Seller();
+        seller.setName("Seller");
+        seller = sellerRepository.save(seller);
+    }
+
+    @Test
+    @DisplayName("Should assign ids and resolve references to the stored entities")
+    void testSaveResolvesReferences() {
+        // Given
+        Product reference = new Product();
+        reference.setId(product.getId());
+
+        // When
+        Transaction saved = transactionRepository.save(transaction(reference, NOW, true));
+
+        // Then
+        assertThat(saved.getId()).isEqualTo(1L);
+        assertThat(saved.getProduct()).isSameAs(product);
+        assertThat(transactionRepository.findById(saved.getId())).containsSame(saved);
+    }
+
+    @Test
+    @DisplayName("Should fail like a foreign key when a reference does not exist")
+    void testSaveUnknownReference() {
+        // Given
+        Product missing = new Product();
+        missing.setId(99L);
+
+        // When / Then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> transactionRepository.save(transaction(missing, NOW, true)));
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should page a client's summaries newest first within the date range")
+    void testFindSummariesByClientId() {
+        // Given
+        Transaction older = transactionRepository.save(transaction(product, NOW.minusDays(2), true));
+        Transaction newer = transactionRepository.save(transaction(product, NOW.minusDays(1), false));
+        transactionRepository.save(transaction(product, NOW.minusDays(30), true));
+
+        // When
+        Slice<TransactionSummary> first = transactionRepository.findSummariesByClientId(
+                client.getId(), NOW.minusDays(7), NOW, PageRequest.of(0, 1));
+        Slice<TransactionSummary> second = transactionRepository.findSummariesByClientId(
+                client.getId(), NOW.minusDays(7), NOW, PageRequest.of(1, 1));
+
+        // Then
+        assertThat(first.getContent()).extracting(TransactionSummary::getId).containsExactly(newer.getId());
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(TransactionSummary::getId).containsExactly(older.getId());
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should sum the line totals of approved transactions per seller")
+    void testSumApprovedRevenueBySellerSince() {
+        // Given
+        transactionRepository.save(transaction(product, NOW, true));
+        transactionRepository.save(transaction(product, NOW, true));
+        transactionRepository.save(transaction(product, NOW, false));
+
+        // When
+        List<Object[]> rows = transactionRepository.sumApprovedRevenueBySellerSince(NOW.minusDays(1));
+
+        // Then
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsExactly(seller.getId(), 1000L);
+    }
+
+    @Test
+    @DisplayName("Should backfill the line totals of unpriced transactions within the id range")
+    void testBackfillPrices() {
+        // Given
+        Transaction priced = transactionRepository.save(transaction(product, NOW, true));
+        Transaction unpriced = transaction(product, NOW, true);
+        unpriced.setUnitPriceMinor(null);
+        unpriced.setTotalMinor(null);
+        unpriced = transactionRepository.save(unpriced);
+        product.setPrice(4.0);
+
+        // When
+        List<Object[]> range = transactionRepository.findUnpricedIdRange();
+        int updated = transactionRepository.backfillPrices(unpriced.getId(), unpriced.getId());
+
+        // Then
+        assertThat(range.get(0)).containsExactly(unpriced.getId(), unpriced.getId());
+        assertThat(updated).isEqualTo(1);
+        assertThat(unpriced.getUnitPriceMinor()).isEqualTo(400L);
+        assertThat(unpriced.getTotalMinor()).isEqualTo(800L);
+        assertThat(priced.getTotalMinor()).isEqualTo(500L);
+        assertThat(transactionRepository.findUnpricedIdRange().get(0)).containsExactly(null, null);
+    }
+
+    @Test
+    @DisplayName("Should query by example, comparing associations by their own properties")
+    void testQueryByExample() {
+        // Given
+        Product other = new Product();
+        other.setName("Other");
+        other = productRepository.save(other);
+        Transaction match = transactionRepository.save(transaction(product, NOW, true));
+        transactionRepository.save(transaction(product, NOW, false));
+        transactionRepository.save(transaction(other, NOW, true));
+        Product productProbe = new Product();
+        productProbe.setId(product.getId());
+        Transaction probe = new Transaction();
+        probe.setProduct(productProbe);
+        probe.setApproved(true);
+
+        // When / Then
+        assertThat(transactionRepository.findAll(Example.of(probe))).containsExactly(match);
+        assertThat(transactionRepository.count(Example.of(probe, ExampleMatcher.matchingAny()))).isEqualTo(3);
+        assertThat(transactionRepository.findOne(Example.of(probe))).containsSame(match);
+        probe.setDate(NOW.minusDays(1));
+        assertThat(transactionRepository.exists(Example.of(probe))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject deleting an unknown id")
+    void testDeleteUnknownId() {
+        assertThrows(EmptyResultDataAccessException.class, () -> transactionRepository.deleteById(1L));
+    }
+
+    private Transaction transaction(Product product, LocalDateTime date, boolean approved) {
+        Transaction transaction = new Transaction();
+        transaction.setProduct(product);
+        transaction.setClient(client);
+        transaction.setSeller(seller);
+        transaction.setQuantity(2);
+        transaction.setDate(date);
+        transaction.setApproved(approved);
+        transaction.setUnitPriceMinor(250L);
+        transaction.setTotalMinor(500L);
+        return transaction;
+    }
+}
@@ -0,0 +1,68 @@
+package ar.com.plug.examen.domain.repository.inmemory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongObjectMapTest {
+
+    @Test
+    @DisplayName("Should store, replace and remove values, including the zero key")
+    void testPutGetRemove() {
+        // Given
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        // When
+        map.put(0L, "zero");
+        map.put(1L, "one");
+        String previous = map.put(1L, "uno");
+
+        // Then
+        assertThat(previous).isEqualTo("one");
+        assertThat(map.get(0L)).isEqualTo("zero");
+        assertThat(map.get(1L)).isEqualTo("uno");
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.remove(0L)).isEqualTo("zero");
+        assertThat(map.containsKey(0L)).isFalse();
+        assertThat(map.remove(42L)).isNull();
+        assertThat(map.values()).containsExactly("uno");
+    }
+
+    @Test
+    @DisplayName("Should behave like a HashMap across resizes and backward-shift deletes")
+    void testMatchesHashMap() {
+        // Given
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // When / Then
+        for (long i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000) - 100;
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertThat(map.put(key, i)).isEqualTo(expected.put(key, i));
+                    break;
+                case 1:
+                    assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+                    break;
+                default:
+                    assertThat(map.get(key)).isEqualTo(expected.get(key));
+            }
+        }
+        assertThat(map.size()).isEqualTo(expected.size());
+        assertThat(map.values()).containsExactlyInAnyOrderElementsOf(expected.values());
+    }
+
+    @Test
+    @DisplayName("Should reject null values")
+    void testNullValue() {
+        assertThrows(IllegalArgumentException.class, () -> new LongObjectMap<String>().put(1L, null));
+    }
+}
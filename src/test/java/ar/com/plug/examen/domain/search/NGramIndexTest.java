@@ -0,0 +1,150 @@
+package ar.com.plug.examen.domain.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NGramIndexTest {
+
+    @Test
+    @DisplayName("Every query word must start a word of the text")
+    public void testSearchMatchesWordPrefixes() {
+        // Given
+        NGramIndex index = new NGramIndex();
+        index.put(1L, "Laptop Pro 14");
+        index.put(2L, "Desktop Pro");
+        index.put(3L, "Laptop Air");
+
+        // When
+        List<Long> laptops = index.search("lap", 10);
+        List<Long> laptopPros = index.search("PRO lap", 10);
+        List<Long> infix = index.search("top", 10);
+
+        // Then
+        assertThat(laptops).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(laptopPros).containsExactly(1L);
+        assertThat(infix).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Short queries and accents are handled")
+    public void testSearchNormalizesText() {
+        // Given
+        NGramIndex index = new NGramIndex();
+        index.put(1L, "Café Crème");
+        index.put(2L, "Cafetera");
+
+        // When
+        List<Long> single = index.search("c", 10);
+        List<Long> accented = index.search("creme", 10);
+
+        // Then
+        assertThat(single).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(accented).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Texts starting with the query rank first, then shorter texts")
+    public void testSearchRanksMatches() {
+        // Given
+        NGramIndex index = new NGramIndex();
+        index.put(1L, "Wireless Mouse Pad Extra Large");
+        index.put(2L, "Gaming Mouse");
+        index.put(3L, "Mouse Pad");
+        index.put(4L, "Mouse");
+
+        // When
+        List<Long> ranked = index.search("mouse", 3);
+
+        // Then
+        assertThat(ranked).containsExactly(4L, 3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Updates replace the indexed text and removals drop it")
+    public void testPutReplacesAndRemoveDrops() {
+        // Given
+        NGramIndex index = new NGramIndex();
+        index.put(1L, "Keyboard");
+        index.put(2L, "Monitor");
+
+        // When
+        index.put(1L, "Headphones");
+        index.remove(2L);
+
+        // Then
+        assertThat(index.search("key", 10)).isEmpty();
+        assertThat(index.search("head", 10)).containsExactly(1L);
+        assertThat(index.search("mon", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Compacting after many updates keeps every live text searchable")
+    public void testCompaction() {
+        // Given
+        NGramIndex index = new NGramIndex();
+        for (long id = 0; id < 100; id++) {
+            index.put(id, "Product " + id);
+        }
+
+        // When
+        for (int round = 0; round < 50; round++) {
+            for (long id = 0; id < 100; id++) {
+                index.put(id, "Item " + id + " round " + round);
+            }
+        }
+
+        // Then
+        assertThat(index.size()).isEqualTo(100);
+        assertThat(index.search("product", 10)).isEmpty();
+        assertThat(index.search("item 42 round 49", 10)).containsExactly(42L);
+        assertThat(index.search("item 7 round 48", 10)).isEmpty();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: top-10 queries over one million names")
+    public void benchmarkMillionNames() {
+        Random random = new Random(42);
+        String[] brands = new String[5000];
+        for (int i = 0; i < brands.length; i++) {
+            brands[i] = word(random, 3);
+        }
+        String[] kinds = new String[300];
+        for (int i = 0; i < kinds.length; i++) {
+            kinds[i] = word(random, 2 + random.nextInt(3));
+        }
+        NGramIndex index = new NGramIndex();
+        for (long id = 0; id < 1_000_000; id++) {
+            index.put(id, brands[random.nextInt(brands.length)] + " " + kinds[random.nextInt(kinds.length)]
+                    + " " + Integer.toString(random.nextInt(100_000), 36));
+        }
+        String[] queries = {"k", "ka", brands[1].substring(0, 4), kinds[5], brands[2] + " " + kinds[3].substring(0, 3)};
+        for (String query : queries) {
+            for (int i = 0; i < 1000; i++) {
+                index.search(query, 10);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < 1000; i++) {
+                index.search(query, 10);
+            }
+            System.out.printf("'%s': %d us per query%n", query, (System.nanoTime() - start) / 1000 / 1000);
+        }
+        System.out.printf("1M names, %d MB estimated%n", index.estimatedBytes() >> 20);
+    }
+
+    private static String word(Random random, int syllables) {
+        String[] parts = {"ka", "lo", "mi", "ne", "ro", "ta", "vu", "ze", "pi", "do", "sa", "ri", "mo", "lu", "fe", "ga"};
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(parts[random.nextInt(parts.length)]);
+        }
+        return word.toString();
+    }
+}
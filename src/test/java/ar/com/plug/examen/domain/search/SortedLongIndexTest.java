@@ -0,0 +1,85 @@
+package ar.com.plug.examen.domain.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SortedLongIndexTest {
+
+    @Test
+    @DisplayName("Range queries return ids by ascending value, then id")
+    public void testRange() {
+        // Given
+        SortedLongIndex index = new SortedLongIndex();
+        index.put(1L, 500);
+        index.put(2L, 100);
+        index.put(3L, 300);
+        index.put(4L, 300);
+        index.put(5L, 900);
+
+        // When
+        List<Long> middle = index.range(100, 500, 10);
+        List<Long> limited = index.range(300, 900, 2);
+
+        // Then
+        assertThat(middle).containsExactly(2L, 3L, 4L, 1L);
+        assertThat(limited).containsExactly(3L, 4L);
+        assertThat(index.range(901, 1000, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Updates move an id and return the previous value")
+    public void testPutAndRemove() {
+        // Given
+        SortedLongIndex index = new SortedLongIndex();
+        index.put(1L, 10);
+
+        // When
+        Long previous = index.put(1L, 20);
+        Long removed = index.remove(1L);
+
+        // Then
+        assertThat(previous).isEqualTo(10L);
+        assertThat(removed).isEqualTo(20L);
+        assertThat(index.remove(1L)).isNull();
+        assertThat(index.range(Long.MIN_VALUE, Long.MAX_VALUE, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Random updates across many blocks agree with a sorted map")
+    public void testAgreesWithTreeMap() {
+        // Given
+        SortedLongIndex index = new SortedLongIndex();
+        TreeMap<Long, TreeSet<Long>> expected = new TreeMap<>();
+        long[] values = new long[5000];
+        Random random = new Random(7);
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            int id = random.nextInt(values.length);
+            if (values[id] != 0) {
+                expected.get(values[id]).remove((long) id);
+            }
+            if (random.nextInt(10) == 0) {
+                index.remove(id);
+                values[id] = 0;
+            } else {
+                values[id] = 1 + random.nextInt(1000);
+                index.put(id, values[id]);
+                expected.computeIfAbsent(values[id], v -> new TreeSet<>()).add((long) id);
+            }
+        }
+
+        // Then
+        List<Long> all = new ArrayList<>();
+        expected.subMap(250L, true, 750L, true).values().forEach(all::addAll);
+        assertThat(index.range(250, 750, Integer.MAX_VALUE)).isEqualTo(all);
+    }
+}
@@ -1,15 +1,19 @@
 package ar.com.plug.examen.domain.service;
 
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
 import ar.com.plug.examen.domain.model.Client;
 import ar.com.plug.examen.domain.repository.ClientRepository;
+import ar.com.plug.examen.domain.repository.EntityBatchLoader;
 import ar.com.plug.examen.domain.service.impl.ClientServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -29,6 +33,12 @@ class ClientServiceImplTest {
     @Mock
     private ClientRepository clientRepository;
 
+    @Mock
+    private EntityBatchLoader entityBatchLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private Logger logger;
 
@@ -195,4 +205,43 @@ class ClientServiceImplTest {
         assertThat(exception.getMessage()).isEqualTo("Error deleting client");
         verify(clientRepository, times(1)).deleteById(clientId);
     }
+
+    @Test
+    @DisplayName("Should upsert clients by email in one call, last entry winning")
+    void testUpsertClientsByEmail() {
+        // Given
+        Client first = client(null, "Old name", " a@example.com ");
+        Client second = client(null, "B", "b@example.com");
+        Client repeated = client(null, "New name", "a@example.com");
+        when(clientRepository.findByEmailIn(any())).thenReturn(Arrays.asList(
+                client(2L, "B", "b@example.com"), client(1L, "New name", "A@example.com")));
+
+        // When
+        List<Client> upserted = clientService.upsertClientsByEmail(Arrays.asList(first, second, repeated));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Client>> rows = ArgumentCaptor.forClass(List.class);
+        verify(clientRepository, times(1)).upsertByEmail(rows.capture());
+        assertThat(rows.getValue()).extracting(Client::getEmail).containsExactly("a@example.com", "b@example.com");
+        assertThat(rows.getValue()).extracting(Client::getName).containsExactly("New name", "B");
+        assertThat(upserted).extracting(Client::getId).containsExactly(1L, 2L);
+        verify(eventPublisher, times(2)).publishEvent(any(CatalogChangeEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject upserting a client without email")
+    void testUpsertClientByEmailRequiresEmail() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> clientService.upsertClientByEmail(" ", client(null, "No email", null)));
+        verify(clientRepository, never()).upsertByEmail(any());
+    }
+
+    private static Client client(Long id, String name, String email) {
+        Client client = new Client();
+        client.setId(id);
+        client.setName(name);
+        client.setEmail(email);
+        return client;
+    }
 }
@@ -0,0 +1,233 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.exception.IdempotencyKeyInProgressException;
+import ar.com.plug.examen.domain.exception.IdempotencyKeyReusedException;
+import ar.com.plug.examen.domain.model.IdempotencyRecord;
+import ar.com.plug.examen.domain.model.IdempotencyStatus;
+import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.repository.IdempotencyRecordRepository;
+import ar.com.plug.examen.domain.service.impl.IdempotencyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceImplTest {
+
+    private static final Object REQUEST = Collections.singletonMap("quantity", 1);
+
+    @InjectMocks
+    private IdempotencyServiceImpl idempotencyServiceImpl;
+
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        idempotencyServiceImpl.init();
+        idempotencyService = idempotencyServiceImpl;
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(anyString(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("Should claim the key, execute the action once and replay its response")
+    void testReplay() throws Exception {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        Transaction first = idempotencyService.execute("key-1", REQUEST, Transaction.class, () -> transaction(executions.incrementAndGet()));
+        Transaction second = idempotencyService.execute("key-1", REQUEST, Transaction.class, () -> transaction(executions.incrementAndGet()));
+
+        // Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+        ArgumentCaptor<IdempotencyRecord> claimed = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository, times(1)).insert(claimed.capture());
+        assertThat(claimed.getValue().getStatus()).isEqualTo(IdempotencyStatus.PENDING);
+        assertThat(claimed.getValue().getRequestFingerprint()).isEqualTo(fingerprint(REQUEST));
+        assertThat(claimed.getValue().getLeaseExpiresAt()).isAfter(claimed.getValue().getCreatedAt());
+        verify(idempotencyRecordRepository, times(1)).complete(eq("key-1"), eq(claimed.getValue().getOwner()), anyString());
+    }
+
+    @Test
+    @DisplayName("Should replay a response stored by another node when the key is already taken")
+    void testReplayFromDatabase() throws Exception {
+        // Given
+        IdempotencyRecord record = record("key-2", fingerprint(REQUEST), IdempotencyStatus.COMPLETED);
+        record.setResponseBody("{\"id\":42,\"quantity\":3}");
+
+        // When
+        doThrow(new DataIntegrityViolationException("Duplicate key")).when(idempotencyRecordRepository).insert(any());
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(eq("key-2"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(record));
+        Transaction replayed = idempotencyService.execute("key-2", REQUEST, Transaction.class, () -> {
+            throw new AssertionError("Action must not run on replay");
+        });
+
+        // Then
+        assertThat(replayed.getId()).isEqualTo(42L);
+        assertThat(replayed.getQuantity()).isEqualTo(3);
+        verify(idempotencyRecordRepository, never()).complete(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should report a key claimed by a request still running on another node as in progress")
+    void testPendingOnAnotherNode() throws Exception {
+        // Given
+        IdempotencyRecord record = record("key-4", fingerprint(REQUEST), IdempotencyStatus.PENDING);
+        doThrow(new DataIntegrityViolationException("Duplicate key")).when(idempotencyRecordRepository).insert(any());
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(eq("key-4"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(record));
+
+        // When / Then
+        assertThrows(IdempotencyKeyInProgressException.class, () -> idempotencyService.execute("key-4", REQUEST, Transaction.class, () -> {
+            throw new AssertionError("Action must not run while the key is claimed");
+        }));
+    }
+
+    @Test
+    @DisplayName("Should take over a pending key whose lease ran out and execute the action")
+    void testTakeOverExpiredLease() throws Exception {
+        // Given
+        IdempotencyRecord record = record("key-8", fingerprint(REQUEST), IdempotencyStatus.PENDING);
+        record.setLeaseExpiresAt(LocalDateTime.now().minusMinutes(1));
+        doThrow(new DataIntegrityViolationException("Duplicate key")).when(idempotencyRecordRepository).insert(any());
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(eq("key-8"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(record));
+        when(idempotencyRecordRepository.takeOver(eq("key-8"), anyString(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // When
+        Transaction taken = idempotencyService.execute("key-8", REQUEST, Transaction.class, () -> transaction(8));
+
+        // Then
+        assertThat(taken.getId()).isEqualTo(8L);
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyRecordRepository).takeOver(eq("key-8"), owner.capture(), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(idempotencyRecordRepository).complete(eq("key-8"), eq(owner.getValue()), anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different request")
+    void testKeyReusedWithDifferentRequest() throws Exception {
+        // Given
+        idempotencyService.execute("key-5", REQUEST, Transaction.class, () -> transaction(1));
+        IdempotencyRecord record = record("key-6", fingerprint(REQUEST), IdempotencyStatus.COMPLETED);
+        doThrow(new DataIntegrityViolationException("Duplicate key")).when(idempotencyRecordRepository).insert(any());
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(eq("key-6"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(record));
+        Object otherRequest = Collections.singletonMap("quantity", 2);
+
+        // When / Then
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyService.execute("key-5", otherRequest, Transaction.class, () -> transaction(2)));
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyService.execute("key-6", otherRequest, Transaction.class, () -> transaction(2)));
+    }
+
+    @Test
+    @DisplayName("Should release the key when the action fails, so the request can be retried")
+    void testFailedActionReleasesKey() {
+        // When
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("key-7", REQUEST, Transaction.class, () -> {
+            throw new IllegalStateException("Insufficient stock");
+        }));
+        Transaction retried = idempotencyService.execute("key-7", REQUEST, Transaction.class, () -> transaction(7));
+
+        // Then
+        assertThat(retried.getId()).isEqualTo(7L);
+        verify(idempotencyRecordRepository).deletePending(eq("key-7"), anyString());
+        verify(idempotencyRecordRepository, times(2)).insert(any());
+    }
+
+    @Test
+    @DisplayName("Should make concurrent duplicates wait for the in-flight request")
+    void testConcurrentDuplicates() throws Exception {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<Transaction> first = executor.submit(() -> idempotencyService.execute("key-3", REQUEST, Transaction.class, () -> {
+                started.countDown();
+                await(release);
+                return transaction(executions.incrementAndGet());
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Transaction> duplicate = executor.submit(() -> idempotencyService.execute("key-3", REQUEST, Transaction.class,
+                    () -> transaction(executions.incrementAndGet())));
+            release.countDown();
+
+            // Then
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+            assertThat(executions.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an empty idempotency key")
+    void testInvalidKey() {
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute("", REQUEST, Transaction.class, Transaction::new));
+    }
+
+    private String fingerprint(Object request) throws Exception {
+        return Hashing.sha256().hashBytes(objectMapper.writeValueAsBytes(request)).toString();
+    }
+
+    private static IdempotencyRecord record(String idempotencyKey, String fingerprint, IdempotencyStatus status) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(idempotencyKey);
+        record.setRequestFingerprint(fingerprint);
+        record.setStatus(status);
+        return record;
+    }
+
+    private static Transaction transaction(long id) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        return transaction;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
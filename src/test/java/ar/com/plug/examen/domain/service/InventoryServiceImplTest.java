@@ -0,0 +1,255 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.event.StockChangedEvent;
+import ar.com.plug.examen.domain.exception.InsufficientStockException;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.service.impl.InventoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class InventoryServiceImplTest {
+
+    private static final Long PRODUCT_ID = 1L;
+
+    @InjectMocks
+    private InventoryServiceImpl inventoryServiceImpl;
+
+    private InventoryService inventoryService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        inventoryService = inventoryServiceImpl;
+        product = new Product();
+        product.setId(PRODUCT_ID);
+        when(productRepository.findByIdForUpdate(PRODUCT_ID)).thenReturn(Optional.of(product));
+        // Row locks are modelled by serializing the transactions
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            synchronized (product) {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            }
+        });
+        ReflectionTestUtils.setField(inventoryServiceImpl, "leaseTemplate", transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should decrement the locked row of a regular product")
+    void testReserveRegularProduct() {
+        // Given
+        product.setStock(5);
+
+        // When
+        inventoryService.reserve(PRODUCT_ID, 3);
+
+        // Then
+        assertThat(product.getStock()).isEqualTo(2);
+        assertThrows(InsufficientStockException.class, () -> inventoryService.reserve(PRODUCT_ID, 3));
+        assertThat(product.getStock()).isEqualTo(2);
+        verify(productRepository, times(2)).findByIdForUpdate(PRODUCT_ID);
+    }
+
+    @Test
+    @DisplayName("Should publish the committed stock after each change")
+    void testReservePublishesStockChange() {
+        // Given
+        product.setStock(5);
+        ArgumentCaptor<StockChangedEvent> event = ArgumentCaptor.forClass(StockChangedEvent.class);
+
+        // When
+        inventoryService.reserve(PRODUCT_ID, 3);
+        inventoryService.release(PRODUCT_ID, 1);
+
+        // Then
+        verify(eventPublisher, times(2)).publishEvent(event.capture());
+        assertThat(event.getAllValues()).extracting(StockChangedEvent::getStock).containsExactly(2, 3);
+    }
+
+    @Test
+    @DisplayName("Should sell a hot product from a leased block without locking the row per sale")
+    void testReserveHotProductLeasesInBlocks() {
+        // Given
+        hot(100);
+        product.setStock(1000);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            inventoryService.reserve(PRODUCT_ID, 2);
+        }
+
+        // Then
+        assertThat(product.getStock()).isEqualTo(900);
+        verify(productRepository, times(1)).findByIdForUpdate(PRODUCT_ID);
+    }
+
+    @Test
+    @DisplayName("Should never oversell a hot product under concurrent reservations")
+    void testHotProductNoOversell() throws Exception {
+        // Given
+        hot(7);
+        product.setStock(50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            results.add(executor.submit(() -> {
+                int sold = 0;
+                for (int i = 0; i < 20; i++) {
+                    try {
+                        inventoryService.reserve(PRODUCT_ID, 1);
+                        sold++;
+                    } catch (InsufficientStockException e) {
+                        // Sold out
+                    }
+                }
+                return sold;
+            }));
+        }
+        int sold = 0;
+        for (Future<Integer> result : results) {
+            sold += result.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(sold).isEqualTo(50);
+        assertThat(product.getStock()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should flush surplus quota back and return all of it on shutdown")
+    void testFlushAndReturnAll() {
+        // Given
+        hot(10);
+        product.setStock(100);
+        inventoryService.reserve(PRODUCT_ID, 25);
+        inventoryService.release(PRODUCT_ID, 20);
+
+        // When / Then: 25 leased, 5 sold, 20 released; one block stays leased
+        inventoryService.flush();
+        assertThat(product.getStock()).isEqualTo(85);
+        inventoryServiceImpl.returnAll();
+        assertThat(product.getStock()).isEqualTo(95);
+    }
+
+    @Test
+    @DisplayName("Should write off leased units of a hot product before the row")
+    void testAdjustStockTakesQuotaFirst() {
+        // Given: 10 leased, 2 sold
+        hot(10);
+        product.setStock(20);
+        inventoryService.reserve(PRODUCT_ID, 2);
+
+        // When
+        inventoryService.adjustStock(PRODUCT_ID, -12);
+        inventoryService.adjustStock(PRODUCT_ID, 5);
+
+        // Then
+        assertThat(product.getStock()).isEqualTo(11);
+        assertThrows(InsufficientStockException.class, () -> inventoryService.adjustStock(PRODUCT_ID, -12));
+        assertThat(product.getStock()).isEqualTo(11);
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.adjustStock(PRODUCT_ID, 0));
+    }
+
+    @Test
+    @DisplayName("Should lock every product of a batch in ascending id order")
+    void testReserveAllInIdOrder() {
+        // Given
+        Product other = new Product();
+        other.setId(2L);
+        other.setStock(4);
+        product.setStock(5);
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(2L, 4);
+        quantities.put(PRODUCT_ID, 2);
+
+        // When
+        when(productRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(other));
+        inventoryService.reserveAll(quantities);
+
+        // Then
+        InOrder locks = inOrder(productRepository);
+        locks.verify(productRepository).findByIdForUpdate(PRODUCT_ID);
+        locks.verify(productRepository).findByIdForUpdate(2L);
+        assertThat(product.getStock()).isEqualTo(3);
+        assertThat(other.getStock()).isZero();
+        verify(eventPublisher, times(2)).publishEvent(any(StockChangedEvent.class));
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should return quota units when a batch reservation fails")
+    void testReserveAllReturnsQuotaOnFailure() {
+        // Given
+        hot(10);
+        product.setStock(10);
+        Product other = new Product();
+        other.setId(2L);
+        other.setStock(1);
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(PRODUCT_ID, 3);
+        quantities.put(2L, 2);
+
+        // When
+        when(productRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(other));
+        assertThrows(InsufficientStockException.class, () -> inventoryService.reserveAll(quantities));
+
+        // Then: the 3 units are back in the quota, so all 10 leased units can still be sold
+        inventoryService.reserve(PRODUCT_ID, 10);
+        assertThat(product.getStock()).isZero();
+        assertThat(other.getStock()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown products and invalid quantities")
+    void testInvalidReservation() {
+        when(productRepository.findByIdForUpdate(2L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.reserve(2L, 1));
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.reserve(PRODUCT_ID, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> inventoryService.reserveAll(Collections.singletonMap(PRODUCT_ID, 0)));
+    }
+
+    private void hot(long leaseSize) {
+        ReflectionTestUtils.setField(inventoryServiceImpl, "hotProducts", Collections.singleton(PRODUCT_ID));
+        ReflectionTestUtils.setField(inventoryServiceImpl, "leaseSize", leaseSize);
+    }
+}
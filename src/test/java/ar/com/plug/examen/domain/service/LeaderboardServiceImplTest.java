@@ -0,0 +1,132 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.model.LeaderboardEntry;
+import ar.com.plug.examen.domain.model.LeaderboardWindow;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.TransactionRepository;
+import ar.com.plug.examen.domain.service.impl.LeaderboardServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class LeaderboardServiceImplTest {
+
+    @InjectMocks
+    private LeaderboardServiceImpl leaderboardServiceImpl;
+
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        leaderboardService = leaderboardServiceImpl;
+    }
+
+    @Test
+    @DisplayName("Should rank sellers and products by approved revenue")
+    void testRecordSale() {
+        // Given
+        leaderboardService.recordSale(sale(1L, 10L, 5.0, 2, true));
+        leaderboardService.recordSale(sale(2L, 20L, 1.0, 3, true));
+        leaderboardService.recordSale(sale(2L, 20L, 1.0, 10, true));
+        leaderboardService.recordSale(sale(3L, 30L, 100.0, 1, false));
+
+        // When
+        List<LeaderboardEntry> sellers = leaderboardService.getTopSellers(LeaderboardWindow.TODAY, 10);
+        List<LeaderboardEntry> products = leaderboardService.getTopProducts(LeaderboardWindow.MONTH, 1);
+
+        // Then
+        assertThat(sellers).extracting(LeaderboardEntry::getId).containsExactly(2L, 1L);
+        assertThat(sellers).extracting(LeaderboardEntry::getRevenueMinor).containsExactly(1300L, 1000L);
+        assertThat(products).extracting(LeaderboardEntry::getId).containsExactly(20L);
+    }
+
+    @Test
+    @DisplayName("Should rank by the line total stored on the transaction")
+    void testRecordSaleWithLineTotal() {
+        // Given
+        Transaction transaction = sale(1L, 10L, 9.99, 4, true);
+        transaction.setTotalMinor(2000L);
+
+        // When
+        leaderboardService.recordSale(transaction);
+
+        // Then
+        assertThat(leaderboardService.getTopSellers(LeaderboardWindow.TODAY, 10))
+                .extracting(LeaderboardEntry::getRevenueMinor).containsExactly(2000L);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should look up the product price when the sale only references the product id")
+    void testRecordSaleWithProductReference() {
+        // Given
+        Transaction transaction = sale(1L, 10L, null, 4, true);
+        Product stored = new Product();
+        stored.setId(10L);
+        stored.setPrice(2.5);
+
+        // When
+        when(productRepository.findById(10L)).thenReturn(Optional.of(stored));
+        leaderboardService.recordSale(transaction);
+
+        // Then
+        assertThat(leaderboardService.getTopProducts(LeaderboardWindow.WEEK, 10))
+                .extracting(LeaderboardEntry::getRevenueMinor).containsExactly(1000L);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the leaderboards from the database")
+    void testRebuild() {
+        // Given
+        List<Object[]> sellerRows = Collections.singletonList(new Object[]{5L, 1250L});
+        List<Object[]> productRows = Collections.singletonList(new Object[]{6L, 1250L});
+
+        // When
+        when(transactionRepository.sumApprovedRevenueBySellerSince(any(LocalDateTime.class))).thenReturn(sellerRows);
+        when(transactionRepository.sumApprovedRevenueByProductSince(any(LocalDateTime.class))).thenReturn(productRows);
+        leaderboardService.rebuild();
+
+        // Then
+        assertThat(leaderboardService.getTopSellers(LeaderboardWindow.TODAY, 10))
+                .extracting(LeaderboardEntry::getRevenueMinor).containsExactly(1250L);
+        assertThat(leaderboardService.getTopProducts(LeaderboardWindow.MONTH, 10))
+                .extracting(LeaderboardEntry::getId).containsExactly(6L);
+        verify(transactionRepository, times(LeaderboardWindow.values().length)).sumApprovedRevenueBySellerSince(any(LocalDateTime.class));
+    }
+
+    private static Transaction sale(Long sellerId, Long productId, Double price, int quantity, boolean approved) {
+        Seller seller = new Seller();
+        seller.setId(sellerId);
+        Product product = new Product();
+        product.setId(productId);
+        product.setPrice(price);
+        Transaction transaction = new Transaction();
+        transaction.setSeller(seller);
+        transaction.setProduct(product);
+        transaction.setQuantity(quantity);
+        transaction.setDate(LocalDateTime.now());
+        transaction.setApproved(approved);
+        return transaction;
+    }
+}
@@ -0,0 +1,83 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.service.impl.ProductIndexLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ProductIndexLoaderTest {
+
+    @InjectMocks
+    private ProductIndexLoader productIndexLoader;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    @DisplayName("Should read every page of products in id order, each after the last id of the previous one")
+    void testForEachProductReadsAllPages() {
+        // Given
+        List<Product> first = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            first.add(product(id));
+        }
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, PageRequest.of(0, 10_000)))
+                .thenReturn(first);
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(10_000L, PageRequest.of(0, 10_000)))
+                .thenReturn(Collections.singletonList(product(10_001L)));
+        List<Long> ids = new ArrayList<>();
+
+        // When
+        int count = productIndexLoader.forEachProduct(product -> ids.add(product.getId()));
+
+        // Then
+        assertThat(count).isEqualTo(10_001);
+        assertThat(ids).startsWith(1L, 2L).endsWith(10_000L, 10_001L);
+        verify(productRepository, times(2)).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Should take local changes from the event and read remote ones from the database")
+    void testProductAfter() {
+        // Given
+        Product local = product(1L);
+        when(productRepository.findById(2L)).thenReturn(Optional.of(product(2L)));
+
+        // When / Then
+        assertThat(productIndexLoader.productAfter(CatalogChangeEvent.saved(CatalogEntityType.PRODUCT, 1L, local)))
+                .containsSame(local);
+        assertThat(productIndexLoader.productAfter(CatalogChangeEvent.deleted(CatalogEntityType.PRODUCT, 3L)))
+                .isEmpty();
+        assertThat(productIndexLoader.productAfter(new CatalogChangeEvent(CatalogEntityType.PRODUCT, 2L, null, true)))
+                .hasValueSatisfying(product -> assertThat(product.getId()).isEqualTo(2L));
+        verify(productRepository, times(1)).findById(2L);
+    }
+
+    private static Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        return product;
+    }
+}
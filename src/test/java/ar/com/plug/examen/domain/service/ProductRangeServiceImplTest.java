@@ -0,0 +1,122 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.event.LowStockEvent;
+import ar.com.plug.examen.domain.event.StockChangedEvent;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.service.impl.ProductIndexLoader;
+import ar.com.plug.examen.domain.service.impl.ProductRangeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class ProductRangeServiceImplTest {
+
+    @InjectMocks
+    private ProductRangeServiceImpl productRangeServiceImpl;
+
+    private ProductRangeService productRangeService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final List<Product> products = Arrays.asList(
+            product(1L, 25.0, 40), product(2L, 5.0, 3), product(3L, 12.5, 8), product(4L, 99.9, 100));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        ProductIndexLoader productIndexLoader = new ProductIndexLoader();
+        ReflectionTestUtils.setField(productIndexLoader, "productRepository", productRepository);
+        ReflectionTestUtils.setField(productRangeServiceImpl, "productIndexLoader", productIndexLoader);
+        productRangeService = productRangeServiceImpl;
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenReturn(products);
+        when(productRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Product> found = new ArrayList<>(products);
+            found.removeIf(product -> !((List<?>) invocation.getArgument(0)).contains(product.getId()));
+            return found;
+        });
+        productRangeService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should return the products within a price range by ascending price")
+    void testFindByPriceBetween() {
+        // When
+        List<Product> found = productRangeService.findByPriceBetween(5.0, 25.0, 10);
+
+        // Then
+        assertThat(found).extracting(Product::getId).containsExactly(2L, 3L, 1L);
+        assertThrows(IllegalArgumentException.class, () -> productRangeService.findByPriceBetween(25.0, 5.0, 10));
+    }
+
+    @Test
+    @DisplayName("Should return the products below the stock threshold by ascending stock")
+    void testFindLowStock() {
+        // When
+        List<Product> belowDefault = productRangeService.findLowStock(null, 10);
+        List<Product> belowFifty = productRangeService.findLowStock(50, 10);
+
+        // Then
+        assertThat(belowDefault).extracting(Product::getId).containsExactly(2L, 3L);
+        assertThat(belowFifty).extracting(Product::getId).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should raise a low stock alert when a sale crosses the threshold")
+    void testStockChangeCrossingThreshold() {
+        // Given
+        ArgumentCaptor<LowStockEvent> event = ArgumentCaptor.forClass(LowStockEvent.class);
+
+        // When
+        productRangeServiceImpl.onStockChanged(new StockChangedEvent(1L, 12));
+        productRangeServiceImpl.onStockChanged(new StockChangedEvent(1L, 9));
+        productRangeServiceImpl.onStockChanged(new StockChangedEvent(1L, 4));
+
+        // Then
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue().getProductId()).isEqualTo(1L);
+        assertThat(event.getValue().getStock()).isEqualTo(9);
+        assertThat(productRangeService.findLowStock(null, 10)).extracting(Product::getId).contains(1L);
+    }
+
+    @Test
+    @DisplayName("Should follow product updates and deletes")
+    void testOnCatalogChange() {
+        // When
+        productRangeServiceImpl.onCatalogChange(CatalogChangeEvent.saved(CatalogEntityType.PRODUCT, 4L, product(4L, 7.0, 5)));
+        productRangeServiceImpl.onCatalogChange(CatalogChangeEvent.deleted(CatalogEntityType.PRODUCT, 2L));
+
+        // Then
+        assertThat(productRangeService.findByPriceBetween(0.0, 10.0, 10)).extracting(Product::getId).containsExactly(4L);
+        verify(eventPublisher, times(1)).publishEvent(any(LowStockEvent.class));
+    }
+
+    private static Product product(Long id, Double price, Integer stock) {
+        Product product = new Product();
+        product.setId(id);
+        product.setPrice(price);
+        product.setStock(stock);
+        return product;
+    }
+}
@@ -0,0 +1,99 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.service.impl.ProductIndexLoader;
+import ar.com.plug.examen.domain.service.impl.ProductSearchServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class ProductSearchServiceImplTest {
+
+    @InjectMocks
+    private ProductSearchServiceImpl productSearchServiceImpl;
+
+    private ProductSearchService productSearchService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        ProductIndexLoader productIndexLoader = new ProductIndexLoader();
+        ReflectionTestUtils.setField(productIndexLoader, "productRepository", productRepository);
+        ReflectionTestUtils.setField(productSearchServiceImpl, "productIndexLoader", productIndexLoader);
+        productSearchService = productSearchServiceImpl;
+    }
+
+    @Test
+    @DisplayName("Should index every stored product on rebuild")
+    void testRebuild() {
+        // Given
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(product(1L, "Laptop Pro"), product(2L, "Laptop Air"), product(3L, "Mouse")));
+
+        // When
+        productSearchService.rebuild();
+        List<Long> ids = productSearchService.search("lap", 10);
+
+        // Then
+        assertThat(ids).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(productSearchService.getIndexedCount()).isEqualTo(3);
+        assertThat(productSearchService.getIndexMemoryBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should follow local and remote product changes")
+    void testOnCatalogChange() {
+        // Given
+        productSearchServiceImpl.onCatalogChange(CatalogChangeEvent.saved(CatalogEntityType.PRODUCT, 1L, product(1L, "Keyboard")));
+        productSearchServiceImpl.onCatalogChange(CatalogChangeEvent.saved(CatalogEntityType.PRODUCT, 2L, product(2L, "Keypad")));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, "Headphones")));
+
+        // When
+        productSearchServiceImpl.onCatalogChange(new CatalogChangeEvent(CatalogEntityType.PRODUCT, 1L, null, true));
+        productSearchServiceImpl.onCatalogChange(CatalogChangeEvent.deleted(CatalogEntityType.PRODUCT, 2L));
+        productSearchServiceImpl.onCatalogChange(CatalogChangeEvent.saved(CatalogEntityType.SELLER, 3L, null));
+
+        // Then
+        assertThat(productSearchService.search("key", 10)).isEmpty();
+        assertThat(productSearchService.search("head", 10)).containsExactly(1L);
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject empty queries and out of range limits")
+    void testSearchRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> productSearchService.search(" ", 10));
+        assertThrows(IllegalArgumentException.class, () -> productSearchService.search("lap", 0));
+        assertThrows(IllegalArgumentException.class, () -> productSearchService.search("lap", 101));
+    }
+
+    private static Product product(Long id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        return product;
+    }
+}
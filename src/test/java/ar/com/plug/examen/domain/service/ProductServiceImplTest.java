@@ -1,6 +1,9 @@
 package ar.com.plug.examen.domain.service;
 
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
+import ar.com.plug.examen.domain.model.CatalogEntityType;
 import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.repository.EntityBatchLoader;
 import ar.com.plug.examen.domain.repository.ProductRepository;
 import ar.com.plug.examen.domain.service.ProductService;
 import ar.com.plug.examen.domain.service.impl.ProductServiceImpl;
@@ -12,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -31,6 +35,12 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private EntityBatchLoader entityBatchLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private Logger logger;
 
@@ -142,18 +152,22 @@ class ProductServiceImplTest {
         Product updatedDetails = new Product();
         updatedDetails.setName("Updated Product");
         updatedDetails.setPrice(10.0);
-        updatedDetails.setStock(20);
 
         // When
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
         when(productRepository.save(product)).thenReturn(product);
         Product updatedProduct = productService.updateProduct(1L, updatedDetails);
 
         // Then
         assertThat(updatedProduct).isNotNull();
         assertThat(updatedProduct.getName()).isEqualTo("Updated Product");
-        verify(productRepository, times(1)).findById(1L);
+        verify(productRepository, times(1)).findByIdForUpdate(1L);
         verify(productRepository, times(1)).save(product);
+        ArgumentCaptor<CatalogChangeEvent> event = ArgumentCaptor.forClass(CatalogChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getEntityType()).isEqualTo(CatalogEntityType.PRODUCT);
+        assertThat(event.getValue().getEntityId()).isEqualTo(1L);
+        assertThat(event.getValue().isRemote()).isFalse();
     }
 
     @Test
@@ -164,12 +178,27 @@ class ProductServiceImplTest {
         updatedDetails.setName("Updated Product");
 
         // When
-        when(productRepository.findById(1L)).thenThrow(new RuntimeException("Error updating product"));
+        when(productRepository.findByIdForUpdate(1L)).thenThrow(new RuntimeException("Error updating product"));
         Exception exception = assertThrows(RuntimeException.class, () -> productService.updateProduct(1L, updatedDetails));
 
         // Then
         assertThat(exception.getMessage()).isEqualTo("Error updating product");
-        verify(productRepository, times(1)).findById(1L);
+        verify(productRepository, times(1)).findByIdForUpdate(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject setting the stock on update")
+    void testUpdateProductRejectsStock() {
+        // Given
+        Product updatedDetails = new Product();
+        updatedDetails.setName("Updated Product");
+        updatedDetails.setStock(20);
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> productService.updateProduct(1L, updatedDetails));
+
+        // Then
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
@@ -0,0 +1,74 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProductUpdateConcurrencyIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testConcurrentReserveAndUpdateBothPersist() throws Exception {
+        // Given: the product is cached before the sale
+        Product product = new Product();
+        product.setName("Product");
+        product.setPrice(10.0);
+        product.setStock(10);
+        Long id = productService.createProduct(product).getId();
+        assertThat(productService.getProductById(id)).isPresent();
+        CountDownLatch reserved = new CountDownLatch(1);
+        CountDownLatch updating = new CountDownLatch(1);
+
+        // When: the update starts while the sale holds the row lock
+        CompletableFuture<Void> sale = CompletableFuture.runAsync(() -> transactionTemplate.execute(status -> {
+            inventoryService.reserve(id, 3);
+            reserved.countDown();
+            try {
+                updating.await(5, TimeUnit.SECONDS);
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertThat(reserved.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Product> update = CompletableFuture.supplyAsync(() -> {
+            updating.countDown();
+            Product details = new Product();
+            details.setName("Product renamed");
+            details.setPrice(12.0);
+            return productService.updateProduct(id, details);
+        });
+        sale.get(10, TimeUnit.SECONDS);
+        update.get(10, TimeUnit.SECONDS);
+
+        // Then
+        Product stored = productRepository.findById(id).get();
+        assertThat(stored.getName()).isEqualTo("Product renamed");
+        assertThat(stored.getPrice()).isEqualTo(12.0);
+        assertThat(stored.getStock()).isEqualTo(7);
+    }
+}
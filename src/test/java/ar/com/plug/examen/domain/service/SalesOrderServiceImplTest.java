@@ -0,0 +1,130 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.exception.InsufficientStockException;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.SalesOrder;
+import ar.com.plug.examen.domain.model.SalesOrderLine;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.SalesOrderRepository;
+import ar.com.plug.examen.domain.service.impl.SalesOrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+class SalesOrderServiceImplTest {
+
+    @InjectMocks
+    private SalesOrderServiceImpl salesOrderServiceImpl;
+
+    private SalesOrderService salesOrderService;
+
+    @Mock
+    private SalesOrderRepository salesOrderRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        salesOrderService = salesOrderServiceImpl;
+        ReflectionTestUtils.setField(salesOrderServiceImpl, "inventoryEnabled", true);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(productRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(product(1L, 2.5), product(2L, 10.0)));
+        when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Should price every line and reserve all products in one pass sorted by id")
+    void testCreateOrder() {
+        // Given
+        SalesOrder order = order(line(2L, 1), line(1L, 2), line(2L, 3));
+
+        // When
+        SalesOrder created = salesOrderService.createOrder(order);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, Integer>> quantities = ArgumentCaptor.forClass(Map.class);
+        verify(inventoryService, times(1)).reserveAll(quantities.capture());
+        assertThat(quantities.getValue()).containsExactly(entry(1L, 2), entry(2L, 4));
+        assertThat(created.getLines()).extracting(SalesOrderLine::getTotalMinor).containsExactly(1000L, 500L, 3000L);
+        assertThat(created.getLines()).allSatisfy(line -> assertThat(line.getOrder()).isSameAs(order));
+        assertThat(created.getTotalMinor()).isEqualTo(4500L);
+        assertThat(created.getDate()).isNotNull();
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should not save the order when a product is out of stock")
+    void testCreateOrderInsufficientStock() {
+        // Given
+        SalesOrder order = order(line(1L, 2));
+
+        // When
+        doThrow(new InsufficientStockException(1L, 2)).when(inventoryService).reserveAll(anyMap());
+
+        // Then
+        assertThrows(InsufficientStockException.class, () -> salesOrderService.createOrder(order));
+        verify(salesOrderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject orders without lines, with invalid lines or unknown products")
+    void testCreateOrderInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> salesOrderService.createOrder(new SalesOrder()));
+        assertThrows(IllegalArgumentException.class, () -> salesOrderService.createOrder(order(line(1L, 0))));
+        assertThrows(IllegalArgumentException.class, () -> salesOrderService.createOrder(order(line(3L, 1))));
+        verifyNoInteractions(inventoryService, salesOrderRepository);
+    }
+
+    private static SalesOrder order(SalesOrderLine... lines) {
+        SalesOrder order = new SalesOrder();
+        order.setLines(Arrays.asList(lines));
+        return order;
+    }
+
+    private static SalesOrderLine line(Long productId, int quantity) {
+        Product product = new Product();
+        product.setId(productId);
+        SalesOrderLine line = new SalesOrderLine();
+        line.setProduct(product);
+        line.setQuantity(quantity);
+        return line;
+    }
+
+    private static Product product(Long id, Double price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setPrice(price);
+        return product;
+    }
+
+    private static Map.Entry<Long, Integer> entry(Long productId, int quantity) {
+        return Collections.singletonMap(productId, quantity).entrySet().iterator().next();
+    }
+}
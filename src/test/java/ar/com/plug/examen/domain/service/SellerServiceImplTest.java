@@ -1,15 +1,19 @@
 package ar.com.plug.examen.domain.service;
 
+import ar.com.plug.examen.domain.event.CatalogChangeEvent;
 import ar.com.plug.examen.domain.model.Seller;
+import ar.com.plug.examen.domain.repository.EntityBatchLoader;
 import ar.com.plug.examen.domain.repository.SellerRepository;
 import ar.com.plug.examen.domain.service.impl.SellerServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -29,6 +33,12 @@ class SellerServiceImplTest {
     @Mock
     private SellerRepository sellerRepository;
 
+    @Mock
+    private EntityBatchLoader entityBatchLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private Logger logger;
 
@@ -195,4 +205,43 @@ class SellerServiceImplTest {
         assertThat(exception.getMessage()).isEqualTo("Error deleting seller");
         verify(sellerRepository, times(1)).deleteById(sellerId);
     }
+
+    @Test
+    @DisplayName("Should upsert sellers by email in one call, last entry winning")
+    void testUpsertSellersByEmail() {
+        // Given
+        Seller first = seller(null, "Old name", " a@example.com ");
+        Seller second = seller(null, "B", "b@example.com");
+        Seller repeated = seller(null, "New name", "a@example.com");
+        when(sellerRepository.findByEmailIn(any())).thenReturn(Arrays.asList(
+                seller(2L, "B", "b@example.com"), seller(1L, "New name", "A@example.com")));
+
+        // When
+        List<Seller> upserted = sellerService.upsertSellersByEmail(Arrays.asList(first, second, repeated));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Seller>> rows = ArgumentCaptor.forClass(List.class);
+        verify(sellerRepository, times(1)).upsertByEmail(rows.capture());
+        assertThat(rows.getValue()).extracting(Seller::getEmail).containsExactly("a@example.com", "b@example.com");
+        assertThat(rows.getValue()).extracting(Seller::getName).containsExactly("New name", "B");
+        assertThat(upserted).extracting(Seller::getId).containsExactly(1L, 2L);
+        verify(eventPublisher, times(2)).publishEvent(any(CatalogChangeEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject upserting a seller without email")
+    void testUpsertSellerByEmailRequiresEmail() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> sellerService.upsertSellerByEmail(" ", seller(null, "No email", null)));
+        verify(sellerRepository, never()).upsertByEmail(any());
+    }
+
+    private static Seller seller(Long id, String name, String email) {
+        Seller seller = new Seller();
+        seller.setId(id);
+        seller.setName(name);
+        seller.setEmail(email);
+        return seller;
+    }
 }
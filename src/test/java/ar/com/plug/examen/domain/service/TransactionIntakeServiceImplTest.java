@@ -0,0 +1,202 @@
+package ar.com.plug.examen.domain.service;
+
+import ar.com.plug.examen.domain.exception.InsufficientStockException;
+import ar.com.plug.examen.domain.model.RejectedIntake;
+import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.repository.RejectedIntakeRepository;
+import ar.com.plug.examen.domain.repository.TransactionRepository;
+import ar.com.plug.examen.domain.service.impl.TransactionIntakeServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.Mockito.*;
+
+class TransactionIntakeServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    private final RejectedIntakeRepository rejectedIntakeRepository = mock(RejectedIntakeRepository.class);
+
+    @Test
+    @DisplayName("Should replay unapplied records after the applier is killed mid-stream, applying each once")
+    void testRecoveryAfterCrash() throws Exception {
+        // Given: the database goes away after the first batch
+        TransactionService failingService = mock(TransactionService.class);
+        TransactionRepository failingRepository = mock(TransactionRepository.class);
+        when(failingService.createTransactions(anyList()))
+                .thenAnswer(returnsFirstArg())
+                .thenThrow(new RuntimeException("Connection lost"));
+        TransactionIntakeServiceImpl crashed = intakeService(failingService, failingRepository);
+        crashed.start();
+
+        assertThat(crashed.submit(transaction(1))).isEqualTo("node-1");
+        verify(failingService, timeout(5000)).createTransactions(anyList());
+        assertThat(crashed.submit(transaction(2))).isEqualTo("node-2");
+        assertThat(crashed.submit(transaction(3))).isEqualTo("node-3");
+        verify(failingService, timeout(5000).atLeast(2)).createTransactions(anyList());
+
+        // When: the applier is stopped with records 2 and 3 pending, and record 2 had in fact
+        // been committed before the connection dropped
+        crashed.stop();
+        TransactionService transactionService = mock(TransactionService.class);
+        TransactionRepository transactionRepository = mock(TransactionRepository.class);
+        when(transactionService.createTransactions(anyList())).thenAnswer(returnsFirstArg());
+        when(transactionRepository.findExistingIntakeIds(anyCollection()))
+                .thenReturn(Collections.singletonList("node-2"));
+        TransactionIntakeServiceImpl restarted = intakeService(transactionService, transactionRepository);
+        restarted.start();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> applied = ArgumentCaptor.forClass(List.class);
+        verify(transactionService, timeout(5000)).createTransactions(applied.capture());
+        restarted.stop();
+        assertThat(applied.getValue().stream().map(Transaction::getIntakeId).collect(Collectors.toList()))
+                .containsExactly("node-3");
+        assertThat(applied.getValue().get(0).getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep a generated node id in the log directory across restarts")
+    void testGeneratedNodeIdSurvivesRestart() throws Exception {
+        // Given
+        TransactionIntakeServiceImpl first = intakeService(mock(TransactionService.class),
+                mock(TransactionRepository.class));
+        ReflectionTestUtils.setField(first, "nodeId", "");
+        first.start();
+        String firstId = first.submit(transaction(1));
+        first.stop();
+
+        // When
+        TransactionIntakeServiceImpl restarted = intakeService(mock(TransactionService.class),
+                mock(TransactionRepository.class));
+        ReflectionTestUtils.setField(restarted, "nodeId", "");
+        restarted.start();
+        String secondId;
+        try {
+            secondId = restarted.submit(transaction(2));
+        } finally {
+            restarted.stop();
+        }
+
+        // Then
+        String nodeId = new String(Files.readAllBytes(directory.resolve("node-id")), StandardCharsets.US_ASCII);
+        assertThat(firstId).isEqualTo(nodeId + "-1");
+        assertThat(secondId).isEqualTo(nodeId + "-2");
+    }
+
+    @Test
+    @DisplayName("Should reject a missing transaction")
+    void testSubmitNull() throws Exception {
+        // Given
+        TransactionIntakeServiceImpl intakeService = intakeService(mock(TransactionService.class),
+                mock(TransactionRepository.class));
+        intakeService.start();
+
+        // When / Then
+        try {
+            assertThrows(IllegalArgumentException.class, () -> intakeService.submit(null));
+        } finally {
+            intakeService.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should store a rejected record with its reason and move past it")
+    void testRejectedRecordIsStored() throws Exception {
+        // Given
+        TransactionService transactionService = mock(TransactionService.class);
+        when(transactionService.createTransactions(anyList())).thenThrow(new InsufficientStockException(1L, 2));
+        when(transactionService.createTransaction(any(Transaction.class)))
+                .thenAnswer(returnsFirstArg())
+                .thenThrow(new InsufficientStockException(1L, 2));
+        TransactionIntakeServiceImpl intakeService = intakeService(transactionService, mock(TransactionRepository.class));
+        intakeService.start();
+
+        // When
+        try {
+            intakeService.submit(transaction(1));
+            intakeService.submit(transaction(2));
+            verify(rejectedIntakeRepository, timeout(5000)).saveAll(anyList());
+        } finally {
+            intakeService.stop();
+        }
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RejectedIntake>> rejected = ArgumentCaptor.forClass(List.class);
+        verify(rejectedIntakeRepository).saveAll(rejected.capture());
+        assertThat(rejected.getValue()).hasSize(1);
+        assertThat(rejected.getValue().get(0).getIntakeId()).isEqualTo("node-2");
+        assertThat(rejected.getValue().get(0).getReason()).contains("product 1");
+    }
+
+    @Test
+    @DisplayName("Should make submitters wait, then fail, while too many records are unapplied")
+    void testSubmitBackpressure() throws Exception {
+        // Given: the database hangs on the first record
+        CountDownLatch database = new CountDownLatch(1);
+        TransactionService transactionService = mock(TransactionService.class);
+        when(transactionService.createTransactions(anyList())).thenAnswer(invocation -> {
+            database.await();
+            return invocation.getArgument(0);
+        });
+        TransactionIntakeServiceImpl intakeService = intakeService(transactionService, mock(TransactionRepository.class));
+        ReflectionTestUtils.setField(intakeService, "maxPending", 1);
+        ReflectionTestUtils.setField(intakeService, "submitTimeout", Duration.ofMillis(50));
+        intakeService.start();
+
+        // When / Then
+        try {
+            intakeService.submit(transaction(1));
+            assertThrows(IllegalStateException.class, () -> intakeService.submit(transaction(2)));
+            database.countDown();
+            ReflectionTestUtils.setField(intakeService, "submitTimeout", Duration.ofSeconds(5));
+            assertThat(intakeService.submit(transaction(3))).isEqualTo("node-2");
+        } finally {
+            database.countDown();
+            intakeService.stop();
+        }
+    }
+
+    private TransactionIntakeServiceImpl intakeService(TransactionService transactionService,
+                                                       TransactionRepository transactionRepository) {
+        TransactionIntakeServiceImpl intakeService = new TransactionIntakeServiceImpl();
+        ReflectionTestUtils.setField(intakeService, "transactionService", transactionService);
+        ReflectionTestUtils.setField(intakeService, "transactionRepository", transactionRepository);
+        ReflectionTestUtils.setField(intakeService, "rejectedIntakeRepository", rejectedIntakeRepository);
+        ReflectionTestUtils.setField(intakeService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(intakeService, "directory", directory.toString());
+        ReflectionTestUtils.setField(intakeService, "nodeId", "node");
+        ReflectionTestUtils.setField(intakeService, "segmentSize", DataSize.ofKilobytes(64));
+        ReflectionTestUtils.setField(intakeService, "retryDelay", Duration.ofMillis(10));
+        return intakeService;
+    }
+
+    private static Transaction transaction(int quantity) {
+        Transaction transaction = new Transaction();
+        transaction.setQuantity(quantity);
+        transaction.setDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        transaction.setApproved(false);
+        return transaction;
+    }
+}
@@ -1,6 +1,14 @@
 package ar.com.plug.examen.domain.service;
 
+import ar.com.plug.examen.domain.model.Client;
+import ar.com.plug.examen.domain.model.Product;
+import ar.com.plug.examen.domain.model.Seller;
 import ar.com.plug.examen.domain.model.Transaction;
+import ar.com.plug.examen.domain.model.TransactionSummary;
+import ar.com.plug.examen.domain.repository.ClientRepository;
+import ar.com.plug.examen.domain.repository.EntityBatchLoader;
+import ar.com.plug.examen.domain.repository.ProductRepository;
+import ar.com.plug.examen.domain.repository.SellerRepository;
 import ar.com.plug.examen.domain.repository.TransactionRepository;
 import ar.com.plug.examen.domain.service.impl.TransactionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,10 +18,27 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -29,6 +54,24 @@ class TransactionServiceImplTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private SellerRepository sellerRepository;
+
+    @Mock
+    private EntityBatchLoader entityBatchLoader;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private InventoryService inventoryService;
+
     @Mock
     private Logger logger;
 
@@ -36,6 +79,21 @@ class TransactionServiceImplTest {
     void setUp() {
         MockitoAnnotations.initMocks(this);
         transactionService = transactionServiceImpl; // Assign the implementation to the interface reference
+        when(productRepository.getOne(anyLong())).thenAnswer(invocation -> {
+            Product product = new Product();
+            product.setId(invocation.getArgument(0));
+            return product;
+        });
+        when(clientRepository.getOne(anyLong())).thenAnswer(invocation -> {
+            Client client = new Client();
+            client.setId(invocation.getArgument(0));
+            return client;
+        });
+        when(sellerRepository.getOne(anyLong())).thenAnswer(invocation -> {
+            Seller seller = new Seller();
+            seller.setId(invocation.getArgument(0));
+            return seller;
+        });
     }
 
     @Test
@@ -55,6 +113,88 @@ class TransactionServiceImplTest {
         verify(transactionRepository, times(1)).save(transaction);
     }
 
+    @Test
+    @DisplayName("Should copy the stored product price and line total onto created transactions")
+    void testCreateTransactionsSnapshotsPrices() {
+        // Given
+        Product stored = new Product();
+        stored.setId(10L);
+        stored.setPrice(2.55);
+        Product otherStored = new Product();
+        otherStored.setId(11L);
+        otherStored.setPrice(4.0);
+        Product reference = new Product();
+        reference.setId(10L);
+        Product otherReference = new Product();
+        otherReference.setId(11L);
+        Product storedPriced = new Product();
+        storedPriced.setId(20L);
+        storedPriced.setPrice(3.0);
+        // A price sent by the caller is ignored
+        Product priced = new Product();
+        priced.setId(20L);
+        priced.setPrice(1.0);
+        Transaction first = new Transaction();
+        first.setProduct(reference);
+        first.setQuantity(3);
+        Transaction second = new Transaction();
+        second.setProduct(priced);
+        second.setQuantity(2);
+        Transaction third = new Transaction();
+        third.setProduct(otherReference);
+        third.setQuantity(1);
+        List<Transaction> transactions = Arrays.asList(first, second, third);
+        Set<Long> productIds = new HashSet<>(Arrays.asList(10L, 11L, 20L));
+
+        // When
+        when(productRepository.findAllById(productIds)).thenReturn(Arrays.asList(stored, otherStored, storedPriced));
+        when(transactionRepository.saveAll(transactions)).thenReturn(transactions);
+        transactionService.createTransactions(transactions);
+
+        // Then
+        assertThat(first.getUnitPriceMinor()).isEqualTo(255L);
+        assertThat(first.getTotalMinor()).isEqualTo(765L);
+        assertThat(second.getUnitPriceMinor()).isEqualTo(300L);
+        assertThat(second.getTotalMinor()).isEqualTo(600L);
+        assertThat(third.getTotalMinor()).isEqualTo(400L);
+        verify(productRepository, times(1)).findAllById(productIds);
+    }
+
+    @Test
+    @DisplayName("Should bind the product, client and seller by reference and read a single price by id")
+    void testCreateTransactionBindsReferences() {
+        // Given
+        Product stored = new Product();
+        stored.setId(10L);
+        stored.setPrice(2.5);
+        Product product = new Product();
+        product.setId(10L);
+        Client client = new Client();
+        client.setId(20L);
+        Seller seller = new Seller();
+        seller.setId(30L);
+        Transaction transaction = new Transaction();
+        transaction.setProduct(product);
+        transaction.setClient(client);
+        transaction.setSeller(seller);
+        transaction.setQuantity(2);
+        when(productRepository.findById(10L)).thenReturn(Optional.of(stored));
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+
+        // When
+        transactionService.createTransaction(transaction);
+
+        // Then
+        assertThat(transaction.getTotalMinor()).isEqualTo(500L);
+        assertThat(transaction.getProduct()).isNotSameAs(product);
+        assertThat(transaction.getClient()).isNotSameAs(client);
+        assertThat(transaction.getSeller()).isNotSameAs(seller);
+        verify(productRepository).getOne(10L);
+        verify(clientRepository).getOne(20L);
+        verify(sellerRepository).getOne(30L);
+        verify(productRepository, never()).findAllById(any());
+    }
+
     @Test
     @DisplayName("Should throw exception when creating transaction fails")
     void testCreateTransactionThrowsException() {
@@ -71,6 +211,137 @@ class TransactionServiceImplTest {
         verify(transactionRepository, times(1)).save(transaction);
     }
 
+    @Test
+    @DisplayName("Should reserve stock on create and release it when the save fails")
+    void testCreateTransactionReservesStock() {
+        // Given
+        ReflectionTestUtils.setField(transactionServiceImpl, "inventoryEnabled", true);
+        Product product = new Product();
+        product.setId(7L);
+        Transaction transaction = new Transaction();
+        transaction.setProduct(product);
+        transaction.setQuantity(3);
+        when(transactionRepository.save(transaction)).thenThrow(new RuntimeException("Error creating transaction"));
+
+        // When
+        assertThrows(RuntimeException.class, () -> transactionService.createTransaction(transaction));
+
+        // Then
+        verify(inventoryService).reserve(7L, 3);
+        verify(inventoryService).release(7L, 3);
+    }
+
+    @Test
+    @DisplayName("Should create concurrent transactions through the micro-batcher when batching is enabled")
+    void testCreateTransactionBatched() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(transactionServiceImpl, "batchingEnabled", true);
+        ReflectionTestUtils.setField(transactionServiceImpl, "linger", Duration.ofMillis(50));
+        transactionServiceImpl.init();
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        Transaction transaction1 = new Transaction();
+        Transaction transaction2 = new Transaction();
+
+        // When
+        CompletableFuture<Transaction> first = CompletableFuture.supplyAsync(() -> transactionService.createTransaction(transaction1));
+        CompletableFuture<Transaction> second = CompletableFuture.supplyAsync(() -> transactionService.createTransaction(transaction2));
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(transaction1);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(transaction2);
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(leaderboardService, times(2)).recordSale(any(Transaction.class));
+        transactionServiceImpl.close();
+    }
+
+    @Test
+    @DisplayName("Should clear the ids a failed batch assigned before saving its transactions one by one")
+    void testCreateTransactionBatchedFallbackClearsIds() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(transactionServiceImpl, "batchingEnabled", true);
+        ReflectionTestUtils.setField(transactionServiceImpl, "linger", Duration.ofMillis(50));
+        transactionServiceImpl.init();
+        AtomicLong sequence = new AtomicLong();
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            for (Object transaction : (List<?>) invocation.getArgument(0)) {
+                ((Transaction) transaction).setId(sequence.incrementAndGet());
+            }
+            throw new DataIntegrityViolationException("Duplicate entry");
+        });
+        List<Long> idsOnSave = new CopyOnWriteArrayList<>();
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            idsOnSave.add(transaction.getId());
+            transaction.setId(sequence.incrementAndGet());
+            return transaction;
+        });
+        Transaction transaction1 = new Transaction();
+        Transaction transaction2 = new Transaction();
+
+        // When
+        CompletableFuture<Transaction> first = CompletableFuture.supplyAsync(() -> transactionService.createTransaction(transaction1));
+        CompletableFuture<Transaction> second = CompletableFuture.supplyAsync(() -> transactionService.createTransaction(transaction2));
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(transaction1);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(transaction2);
+        assertThat(idsOnSave).hasSize(2).containsOnlyNulls();
+        transactionServiceImpl.close();
+    }
+
+    @Test
+    @DisplayName("Should create a batch of transactions with one saveAll")
+    void testCreateTransactions() {
+        // Given
+        Transaction transaction1 = new Transaction();
+        Transaction transaction2 = new Transaction();
+        List<Transaction> transactions = Arrays.asList(transaction1, transaction2);
+
+        // When
+        when(transactionRepository.saveAll(transactions)).thenReturn(transactions);
+        List<Transaction> result = transactionService.createTransactions(transactions);
+
+        // Then
+        assertThat(result).containsExactly(transaction1, transaction2);
+        verify(transactionRepository, times(1)).saveAll(transactions);
+        verify(leaderboardService, times(2)).recordSale(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("Should reserve the stock of a batch in one pass, adding up repeated products")
+    void testCreateTransactionsReservesAll() {
+        // Given
+        ReflectionTestUtils.setField(transactionServiceImpl, "inventoryEnabled", true);
+        Product stored = new Product();
+        stored.setId(7L);
+        stored.setPrice(1.0);
+        Product other = new Product();
+        other.setId(3L);
+        other.setPrice(2.0);
+        Transaction first = new Transaction();
+        first.setProduct(stored);
+        first.setQuantity(2);
+        Transaction second = new Transaction();
+        second.setProduct(other);
+        second.setQuantity(1);
+        Transaction third = new Transaction();
+        third.setProduct(stored);
+        third.setQuantity(4);
+        List<Transaction> transactions = Arrays.asList(first, second, third);
+
+        // When
+        when(productRepository.findAllById(anyCollection())).thenReturn(Arrays.asList(stored, other));
+        when(transactionRepository.saveAll(transactions)).thenReturn(transactions);
+        transactionService.createTransactions(transactions);
+
+        // Then
+        Map<Long, Integer> quantities = new HashMap<>();
+        quantities.put(3L, 1);
+        quantities.put(7L, 6);
+        verify(inventoryService).reserveAll(quantities);
+        verify(inventoryService, never()).reserve(anyLong(), anyInt());
+    }
+
     @Test
     @DisplayName("Should return all transactions")
     void testGetAllTransactions() {
@@ -138,26 +409,77 @@ class TransactionServiceImplTest {
         transaction.setApproved(false);
 
         // When
+        when(transactionRepository.approve(1L)).thenAnswer(invocation -> {
+            transaction.setApproved(true);
+            return 1;
+        });
         when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
-        when(transactionRepository.save(transaction)).thenReturn(transaction);
         Transaction approvedTransaction = transactionService.approveTransaction(1L);
 
         // Then
         assertThat(approvedTransaction).isNotNull();
         assertThat(approvedTransaction.getApproved()).isTrue();
-        verify(transactionRepository, times(1)).findById(1L);
-        verify(transactionRepository, times(1)).save(transaction);
+        verify(transactionRepository, times(1)).approve(1L);
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(leaderboardService, times(1)).recordSale(transaction);
+    }
+
+    @Test
+    @DisplayName("Should not count a sale again when the transaction was already approved")
+    void testApproveTransactionAlreadyApproved() {
+        // Given
+        Transaction transaction = new Transaction();
+        transaction.setId(1L);
+        transaction.setApproved(true);
+
+        // When
+        when(transactionRepository.approve(1L)).thenReturn(0);
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
+        Long approvedId = transactionService.approveTransaction(1L, Transaction::getId);
+
+        // Then
+        assertThat(approvedId).isEqualTo(1L);
+        verifyNoInteractions(leaderboardService);
     }
 
     @Test
     @DisplayName("Should throw exception when approving transaction fails")
     void testApproveTransactionThrowsException() {
         // When
-        when(transactionRepository.findById(1L)).thenThrow(new RuntimeException("Error approving transaction"));
+        when(transactionRepository.approve(1L)).thenThrow(new RuntimeException("Error approving transaction"));
         Exception exception = assertThrows(RuntimeException.class, () -> transactionService.approveTransaction(1L));
 
         // Then
         assertThat(exception.getMessage()).isEqualTo("Error approving transaction");
-        verify(transactionRepository, times(1)).findById(1L);
+        verify(transactionRepository, never()).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should return a page of client transactions")
+    void testGetClientTransactions() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2024, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 7, 1, 0, 0);
+        TransactionSummary summary = new TransactionSummary(1L, 2L, 3L, 4, from.plusDays(1), true);
+        Slice<TransactionSummary> slice = new SliceImpl<>(Collections.singletonList(summary), PageRequest.of(0, 10), false);
+
+        // When
+        when(transactionRepository.findSummariesByClientId(eq(7L), eq(from), eq(to), any(Pageable.class))).thenReturn(slice);
+        Slice<TransactionSummary> result = transactionService.getClientTransactions(7L, from, to, 0, 10);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(summary);
+        verify(transactionRepository, times(1)).findSummariesByClientId(7L, from, to, PageRequest.of(0, 10));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid client transactions page request")
+    void testGetClientTransactionsInvalidPage() {
+        // When
+        assertThrows(IllegalArgumentException.class, () -> transactionService.getClientTransactions(7L, null, null, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> transactionService.getClientTransactions(7L, null, null, -1, 10));
+
+        // Then
+        verifyNoInteractions(transactionRepository);
     }
 }
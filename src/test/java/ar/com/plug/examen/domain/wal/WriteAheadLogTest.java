@@ -0,0 +1,159 @@
+package ar.com.plug.examen.domain.wal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WriteAheadLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should replay records across rotated segments after reopening")
+    void testReplayAcrossSegments() throws IOException {
+        // Given
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 100; i++) {
+                log.append(payload(i), sequence -> { });
+            }
+        }
+
+        // When
+        List<WalRecord> records = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE)) {
+            log.replay(records::add);
+
+            // Then
+            assertThat(segmentCount()).isGreaterThan(1);
+            assertThat(log.append(payload(101), sequence -> { })).isEqualTo(101L);
+        }
+        assertThat(records).hasSize(100);
+        assertThat(records.get(99).getSequence()).isEqualTo(100L);
+        assertThat(new String(records.get(99).getPayload(), StandardCharsets.UTF_8)).isEqualTo(text(100));
+    }
+
+    @Test
+    @DisplayName("Should skip checkpointed records and delete fully applied segments")
+    void testCheckpoint() throws IOException {
+        // Given
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 100; i++) {
+                log.append(payload(i), sequence -> { });
+            }
+            long segmentsBefore = segmentCount();
+
+            // When
+            log.checkpoint(90);
+
+            // Then
+            assertThat(segmentCount()).isLessThan(segmentsBefore);
+        }
+        List<WalRecord> records = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE)) {
+            log.replay(records::add);
+            assertThat(log.getCheckpointSequence()).isEqualTo(90L);
+        }
+        assertThat(records).extracting(WalRecord::getSequence).containsExactly(91L, 92L, 93L, 94L, 95L,
+                96L, 97L, 98L, 99L, 100L);
+    }
+
+    @Test
+    @DisplayName("Should stop at a torn record and resume appending in its place")
+    void testTornTail() throws IOException {
+        // Given
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE)) {
+            log.append(payload(1), sequence -> { });
+            log.append(payload(2), sequence -> { });
+        }
+        Path segment = Files.list(directory).filter(p -> p.toString().endsWith(".log")).findFirst().get();
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // Flip the last payload byte of the second record
+            int recordSize = Integer.BYTES + Long.BYTES + payload(1).length + Integer.BYTES;
+            long lastPayloadByte = 2L * recordSize - Integer.BYTES - 1;
+            file.seek(lastPayloadByte);
+            byte b = file.readByte();
+            file.seek(lastPayloadByte);
+            file.writeByte(b ^ 0xFF);
+        }
+
+        // When
+        List<WalRecord> records = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE)) {
+            log.replay(records::add);
+
+            // Then
+            assertThat(records).extracting(WalRecord::getSequence).containsExactly(1L);
+            assertThat(log.append(payload(3), sequence -> { })).isEqualTo(2L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should assign contiguous sequences to concurrent appends")
+    void testConcurrentAppends() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Long>> futures = new ArrayList<>();
+
+        // When
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 400; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> log.append(payload(n), sequence -> { })));
+            }
+            List<Long> sequences = new ArrayList<>();
+            for (Future<Long> future : futures) {
+                sequences.add(future.get(10, TimeUnit.SECONDS));
+            }
+
+            // Then
+            assertThat(sequences).containsExactlyInAnyOrderElementsOf(
+                    Stream.iterate(1L, s -> s + 1).limit(400).collect(Collectors.toList()));
+            assertThat(log.getLastSequence()).isEqualTo(400L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized records")
+    void testInvalidRecords() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE)) {
+            assertThrows(IllegalArgumentException.class, () -> log.append(new byte[0], sequence -> { }));
+            assertThrows(IllegalArgumentException.class, () -> log.append(new byte[SEGMENT_SIZE], sequence -> { }));
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.toString().endsWith(".log")).count();
+        }
+    }
+
+    private static byte[] payload(int n) {
+        return text(n).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(int n) {
+        return String.format("{\"record\":%08d,\"padding\":\"....................\"}", n);
+    }
+}